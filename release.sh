@@ -3,5 +3,7 @@
 read -p "OSSRH PW: " ossrhpw
 read -p "GPG PW:" gpgpw
 
-mvn -f super-csv-declarative/pom.xml versions:set versions:commit -DnewVersion=$1
-mvn -f super-csv-declarative/pom.xml clean deploy -Prelease -Denv.ossrhpw=$ossrhpw -Denv.gpgpw=$gpgpw
\ No newline at end of file
+for pom in pom.xml super-csv-declarative/pom.xml super-csv-declarative-processor/pom.xml; do
+    mvn -f $pom versions:set versions:commit -DnewVersion=$1
+done
+mvn clean deploy -Prelease -Denv.ossrhpw=$ossrhpw -Denv.gpgpw=$gpgpw
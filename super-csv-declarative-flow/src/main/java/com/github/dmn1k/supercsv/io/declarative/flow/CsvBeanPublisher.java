@@ -0,0 +1,194 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative.flow;
+
+import com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanReader;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the beans read by a {@link CsvDeclarativeBeanReader}. Rows are only read when they were requested: a
+ * single task of the executor reads and emits as many beans as requested so far, so demand is accounted once per
+ * batch of rows instead of once per row. The reader is closed when all rows were published, on failure or on
+ * cancellation.
+ * <p>
+ * As a reader can only be read once, only a single subscriber is supported.
+ *
+ * @param <T> the bean type
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class CsvBeanPublisher<T> implements Flow.Publisher<T> {
+
+    private final CsvDeclarativeBeanReader reader;
+    private final Class<T> type;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Constructs a publisher which reads in {@link ForkJoinPool#commonPool()}
+     *
+     * @param reader the reader to read the beans with
+     * @param type the bean type
+     * @throws NullPointerException if reader or type are null
+     */
+    public CsvBeanPublisher(CsvDeclarativeBeanReader reader, Class<T> type) {
+        this(reader, type, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param reader the reader to read the beans with
+     * @param type the bean type
+     * @param executor runs the tasks which read the rows and signal the subscriber
+     * @throws NullPointerException if reader, type or executor are null
+     */
+    public CsvBeanPublisher(CsvDeclarativeBeanReader reader, Class<T> type, Executor executor) {
+        this.reader = Objects.requireNonNull(reader, "reader");
+        this.type = Objects.requireNonNull(type, "type");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("a CsvBeanPublisher supports only one subscriber"));
+            return;
+        }
+
+        subscriber.onSubscribe(new ReadSubscription(subscriber));
+    }
+
+    private final class ReadSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+        private boolean done;
+
+        ReadSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("number of requested rows should be positive, but was " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (pendingSignals.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = pendingSignals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            } else if (cancelled) {
+                finish();
+                return;
+            } else if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+
+            long requested = demand.get();
+            while (requested > 0) {
+                long emitted = 0;
+                while (emitted != requested) {
+                    if (cancelled) {
+                        finish();
+                        return;
+                    }
+
+                    T bean;
+                    try {
+                        bean = reader.read(type);
+                    } catch (IOException | RuntimeException e) {
+                        finish();
+                        subscriber.onError(e);
+                        return;
+                    }
+
+                    if (bean == null) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+
+                    try {
+                        subscriber.onNext(bean);
+                    } catch (RuntimeException e) {
+                        // a failing subscriber is treated as cancelled
+                        finish();
+                        return;
+                    }
+                    emitted++;
+                }
+
+                requested = requested == Long.MAX_VALUE ? Long.MAX_VALUE : demand.addAndGet(-emitted);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // nothing left to read, so there is nobody to report to
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative.flow;
+
+import com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanWriter;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Writes the received beans with a {@link CsvDeclarativeBeanWriter}. Beans are requested in batches: after half of a
+ * batch was written, the next half is requested, so there are always rows on their way without signalling demand for
+ * each row. The writer is closed when the publisher completes or fails, or when writing fails; the outcome is
+ * reported by {@link #getCompletion()}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class CsvBeanSubscriber implements Flow.Subscriber<Object> {
+
+    private final CsvDeclarativeBeanWriter writer;
+    private final int batchSize;
+    private final int replenishment;
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private int receivedSinceRequest;
+    private long written;
+    private boolean done;
+
+    /**
+     * Constructs a subscriber which requests 256 beans at once
+     *
+     * @param writer the writer to write the beans with
+     * @throws NullPointerException if writer is null
+     */
+    public CsvBeanSubscriber(CsvDeclarativeBeanWriter writer) {
+        this(writer, 256);
+    }
+
+    /**
+     * @param writer the writer to write the beans with
+     * @param batchSize maximum number of requested but not yet received beans
+     * @throws NullPointerException if writer is null
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public CsvBeanSubscriber(CsvDeclarativeBeanWriter writer, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be positive");
+        }
+
+        this.writer = Objects.requireNonNull(writer, "writer");
+        this.batchSize = batchSize;
+        this.replenishment = Math.max(1, batchSize / 2);
+    }
+
+    /**
+     * @return completes with the number of written rows when the publisher completed, or exceptionally if the
+     * publisher or writing failed
+     */
+    public CompletableFuture<Long> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(Object item) {
+        if (done) {
+            return;
+        }
+
+        try {
+            writer.write(item);
+            written++;
+        } catch (IOException | RuntimeException e) {
+            subscription.cancel();
+            fail(e);
+            return;
+        }
+
+        if (++receivedSinceRequest == replenishment) {
+            receivedSinceRequest = 0;
+            subscription.request(replenishment);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+
+        try {
+            writer.close();
+            completion.complete(written);
+        } catch (IOException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    private void fail(Throwable failure) {
+        if (done) {
+            return;
+        }
+        done = true;
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        completion.completeExceptionally(failure);
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.dmn1k.supercsv.io.declarative.flow;
+
+import com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanReader;
+import com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanWriter;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+public class CsvBeanFlowTest {
+
+    private static final CsvPreference PREFS = CsvPreference.STANDARD_PREFERENCE;
+
+    @Test(timeout = 10000)
+    public void copiesAllRowsFromPublisherToSubscriber() throws InterruptedException, ExecutionException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            csv.append("row ").append(i).append(',').append(i).append("\r\n");
+        }
+
+        StringWriter result = new StringWriter();
+        CsvBeanSubscriber subscriber = new CsvBeanSubscriber(new CsvDeclarativeBeanWriter(result, PREFS), 16);
+        new CsvBeanPublisher<>(reader(csv.toString()), Row.class).subscribe(subscriber);
+
+        assertEquals(Long.valueOf(10000), subscriber.getCompletion().get());
+        assertEquals(csv.toString(), result.toString());
+    }
+
+    @Test(timeout = 10000)
+    public void readsOnlyRequestedRows() throws InterruptedException {
+        CsvDeclarativeBeanReader reader = reader("a,1\r\nb,2\r\nc,3\r\n");
+        CountDownLatch received = new CountDownLatch(2);
+        List<Row> rows = new ArrayList<>();
+        new CsvBeanPublisher<>(reader, Row.class, Runnable::run).subscribe(new Flow.Subscriber<Row>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(2);
+            }
+
+            @Override
+            public void onNext(Row item) {
+                rows.add(item);
+                received.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        assertEquals(2, rows.size());
+        assertEquals(2, reader.getRowNumber());
+    }
+
+    private static CsvDeclarativeBeanReader reader(String csv) {
+        return new CsvDeclarativeBeanReader(new StringReader(csv), PREFS);
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class Row {
+
+        private String name;
+        private int number;
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.processor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Compile-time counterpart of the reflective field extraction: resolves the mapped fields of a bean and how generated
+ * code can access them.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class BeanMapping {
+
+    static final String CSV_FIELD = "com.github.dmn1k.supercsv.io.declarative.CsvField";
+    static final String CSV_TRANSIENT = "com.github.dmn1k.supercsv.io.declarative.CsvTransient";
+    static final String CSV_ACCESSOR_TYPE = "com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType";
+    static final String CSV_MAPPING_MODE = "com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingMode";
+
+    private static final String MAPPER_SUFFIX = "_CsvMapper";
+
+    private final TypeElement bean;
+    private final String packageName;
+    private final String mapperSimpleName;
+    private final List<FieldMapping> fields;
+
+    private BeanMapping(TypeElement bean, String packageName, String mapperSimpleName, List<FieldMapping> fields) {
+        this.bean = bean;
+        this.packageName = packageName;
+        this.mapperSimpleName = mapperSimpleName;
+        this.fields = fields;
+    }
+
+    /**
+     * Analyzes the given bean and reports mapping errors
+     *
+     * @param env the processing environment
+     * @param bean the bean to analyze
+     * @return the mapping or null if no mapper can or should be generated
+     */
+    static BeanMapping analyze(ProcessingEnvironment env, TypeElement bean) {
+        return new Analyzer(env, bean).analyze();
+    }
+
+    TypeElement getBean() {
+        return bean;
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    String getMapperSimpleName() {
+        return mapperSimpleName;
+    }
+
+    String getMapperName() {
+        return packageName.isEmpty() ? mapperSimpleName : packageName + "." + mapperSimpleName;
+    }
+
+    List<FieldMapping> getFields() {
+        return fields;
+    }
+
+    /**
+     * A mapped field and the expressions generated code uses to access it
+     */
+    static final class FieldMapping {
+
+        private final String declaringType;
+        private final String name;
+        private final String getterExpression;
+        private final String setterStatement;
+
+        FieldMapping(String declaringType, String name, String getterExpression, String setterStatement) {
+            this.declaringType = declaringType;
+            this.name = name;
+            this.getterExpression = getterExpression;
+            this.setterStatement = setterStatement;
+        }
+
+        String getDeclaringType() {
+            return declaringType;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return expression reading the field from variable 'bean' or null if not accessible
+         */
+        String getGetterExpression() {
+            return getterExpression;
+        }
+
+        /**
+         * @return statement writing variable 'value' to the field of variable 'bean' or null if not accessible
+         */
+        String getSetterStatement() {
+            return setterStatement;
+        }
+    }
+
+    private static final class Analyzer {
+
+        private final Elements elements;
+        private final Types types;
+        private final Messager messager;
+        private final TypeElement bean;
+        private final PackageElement beanPackage;
+        private final List<VariableElement> withCsvFieldAnnotation = new ArrayList<>();
+        private final List<VariableElement> withoutCsvFieldAnnotation = new ArrayList<>();
+
+        Analyzer(ProcessingEnvironment env, TypeElement bean) {
+            this.elements = env.getElementUtils();
+            this.types = env.getTypeUtils();
+            this.messager = env.getMessager();
+            this.bean = bean;
+            this.beanPackage = elements.getPackageOf(bean);
+        }
+
+        BeanMapping analyze() {
+            extractFields(bean);
+
+            List<VariableElement> mappedFields = withCsvFieldAnnotation.isEmpty() ? withoutCsvFieldAnnotation : withCsvFieldAnnotation;
+            if (!withCsvFieldAnnotation.isEmpty() && !withoutCsvFieldAnnotation.isEmpty()) {
+                List<String> ignoredFieldNames = new ArrayList<>();
+                for (VariableElement withoutAnnotation : withoutCsvFieldAnnotation) {
+                    ignoredFieldNames.add(withoutAnnotation.getSimpleName().toString());
+                }
+
+                if ("LOOSE".equals(getEnumValue(bean, CSV_MAPPING_MODE))) {
+                    messager.printMessage(Diagnostic.Kind.WARNING, "You used @CsvField somewhere in the type hierarchy of "
+                            + bean.getQualifiedName() + " but there are fields without it. Those fields will be ignored by SuperCSV: "
+                            + String.join(", ", ignoredFieldNames), bean);
+                } else {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "MappingMode.STRICT: You used @CsvField somewhere in the type hierarchy of "
+                            + bean.getQualifiedName() + " but there are fields without it. Those fields are unmapped: "
+                            + String.join(", ", ignoredFieldNames), bean);
+                    return null;
+                }
+            }
+
+            if (!checkExplicitIndices()) {
+                return null;
+            }
+
+            if (!isAccessible(bean)) {
+                messager.printMessage(Diagnostic.Kind.NOTE, "No CsvBeanMapper generated for " + bean.getQualifiedName()
+                        + " since it is not accessible from its package", bean);
+                return null;
+            }
+
+            boolean fieldAccess = "FIELD".equals(getEnumValue(bean, CSV_ACCESSOR_TYPE));
+            List<FieldMapping> result = new ArrayList<>();
+            for (VariableElement field : mappedFields) {
+                TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+                if (!isAccessible(declaringType)) {
+                    messager.printMessage(Diagnostic.Kind.NOTE, "No CsvBeanMapper generated for " + bean.getQualifiedName()
+                            + " since " + declaringType.getQualifiedName() + " is not accessible from its package", bean);
+                    return null;
+                }
+
+                result.add(fieldAccess ? createFieldMapping(declaringType, field) : createPropertyMapping(declaringType, field));
+            }
+
+            String binaryName = elements.getBinaryName(bean).toString();
+            String packageName = beanPackage.getQualifiedName().toString();
+            String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+            return new BeanMapping(bean, packageName, simpleBinaryName.replace('$', '_') + MAPPER_SUFFIX, result);
+        }
+
+        private void extractFields(TypeElement type) {
+            TypeMirror superclass = type.getSuperclass();
+            if (superclass.getKind() == TypeKind.DECLARED) {
+                TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+                if (!superType.getQualifiedName().contentEquals(Object.class.getName())) {
+                    extractFields(superType);
+                }
+            }
+
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (getAnnotation(field, CSV_TRANSIENT) == null && !field.getModifiers().contains(Modifier.STATIC)) {
+                    if (getAnnotation(field, CSV_FIELD) == null) {
+                        withoutCsvFieldAnnotation.add(field);
+                    } else {
+                        withCsvFieldAnnotation.add(field);
+                    }
+                }
+            }
+        }
+
+        private boolean checkExplicitIndices() {
+            Map<Integer, VariableElement> indices = new HashMap<>();
+            for (int i = 0; i < withCsvFieldAnnotation.size(); i++) {
+                VariableElement field = withCsvFieldAnnotation.get(i);
+                Object declaredIndex = getValue(getAnnotation(field, CSV_FIELD), "index");
+                // like at runtime, fields without an index take their position
+                int index = declaredIndex instanceof Integer && (Integer) declaredIndex >= 0 ? (Integer) declaredIndex : i;
+
+                VariableElement previous = indices.put(index, field);
+                if (previous != null) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Explicit order-index " + index + " was declared twice (Fields: "
+                            + previous.getSimpleName() + ", " + field.getSimpleName() + ")", field);
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private FieldMapping createFieldMapping(TypeElement declaringType, VariableElement field) {
+            String owner = "((" + typeName(declaringType.asType()) + ") bean)." + field.getSimpleName();
+            if (!isAccessible(field)) {
+                return new FieldMapping(typeName(declaringType.asType()), field.getSimpleName().toString(), null, null);
+            }
+
+            String setter = field.getModifiers().contains(Modifier.FINAL) ? null : owner + " = " + cast(field.asType()) + "value";
+            return new FieldMapping(typeName(declaringType.asType()), field.getSimpleName().toString(), owner, setter);
+        }
+
+        /**
+         * Mirrors java.beans.PropertyDescriptor: both accessors have to exist, otherwise the reflective fallback takes
+         * care of reporting the problem at runtime.
+         */
+        private FieldMapping createPropertyMapping(TypeElement declaringType, VariableElement field) {
+            String name = field.getSimpleName().toString();
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            TypeMirror fieldType = types.erasure(field.asType());
+
+            ExecutableElement getter = null;
+            if (fieldType.getKind() == TypeKind.BOOLEAN) {
+                getter = findMethod("is" + capitalized, fieldType, null);
+            }
+            if (getter == null) {
+                getter = findMethod("get" + capitalized, fieldType, null);
+            }
+            ExecutableElement setter = findMethod("set" + capitalized, types.getNoType(TypeKind.VOID), fieldType);
+
+            if (getter == null || setter == null) {
+                return new FieldMapping(typeName(declaringType.asType()), name, null, null);
+            }
+
+            return new FieldMapping(typeName(declaringType.asType()), name, "bean." + getter.getSimpleName() + "()",
+                    "bean." + setter.getSimpleName() + "(" + cast(field.asType()) + "value)");
+        }
+
+        private ExecutableElement findMethod(String name, TypeMirror returnType, TypeMirror parameterType) {
+            for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(bean))) {
+                if (!method.getSimpleName().contentEquals(name) || method.getModifiers().contains(Modifier.STATIC)
+                        || !isAccessible(method)) {
+                    continue;
+                }
+
+                boolean parametersMatch = parameterType == null ? method.getParameters().isEmpty()
+                        : method.getParameters().size() == 1
+                        && types.isSameType(types.erasure(method.getParameters().get(0).asType()), parameterType);
+                if (parametersMatch && types.isSameType(types.erasure(method.getReturnType()), returnType)) {
+                    return method;
+                }
+            }
+
+            return null;
+        }
+
+        private boolean isAccessible(Element element) {
+            for (Element current = element; current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+                Set<Modifier> modifiers = current.getModifiers();
+                if (modifiers.contains(Modifier.PRIVATE)) {
+                    return false;
+                }
+                if (!modifiers.contains(Modifier.PUBLIC) && !beanPackage.equals(elements.getPackageOf(current))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private String cast(TypeMirror type) {
+            TypeMirror erasure = types.erasure(type);
+            if (erasure.getKind().isPrimitive()) {
+                return "(" + types.boxedClass((PrimitiveType) erasure).getQualifiedName() + ") ";
+            }
+
+            return "(" + erasure + ") ";
+        }
+
+        private String typeName(TypeMirror type) {
+            return types.erasure(type).toString();
+        }
+
+        private String getEnumValue(Element element, String annotationType) {
+            Object value = getValue(getAnnotation(element, annotationType), "value");
+            return value instanceof VariableElement ? ((VariableElement) value).getSimpleName().toString() : null;
+        }
+
+        private AnnotationMirror getAnnotation(Element element, String annotationType) {
+            for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+                if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                    return annotation;
+                }
+            }
+
+            return null;
+        }
+
+        private Object getValue(AnnotationMirror annotation, String name) {
+            if (annotation == null) {
+                return null;
+            }
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals(name)) {
+                    return entry.getValue().getValue();
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@link com.github.dmn1k.supercsv.model.CsvBeanMapper} for every bean which uses
+ * {@link com.github.dmn1k.supercsv.io.declarative.CsvField}, {@link com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType}
+ * or {@link com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingMode}. Mapping errors which would otherwise
+ * only be detected when reading or writing the first row (like incomplete mappings in STRICT-mode) are reported as
+ * compile errors.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+@SupportedAnnotationTypes({
+    BeanMapping.CSV_FIELD,
+    BeanMapping.CSV_ACCESSOR_TYPE,
+    BeanMapping.CSV_MAPPING_MODE})
+public class CsvBeanMapperProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> beans = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element bean = element.getKind() == ElementKind.FIELD ? element.getEnclosingElement() : element;
+                if (bean.getKind() == ElementKind.CLASS && !bean.getModifiers().contains(Modifier.ABSTRACT)) {
+                    beans.add((TypeElement) bean);
+                }
+            }
+        }
+
+        for (TypeElement bean : beans) {
+            BeanMapping mapping = BeanMapping.analyze(processingEnv, bean);
+            if (mapping != null) {
+                write(mapping);
+            }
+        }
+
+        return false;
+    }
+
+    private void write(BeanMapping mapping) {
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(mapping.getMapperName(), mapping.getBean());
+            try (Writer writer = sourceFile.openWriter()) {
+                new MapperSourceWriter(mapping).writeTo(writer);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Can not write CsvBeanMapper: " + e.getMessage(), mapping.getBean());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Iterator;
+
+/**
+ * Writes the source of a {@link com.github.dmn1k.supercsv.model.CsvBeanMapper} for a {@link BeanMapping}. All type names
+ * are written fully qualified so the generated code doesn't clash with the bean's own imports.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class MapperSourceWriter {
+
+    private static final String MAPPED_FIELD = "com.github.dmn1k.supercsv.model.MappedField";
+
+    private final BeanMapping mapping;
+
+    MapperSourceWriter(BeanMapping mapping) {
+        this.mapping = mapping;
+    }
+
+    void writeTo(Writer writer) throws IOException {
+        PrintWriter out = new PrintWriter(writer);
+        String beanType = mapping.getBean().getQualifiedName().toString();
+        String fieldType = MAPPED_FIELD + "<" + beanType + ">";
+
+        if (!mapping.getPackageName().isEmpty()) {
+            out.println("package " + mapping.getPackageName() + ";");
+            out.println();
+        }
+        out.println("/**");
+        out.println(" * Generated by " + CsvBeanMapperProcessor.class.getName() + " - do not edit");
+        out.println(" */");
+        out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+        out.println("public final class " + mapping.getMapperSimpleName()
+                + " implements com.github.dmn1k.supercsv.model.CsvBeanMapper<" + beanType + "> {");
+        out.println();
+        out.println("    private static final java.util.List<" + fieldType + "> FIELDS = java.util.Collections.unmodifiableList(");
+        out.println("        java.util.Arrays.<" + fieldType + ">asList(");
+        for (Iterator<BeanMapping.FieldMapping> it = mapping.getFields().iterator(); it.hasNext();) {
+            BeanMapping.FieldMapping field = it.next();
+            String getter = field.getGetterExpression() == null ? "null" : "bean -> " + field.getGetterExpression();
+            String setter = field.getSetterStatement() == null ? "null" : "(bean, value) -> " + field.getSetterStatement();
+            out.println("            new " + fieldType + "(" + field.getDeclaringType() + ".class, \"" + field.getName() + "\",");
+            out.println("                " + getter + ",");
+            out.println("                " + setter + ")" + (it.hasNext() ? "," : ""));
+        }
+        out.println("        ));");
+        out.println();
+        out.println("    @Override");
+        out.println("    public Class<" + beanType + "> getBeanType() {");
+        out.println("        return " + beanType + ".class;");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public java.util.List<" + fieldType + "> getFields() {");
+        out.println("        return FIELDS;");
+        out.println("    }");
+        out.println("}");
+        out.flush();
+    }
+}
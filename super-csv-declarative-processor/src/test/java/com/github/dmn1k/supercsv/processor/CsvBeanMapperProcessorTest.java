@@ -0,0 +1,186 @@
+package com.github.dmn1k.supercsv.processor;
+
+import com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanReader;
+import com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanWriter;
+import com.github.dmn1k.supercsv.io.declarative.CsvField;
+import com.github.dmn1k.supercsv.model.CsvBeanMapper;
+import com.github.dmn1k.supercsv.model.MappedField;
+import com.github.dmn1k.supercsv.processor.testbeans.FieldAccessBean;
+import com.github.dmn1k.supercsv.processor.testbeans.PropertyAccessBean;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+public class CsvBeanMapperProcessorTest {
+
+    @Test
+    public void generatesMapperForPropertyAccess() throws Exception {
+        CsvBeanMapper<PropertyAccessBean> mapper = loadMapper(PropertyAccessBean.class);
+        List<MappedField<PropertyAccessBean>> fields = mapper.getFields();
+        PropertyAccessBean bean = new PropertyAccessBean("John", false);
+
+        assertEquals(2, fields.size());
+        assertEquals("name", fields.get(0).getName());
+        assertEquals("John", fields.get(0).getGetter().apply(bean));
+
+        fields.get(1).getSetter().accept(bean, true);
+        assertTrue(bean.isActive());
+    }
+
+    @Test
+    public void leavesInaccessibleFieldsToRuntime() throws Exception {
+        CsvBeanMapper<FieldAccessBean> mapper = loadMapper(FieldAccessBean.class);
+        List<MappedField<FieldAccessBean>> fields = mapper.getFields();
+
+        assertEquals(3, fields.size());
+        assertNotNull(fields.get(1).getSetter());
+        assertNull(fields.get(2).getGetter());
+        assertNull(fields.get(2).getSetter());
+    }
+
+    @Test
+    public void readsAndWritesWithGeneratedMappers() throws IOException {
+        StringWriter csv = new StringWriter();
+        try (CsvDeclarativeBeanWriter writer = new CsvDeclarativeBeanWriter(csv, CsvPreference.STANDARD_PREFERENCE)) {
+            writer.write(new PropertyAccessBean("John", true));
+            writer.write(new FieldAccessBean("Jane", 42L, "note"));
+        }
+
+        assertEquals("true,John\r\nJane,42,note\r\n", csv.toString());
+
+        try (CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(new StringReader(csv.toString()), CsvPreference.STANDARD_PREFERENCE)) {
+            PropertyAccessBean propertyBean = reader.read(PropertyAccessBean.class);
+            FieldAccessBean fieldBean = reader.read(FieldAccessBean.class);
+
+            assertEquals("John", propertyBean.getName());
+            assertTrue(propertyBean.isActive());
+            assertEquals("Jane", fieldBean.getName());
+            assertEquals(42L, fieldBean.getId());
+            assertEquals("note", fieldBean.getNote());
+        }
+    }
+
+    @Test
+    public void reportsPartialMappingInStrictModeAsCompileError() {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("StrictBean",
+                "public class StrictBean {\n"
+                + "    @com.github.dmn1k.supercsv.io.declarative.CsvField(index = 0)\n"
+                + "    private String mapped;\n"
+                + "    private String unmapped;\n"
+                + "}\n");
+
+        assertTrue(containsError(diagnostics, "MappingMode.STRICT"));
+    }
+
+    @Test
+    public void reportsDuplicateExplicitIndexAsCompileError() {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("DuplicateIndexBean",
+                "public class DuplicateIndexBean {\n"
+                + "    @com.github.dmn1k.supercsv.io.declarative.CsvField(index = 0)\n"
+                + "    private String first;\n"
+                + "    @com.github.dmn1k.supercsv.io.declarative.CsvField(index = 0)\n"
+                + "    private String second;\n"
+                + "}\n");
+
+        assertTrue(containsError(diagnostics, "declared twice"));
+    }
+
+    @Test
+    public void reportsExplicitIndexOfDefaultedFieldAsCompileError() {
+        // like at runtime, second takes its position 1 as index
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("DefaultedIndexBean",
+                "public class DefaultedIndexBean {\n"
+                + "    @com.github.dmn1k.supercsv.io.declarative.CsvField(index = 1)\n"
+                + "    private String first;\n"
+                + "    @com.github.dmn1k.supercsv.io.declarative.CsvField\n"
+                + "    private String second;\n"
+                + "}\n");
+
+        assertTrue(containsError(diagnostics, "Explicit order-index 1 was declared twice"));
+    }
+
+    @Test
+    public void compilesValidBeanWithoutErrors() {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile("ValidBean",
+                "@com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType(com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType.FIELD)\n"
+                + "public class ValidBean {\n"
+                + "    @com.github.dmn1k.supercsv.io.declarative.CsvField(index = 0)\n"
+                + "    int value;\n"
+                + "}\n");
+
+        assertFalse(containsError(diagnostics, ""));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CsvBeanMapper<T> loadMapper(Class<T> beanType) throws Exception {
+        return (CsvBeanMapper<T>) Class.forName(CsvBeanMapper.mapperNameFor(beanType)).newInstance();
+    }
+
+    private static boolean containsError(List<Diagnostic<? extends JavaFileObject>> diagnostics, String message) {
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).contains(message)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> compile(String className, String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        File outputDirectory = new File("target/processor-test-classes");
+        outputDirectory.mkdirs();
+
+        List<String> options = Arrays.asList(
+                "-classpath", classpathOf(CsvField.class),
+                "-d", outputDirectory.getPath());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null,
+                Collections.singletonList(new InMemorySource(className, source)));
+        task.setProcessors(Collections.singletonList(new CsvBeanMapperProcessor()));
+        task.call();
+
+        return diagnostics.getDiagnostics();
+    }
+
+    private static String classpathOf(Class<?> type) {
+        try {
+            return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class InMemorySource extends SimpleJavaFileObject {
+
+        private final String source;
+
+        InMemorySource(String className, String source) {
+            super(URI.create("string:///" + className + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
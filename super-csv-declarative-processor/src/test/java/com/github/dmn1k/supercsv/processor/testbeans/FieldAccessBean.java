@@ -0,0 +1,54 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.processor.testbeans;
+
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+
+/**
+ * Test class for generated mappers
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+@CsvAccessorType(CsvAccessType.FIELD)
+public class FieldAccessBean {
+
+    String name;
+    long id;
+    private String note;
+
+    public FieldAccessBean() {
+    }
+
+    public FieldAccessBean(String name, long id, String note) {
+        this.name = name;
+        this.id = id;
+        this.note = note;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getNote() {
+        return note;
+    }
+}
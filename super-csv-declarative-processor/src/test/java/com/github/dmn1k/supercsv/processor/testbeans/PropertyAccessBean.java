@@ -0,0 +1,59 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.processor.testbeans;
+
+import com.github.dmn1k.supercsv.io.declarative.CsvField;
+import com.github.dmn1k.supercsv.io.declarative.annotation.ParseBool;
+
+/**
+ * Test class for generated mappers
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class PropertyAccessBean {
+
+    @CsvField(index = 1)
+    private String name;
+
+    @CsvField(index = 0)
+    @ParseBool
+    private boolean active;
+
+    public PropertyAccessBean() {
+    }
+
+    public PropertyAccessBean(String name, boolean active) {
+        this.name = name;
+        this.active = active;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+}
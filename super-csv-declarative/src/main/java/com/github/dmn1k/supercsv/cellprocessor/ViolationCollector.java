@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor;
+
+import com.github.dmn1k.supercsv.io.declarative.ErrorReport;
+import java.util.Objects;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Collects violations of a reader instead of throwing them (see
+ * {@link com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanReader#setErrorReport(ErrorReport)}). While a row
+ * is processed the collector is bound to the processing thread; processors which find a violation record it via
+ * {@link #current()} and return null instead of throwing an exception, the reader skips the row afterwards.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class ViolationCollector {
+
+    private static final ThreadLocal<ViolationCollector> CURRENT = new ThreadLocal<>();
+
+    private final ErrorReport report;
+    private boolean rejected;
+
+    /**
+     * @param report the report to record violations in
+     * @throws NullPointerException if report is null
+     */
+    public ViolationCollector(ErrorReport report) {
+        this.report = Objects.requireNonNull(report, "report");
+    }
+
+    /**
+     * @return the collector bound to the current thread or null if violations should be thrown
+     */
+    public static ViolationCollector current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a collector to the current thread
+     *
+     * @param collector the collector to bind, null to unbind
+     * @return the collector bound before, to be restored afterwards
+     */
+    public static ViolationCollector bind(ViolationCollector collector) {
+        ViolationCollector previous = CURRENT.get();
+        if (collector == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(collector);
+        }
+        return previous;
+    }
+
+    /**
+     * Records a violation of the current column and marks the row as rejected
+     *
+     * @param processor the processor which found the violation
+     * @param context the current context
+     * @param reason description of the violation
+     * @param <T> the processor's result type
+     * @return null, the value to return from {@link CellProcessor#execute(Object, CsvContext)}
+     */
+    public <T> T reject(CellProcessor processor, CsvContext context, String reason) {
+        rejected = true;
+        report.record(context.getRowNumber(), context.getLineNumber(), context.getColumnNumber(), processor, reason);
+        return null;
+    }
+
+    /**
+     * @return true if a violation was found since the last {@link #startRow()}
+     */
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    /**
+     * Marks the start of a new row, which isn't rejected yet
+     */
+    public void startRow() {
+        rejected = false;
+    }
+
+    /**
+     * @return the report violations are recorded in
+     */
+    public ErrorReport getReport() {
+        return report;
+    }
+}
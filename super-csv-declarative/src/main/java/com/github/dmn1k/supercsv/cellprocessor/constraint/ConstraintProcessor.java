@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import com.github.dmn1k.supercsv.cellprocessor.ViolationCollector;
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Base class of the constraint processors, which behave like the ones of {@link org.supercsv.cellprocessor.constraint}
+ * but report violations without exceptions if the reader collects them (see {@link ViolationCollector}).
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public abstract class ConstraintProcessor extends CellProcessorAdaptor {
+
+    private static final String NULL_INPUT = "this processor does not accept null input - if the column is optional then"
+            + " chain an Optional() processor before this one";
+
+    /**
+     * @param next the next processor in the chain
+     * @throws NullPointerException if next is null
+     */
+    protected ConstraintProcessor(CellProcessor next) {
+        super(next);
+    }
+
+    /**
+     * Reports a violated constraint: throws a {@link SuperCsvConstraintViolationException} unless a
+     * {@link ViolationCollector} is bound
+     *
+     * @param reason description of the violation
+     * @param context the current context
+     * @param <T> the processor's result type
+     * @return null, the value to return from {@link #execute(Object, CsvContext)}
+     */
+    protected <T> T violation(String reason, CsvContext context) {
+        ViolationCollector collector = ViolationCollector.current();
+        if (collector != null) {
+            return collector.reject(this, context, reason);
+        }
+
+        throw new SuperCsvConstraintViolationException(reason, context, this);
+    }
+
+    /**
+     * Reports an invalid input: throws a {@link SuperCsvCellProcessorException} unless a {@link ViolationCollector}
+     * is bound
+     *
+     * @param reason description of the problem
+     * @param context the current context
+     * @param <T> the processor's result type
+     * @return null, the value to return from {@link #execute(Object, CsvContext)}
+     */
+    protected <T> T failure(String reason, CsvContext context) {
+        ViolationCollector collector = ViolationCollector.current();
+        if (collector != null) {
+            return collector.reject(this, context, reason);
+        }
+
+        throw new SuperCsvCellProcessorException(reason, context, this);
+    }
+
+    /**
+     * Like {@link #validateInputNotNull(Object, CsvContext)} but reports null as {@link #failure(String, CsvContext)}
+     *
+     * @param value the input value
+     * @param context the current context
+     * @return true if the value is null and was reported
+     */
+    protected boolean rejectNull(Object value, CsvContext context) {
+        if (value != null) {
+            return false;
+        }
+
+        failure(NULL_INPUT, context);
+        return true;
+    }
+}
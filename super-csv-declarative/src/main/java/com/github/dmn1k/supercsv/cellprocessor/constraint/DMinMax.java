@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Converts the input to a Double and ensures that it lies between min and max (inclusive), like
+ * {@link org.supercsv.cellprocessor.constraint.DMinMax}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class DMinMax extends ConstraintProcessor implements StringCellProcessor {
+
+    private final double min;
+    private final double max;
+
+    /**
+     * @param min the minimum value (inclusive)
+     * @param max the maximum value (inclusive)
+     * @param next the next processor in the chain
+     * @throws IllegalArgumentException if max &lt; min
+     * @throws NullPointerException if next is null
+     */
+    public DMinMax(final double min, final double max, final DoubleCellProcessor next) {
+        super(next);
+        if (max < min) {
+            throw new IllegalArgumentException(String.format("max (%f) should not be < min (%f)", max, min));
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (rejectNull(value, context)) {
+            return null;
+        }
+
+        final double result;
+        if (value instanceof Double) {
+            result = (Double) value;
+        } else {
+            try {
+                result = Double.parseDouble(value.toString());
+            } catch (final NumberFormatException e) {
+                return failure(String.format("'%s' could not be parsed as a Double", value), context);
+            }
+        }
+
+        if (result < min || result > max) {
+            return violation(String.format("%f does not lie between the min (%f) and max (%f) values (inclusive)", result,
+                    min, max), context);
+        }
+
+        return next.execute(result, context);
+    }
+}
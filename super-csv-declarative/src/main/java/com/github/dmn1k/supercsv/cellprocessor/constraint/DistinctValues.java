@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import com.github.dmn1k.supercsv.internal.util.Hashes;
+import com.github.dmn1k.supercsv.internal.util.LongHashSet;
+import com.github.dmn1k.supercsv.internal.util.SpillingHashSet;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.UniqueStrategy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The values seen by {@link Unique} or {@link UniqueHashCode}, remembered according to a {@link UniqueStrategy}
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+abstract class DistinctValues implements Closeable {
+
+    /**
+     * @param value the value to add (not null)
+     * @return false if the value was seen already
+     * @throws IOException if spilled values couldn't be written or read
+     * @throws IllegalStateException if the values exceed the memory limit
+     */
+    abstract boolean add(Object value) throws IOException;
+
+    /**
+     * Deletes the values spilled to disk (if any)
+     */
+    @Override
+    public void close() throws IOException {
+    }
+
+    static DistinctValues ofValues(UniqueStrategy strategy, long maxMemory, long expectedCount) {
+        switch (strategy) {
+            case HASH64:
+                LongHashSet hashes = new LongHashSet(maxMemory, expectedCount);
+                return new DistinctValues() {
+                    @Override
+                    boolean add(Object value) {
+                        // by String, not equals() (see UniqueStrategy.HASH64)
+                        return hashes.add(Hashes.hash64(value.toString()));
+                    }
+                };
+            case BLOOM_SPILL:
+                SpillingHashSet spilled = new SpillingHashSet(maxMemory, expectedCount);
+                return new DistinctValues() {
+                    @Override
+                    boolean add(Object value) throws IOException {
+                        String key = value.toString();
+                        return spilled.add(Hashes.hash64(key), key);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        spilled.close();
+                    }
+                };
+            default:
+                Set<Object> values = new HashSet<>();
+                return new DistinctValues() {
+                    @Override
+                    boolean add(Object value) {
+                        return values.add(value);
+                    }
+                };
+        }
+    }
+
+    static DistinctValues ofHashCodes(UniqueStrategy strategy, long maxMemory, long expectedCount) {
+        switch (strategy) {
+            case HASH64:
+                LongHashSet hashes = new LongHashSet(maxMemory, expectedCount);
+                return new DistinctValues() {
+                    @Override
+                    boolean add(Object value) {
+                        return hashes.add(value.hashCode());
+                    }
+                };
+            case BLOOM_SPILL:
+                SpillingHashSet spilled = new SpillingHashSet(maxMemory, expectedCount);
+                return new DistinctValues() {
+                    @Override
+                    boolean add(Object value) throws IOException {
+                        // mixing is bijective, so hash codes stay distinct but spread over the bloom filter
+                        return spilled.add(Hashes.mix(value.hashCode()), null);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        spilled.close();
+                    }
+                };
+            default:
+                Set<Integer> hashCodes = new HashSet<>();
+                return new DistinctValues() {
+                    @Override
+                    boolean add(Object value) {
+                        return hashCodes.add(value.hashCode());
+                    }
+                };
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the input doesn't contain any of the forbidden substrings, like
+ * {@link org.supercsv.cellprocessor.constraint.ForbidSubStr}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class ForbidSubStr extends ConstraintProcessor implements StringCellProcessor {
+
+    final String[] forbiddenSubStrings;
+
+    /**
+     * @param forbiddenSubStrings the forbidden substrings
+     * @param next the next processor in the chain
+     * @throws NullPointerException if forbiddenSubStrings, one of them or next is null
+     * @throws IllegalArgumentException if forbiddenSubStrings is empty
+     */
+    public ForbidSubStr(final String[] forbiddenSubStrings, final CellProcessor next) {
+        super(next);
+        this.forbiddenSubStrings = SubStrings.check(forbiddenSubStrings, "forbiddenSubStrings", "forbidden");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (rejectNull(value, context)) {
+            return null;
+        }
+
+        final String stringValue = value.toString();
+        for (String forbidden : forbiddenSubStrings) {
+            if (stringValue.contains(forbidden)) {
+                return violation(String.format("'%s' contains the forbidden substring '%s'", value, forbidden), context);
+            }
+        }
+
+        return next.execute(value, context);
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.supercsv.cellprocessor.Trim;
+import org.supercsv.cellprocessor.ift.BoolCellProcessor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.DateCellProcessor;
+import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.LongCellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Executes a chain of {@link NotNull}, {@link StrNotNullOrEmpty}, {@link StrMinMax}, {@link Strlen},
+ * {@link RequireSubStr}, {@link ForbidSubStr} and {@link Trim} processors as a single processor. The length is taken
+ * once, trimming only moves the bounds of the checked range and all substrings are searched in a single pass over the
+ * characters.
+ * <p>
+ * Conditions are checked in chain order and violations are reported by the original processors, so messages and
+ * processors of exceptions and error reports are the same as with the chain itself. Values which aren't Strings
+ * (including null) are passed to the original chain.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class FusedStringConstraints extends ConstraintProcessor implements BoolCellProcessor, DateCellProcessor,
+        DoubleCellProcessor, LongCellProcessor, StringCellProcessor {
+
+    private static final int NOT_NULL = 0;
+    private static final int NOT_EMPTY = 1;
+    private static final int MIN_MAX = 2;
+    private static final int LENGTHS = 3;
+    private static final int REQUIRE = 4;
+    private static final int FORBID = 5;
+    private static final int TRIM = 6;
+
+    // substrings which were found are flagged in a long
+    private static final int MAX_SUBSTRINGS = Long.SIZE;
+
+    private final CellProcessor chain;
+    private final Step[] steps;
+    private final boolean trims;
+    private final String[] subStrings;
+    private final boolean[] subStringTrimmed;
+    private final boolean scansUntrimmed;
+
+    private FusedStringConstraints(CellProcessor chain, List<Step> steps, List<String> subStrings,
+            List<Boolean> subStringTrimmed, CellProcessor next) {
+        super(next);
+        this.chain = chain;
+        this.steps = steps.toArray(new Step[steps.size()]);
+        this.subStrings = subStrings.toArray(new String[subStrings.size()]);
+        this.subStringTrimmed = new boolean[subStrings.size()];
+        boolean anyTrim = false;
+        boolean anyUntrimmed = false;
+        for (Step step : steps) {
+            anyTrim |= step.kind == TRIM;
+        }
+        for (int i = 0; i < this.subStringTrimmed.length; i++) {
+            this.subStringTrimmed[i] = subStringTrimmed.get(i);
+            anyUntrimmed |= !this.subStringTrimmed[i];
+        }
+        this.trims = anyTrim;
+        this.scansUntrimmed = anyUntrimmed;
+    }
+
+    /**
+     * @param processor the processor to check
+     * @return true if the processor can be part of a fused chain
+     */
+    public static boolean isFusable(CellProcessor processor) {
+        Class<?> type = processor.getClass();
+        return type == NotNull.class || type == StrNotNullOrEmpty.class || type == StrMinMax.class
+                || type == Strlen.class || type == RequireSubStr.class || type == ForbidSubStr.class
+                || type == Trim.class;
+    }
+
+    /**
+     * Fuses a chain of {@link #isFusable(CellProcessor) fusable} processors
+     *
+     * @param chain the processors in the order they were created, i.e. each one's next processor is the one before it
+     * @param next the next processor of the first processor of the list
+     * @return the fused processor, or the last processor of the list if fusing wouldn't pay off
+     */
+    public static CellProcessor fuse(List<CellProcessor> chain, CellProcessor next) {
+        CellProcessor last = chain.get(chain.size() - 1);
+        if (chain.size() < 2) {
+            return last;
+        }
+
+        List<Step> steps = new ArrayList<>();
+        List<String> subStrings = new ArrayList<>();
+        List<Boolean> subStringTrimmed = new ArrayList<>();
+        boolean trimmed = false;
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            CellProcessor processor = chain.get(i);
+            if (processor instanceof Trim) {
+                steps.add(new Step(TRIM, null, 0));
+                trimmed = true;
+                continue;
+            }
+
+            Step step = new Step(kindOf((ConstraintProcessor) processor), (ConstraintProcessor) processor,
+                    subStrings.size());
+            steps.add(step);
+            for (String subString : step.subStrings) {
+                subStrings.add(subString);
+                subStringTrimmed.add(trimmed);
+            }
+            if (subStrings.size() > MAX_SUBSTRINGS) {
+                return last;
+            }
+        }
+
+        return new FusedStringConstraints(last, steps, subStrings, subStringTrimmed, next);
+    }
+
+    private static int kindOf(ConstraintProcessor processor) {
+        if (processor instanceof NotNull) {
+            return NOT_NULL;
+        } else if (processor instanceof StrNotNullOrEmpty) {
+            return NOT_EMPTY;
+        } else if (processor instanceof StrMinMax) {
+            return MIN_MAX;
+        } else if (processor instanceof Strlen) {
+            return LENGTHS;
+        } else if (processor instanceof RequireSubStr) {
+            return REQUIRE;
+        }
+        return FORBID;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (!(value instanceof String)) {
+            return chain.execute(value, context);
+        }
+
+        final String string = (String) value;
+        int start = 0;
+        int end = string.length();
+        if (trims) {
+            while (start < end && string.charAt(start) <= ' ') {
+                start++;
+            }
+            while (start < end && string.charAt(end - 1) <= ' ') {
+                end--;
+            }
+        }
+
+        boolean trimmed = false;
+        boolean scanned = false;
+        long found = 0L;
+        for (Step step : steps) {
+            int length = trimmed ? end - start : string.length();
+            switch (step.kind) {
+                case NOT_NULL:
+                    break;
+                case NOT_EMPTY:
+                    if (length == 0) {
+                        return step.processor.violation("the String should not be empty", context);
+                    }
+                    break;
+                case MIN_MAX:
+                    StrMinMax minMax = (StrMinMax) step.processor;
+                    if (length < minMax.min || length > minMax.max) {
+                        return step.processor.violation(String.format("the length (%d) of value '%s' does not lie"
+                                + " between the min (%d) and max (%d) values (inclusive)", length,
+                                view(string, trimmed, start, end), minMax.min, minMax.max), context);
+                    }
+                    break;
+                case LENGTHS:
+                    if (!((Strlen) step.processor).requiredLengths.get(length)) {
+                        return step.processor.violation(String.format("the length (%d) of value '%s' not any of the"
+                                + " required lengths", length, view(string, trimmed, start, end)), context);
+                    }
+                    break;
+                case REQUIRE:
+                    if (!scanned) {
+                        found = scan(string, start, end);
+                        scanned = true;
+                    }
+                    if ((found & step.mask) == 0L) {
+                        return step.processor.violation(String.format("'%s' does not contain any of the required"
+                                + " substrings", view(string, trimmed, start, end)), context);
+                    }
+                    break;
+                case FORBID:
+                    if (!scanned) {
+                        found = scan(string, start, end);
+                        scanned = true;
+                    }
+                    // the first forbidden substring in declaration order is reported
+                    long forbidden = found & step.mask;
+                    if (forbidden != 0L) {
+                        return step.processor.violation(String.format("'%s' contains the forbidden substring '%s'",
+                                view(string, trimmed, start, end), subStrings[Long.numberOfTrailingZeros(forbidden)]),
+                                context);
+                    }
+                    break;
+                default:
+                    trimmed = true;
+                    break;
+            }
+        }
+
+        return next.execute(trims ? string.substring(start, end) : string, context);
+    }
+
+    /**
+     * Searches all substrings in a single pass. Substrings checked after trimming must lie within the trimmed range.
+     *
+     * @return the indexes of the found substrings as bits
+     */
+    private long scan(String string, int trimmedStart, int trimmedEnd) {
+        long all = subStrings.length == MAX_SUBSTRINGS ? -1L : (1L << subStrings.length) - 1;
+        long found = 0L;
+        for (int i = 0; i < subStrings.length; i++) {
+            if (subStrings[i].isEmpty()) {
+                found |= 1L << i;
+            }
+        }
+
+        int from = scansUntrimmed ? 0 : trimmedStart;
+        int to = scansUntrimmed ? string.length() : trimmedEnd;
+        for (int position = from; position < to && found != all; position++) {
+            char c = string.charAt(position);
+            for (int i = 0; i < subStrings.length; i++) {
+                String subString = subStrings[i];
+                if ((found & 1L << i) != 0L || subString.charAt(0) != c) {
+                    continue;
+                }
+
+                int limit = subStringTrimmed[i] ? trimmedEnd : string.length();
+                if ((!subStringTrimmed[i] || position >= trimmedStart) && position + subString.length() <= limit
+                        && string.regionMatches(position, subString, 0, subString.length())) {
+                    found |= 1L << i;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    private static String view(String string, boolean trimmed, int start, int end) {
+        return trimmed ? string.substring(start, end) : string;
+    }
+
+    private static final class Step {
+
+        private final int kind;
+        private final ConstraintProcessor processor;
+        private final String[] subStrings;
+        private final long mask;
+
+        Step(int kind, ConstraintProcessor processor, int firstSubString) {
+            this.kind = kind;
+            this.processor = processor;
+            if (kind == REQUIRE) {
+                this.subStrings = ((RequireSubStr) processor).requiredSubStrings;
+            } else if (kind == FORBID) {
+                this.subStrings = ((ForbidSubStr) processor).forbiddenSubStrings;
+            } else {
+                this.subStrings = new String[0];
+            }
+            long bits = subStrings.length >= MAX_SUBSTRINGS ? -1L : (1L << subStrings.length) - 1;
+            this.mask = bits << firstSubString;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import org.supercsv.cellprocessor.ift.BoolCellProcessor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.DateCellProcessor;
+import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.LongCellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the input isn't null, like {@link org.supercsv.cellprocessor.constraint.NotNull}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class NotNull extends ConstraintProcessor implements BoolCellProcessor, DateCellProcessor, DoubleCellProcessor,
+        LongCellProcessor, StringCellProcessor {
+
+    /**
+     * @param next the next processor in the chain
+     * @throws NullPointerException if next is null
+     */
+    public NotNull(final CellProcessor next) {
+        super(next);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (value == null) {
+            return violation("null value encountered", context);
+        }
+
+        return next.execute(value, context);
+    }
+}
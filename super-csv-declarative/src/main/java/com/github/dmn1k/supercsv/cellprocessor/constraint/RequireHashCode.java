@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.supercsv.cellprocessor.ift.BoolCellProcessor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.DateCellProcessor;
+import org.supercsv.cellprocessor.ift.DoubleCellProcessor;
+import org.supercsv.cellprocessor.ift.LongCellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the hash code of the input is one of the required ones, like
+ * {@link org.supercsv.cellprocessor.constraint.RequireHashCode}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class RequireHashCode extends ConstraintProcessor implements BoolCellProcessor, DateCellProcessor,
+        DoubleCellProcessor, LongCellProcessor, StringCellProcessor {
+
+    private final Set<Integer> requiredHashCodes = new HashSet<>();
+
+    /**
+     * @param requiredHashCodes the required hash codes
+     * @param next the next processor in the chain
+     * @throws NullPointerException if requiredHashCodes or next is null
+     * @throws IllegalArgumentException if requiredHashCodes is empty
+     */
+    public RequireHashCode(final int[] requiredHashCodes, final CellProcessor next) {
+        super(next);
+        if (requiredHashCodes == null) {
+            throw new NullPointerException("requiredHashcodes should not be null");
+        } else if (requiredHashCodes.length == 0) {
+            throw new IllegalArgumentException("requiredHashcodes should not be empty");
+        }
+
+        for (int hash : requiredHashCodes) {
+            this.requiredHashCodes.add(hash);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (rejectNull(value, context)) {
+            return null;
+        }
+
+        int hash = value.hashCode();
+        if (!requiredHashCodes.contains(hash)) {
+            return violation(String.format("the hashcode of %d for value '%s' does not match any of the required hashcodes",
+                    hash, value), context);
+        }
+
+        return next.execute(value, context);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the input contains at least one of the required substrings, like
+ * {@link org.supercsv.cellprocessor.constraint.RequireSubStr}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class RequireSubStr extends ConstraintProcessor implements StringCellProcessor {
+
+    final String[] requiredSubStrings;
+
+    /**
+     * @param requiredSubStrings the required substrings
+     * @param next the next processor in the chain
+     * @throws NullPointerException if requiredSubStrings, one of them or next is null
+     * @throws IllegalArgumentException if requiredSubStrings is empty
+     */
+    public RequireSubStr(final String[] requiredSubStrings, final CellProcessor next) {
+        super(next);
+        this.requiredSubStrings = SubStrings.check(requiredSubStrings, "requiredSubStrings", "required");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (rejectNull(value, context)) {
+            return null;
+        }
+
+        final String stringValue = value.toString();
+        for (final String required : requiredSubStrings) {
+            if (stringValue.contains(required)) {
+                return next.execute(value, context);
+            }
+        }
+
+        return violation(String.format("'%s' does not contain any of the required substrings", value), context);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the length of the input lies between min and max (inclusive), like
+ * {@link org.supercsv.cellprocessor.constraint.StrMinMax}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class StrMinMax extends ConstraintProcessor implements StringCellProcessor {
+
+    final long min;
+    final long max;
+
+    /**
+     * @param min the minimum length (inclusive)
+     * @param max the maximum length (inclusive)
+     * @param next the next processor in the chain
+     * @throws IllegalArgumentException if max &lt; min or min &lt; 0
+     * @throws NullPointerException if next is null
+     */
+    public StrMinMax(final long min, final long max, final CellProcessor next) {
+        super(next);
+        if (max < min) {
+            throw new IllegalArgumentException(String.format("max (%d) should not be < min (%d)", max, min));
+        }
+        if (min < 0) {
+            throw new IllegalArgumentException(String.format("min length (%d) should not be < 0", min));
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (rejectNull(value, context)) {
+            return null;
+        }
+
+        final String stringValue = value.toString();
+        final int length = stringValue.length();
+        if (length < min || length > max) {
+            return violation(String.format("the length (%d) of value '%s' does not lie between the min (%d) and max (%d)"
+                    + " values (inclusive)", length, stringValue, min, max), context);
+        }
+
+        return next.execute(stringValue, context);
+    }
+}
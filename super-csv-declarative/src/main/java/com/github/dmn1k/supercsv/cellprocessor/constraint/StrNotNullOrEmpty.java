@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the input is a String which is neither null nor empty, like
+ * {@link org.supercsv.cellprocessor.constraint.StrNotNullOrEmpty}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class StrNotNullOrEmpty extends ConstraintProcessor implements StringCellProcessor {
+
+    /**
+     * @param next the next processor in the chain
+     * @throws NullPointerException if next is null
+     */
+    public StrNotNullOrEmpty(final CellProcessor next) {
+        super(next);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (value == null) {
+            return violation("the String should not be null", context);
+        } else if (!(value instanceof String)) {
+            return failure(String.format("the input value should be of type %s but is %s", String.class.getName(),
+                    value.getClass().getName()), context);
+        } else if (((String) value).isEmpty()) {
+            return violation("the String should not be empty", context);
+        }
+
+        return next.execute(value, context);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the input matches a regular expression, like {@link org.supercsv.cellprocessor.constraint.StrRegEx}.
+ * The matcher is reused, so instances must not be shared by multiple threads.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class StrRegEx extends ConstraintProcessor implements StringCellProcessor {
+
+    private static final Map<String, String> REGEX_MSGS = new ConcurrentHashMap<>();
+
+    private final String regex;
+    private final Matcher matcher;
+
+    /**
+     * @param regex the regular expression
+     * @param next the next processor in the chain
+     * @throws NullPointerException if regex or next is null
+     * @throws IllegalArgumentException if regex is empty
+     * @throws java.util.regex.PatternSyntaxException if regex isn't a valid regular expression
+     */
+    public StrRegEx(final String regex, final StringCellProcessor next) {
+        super(next);
+        if (regex == null) {
+            throw new NullPointerException("regex should not be null");
+        } else if (regex.isEmpty()) {
+            throw new IllegalArgumentException("regex should not be empty");
+        }
+        this.regex = regex;
+        this.matcher = Pattern.compile(regex).matcher("");
+    }
+
+    /**
+     * Registers a description of a regular expression to be used in the messages of violations
+     *
+     * @param regex the regular expression
+     * @param message the description
+     */
+    public static void registerMessage(String regex, String message) {
+        REGEX_MSGS.put(regex, message);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (rejectNull(value, context)) {
+            return null;
+        }
+
+        if (!matcher.reset((String) value).matches()) {
+            final String msg = REGEX_MSGS.get(regex);
+            if (msg == null) {
+                return violation(String.format("'%s' does not match the regular expression '%s'", value, regex), context);
+            }
+            return violation(String.format("'%s' does not match the constraint '%s' defined by the regular expression '%s'",
+                    value, msg, regex), context);
+        }
+
+        return next.execute(value, context);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import java.util.BitSet;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that the length of the input is one of the required lengths, like
+ * {@link org.supercsv.cellprocessor.constraint.Strlen}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class Strlen extends ConstraintProcessor implements StringCellProcessor {
+
+    final BitSet requiredLengths = new BitSet();
+
+    /**
+     * @param requiredLengths the required lengths
+     * @param next the next processor in the chain
+     * @throws NullPointerException if requiredLengths or next is null
+     * @throws IllegalArgumentException if requiredLengths is empty or contains a negative length
+     */
+    public Strlen(final int[] requiredLengths, final CellProcessor next) {
+        super(next);
+        if (requiredLengths == null) {
+            throw new NullPointerException("requiredLengths should not be null");
+        } else if (requiredLengths.length == 0) {
+            throw new IllegalArgumentException("requiredLengths should not be empty");
+        }
+
+        for (final int length : requiredLengths) {
+            if (length < 0) {
+                throw new IllegalArgumentException(String.format("required length cannot be negative but was %d", length));
+            }
+            this.requiredLengths.set(length);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (rejectNull(value, context)) {
+            return null;
+        }
+
+        final String stringValue = value.toString();
+        final int length = stringValue.length();
+        if (!requiredLengths.get(length)) {
+            return violation(String.format("the length (%d) of value '%s' not any of the required lengths", length,
+                    stringValue), context);
+        }
+
+        return next.execute(value, context);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+/**
+ * Precondition checks shared by the substring constraints
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class SubStrings {
+
+    private SubStrings() {
+    }
+
+    static String[] check(String[] subStrings, String name, String kind) {
+        if (subStrings == null) {
+            throw new NullPointerException(name + " array should not be null");
+        } else if (subStrings.length == 0) {
+            throw new IllegalArgumentException(name + " array should not be empty");
+        }
+
+        for (String subString : subStrings) {
+            if (subString == null) {
+                throw new NullPointerException(kind + " substring should not be null");
+            }
+        }
+
+        return subStrings.clone();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.UniqueStrategy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Objects;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Ensures that each input value is unique, like {@link org.supercsv.cellprocessor.constraint.Unique}. The values
+ * are remembered according to a {@link UniqueStrategy}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class Unique extends ConstraintProcessor implements Closeable {
+
+    private final DistinctValues values;
+
+    /**
+     * Remembers the values with {@link UniqueStrategy#EXACT}
+     *
+     * @param next the next processor in the chain
+     * @throws NullPointerException if next is null
+     */
+    public Unique(final CellProcessor next) {
+        this(UniqueStrategy.EXACT, 0, next);
+    }
+
+    /**
+     * @param strategy how values are remembered
+     * @param maxMemory memory limit in bytes, ignored by {@link UniqueStrategy#EXACT}
+     * @param next the next processor in the chain
+     * @throws NullPointerException if strategy or next is null
+     * @throws IllegalArgumentException if maxMemory is too small for the strategy
+     */
+    public Unique(final UniqueStrategy strategy, final long maxMemory, final CellProcessor next) {
+        this(strategy, maxMemory, 0, next);
+    }
+
+    /**
+     * @param strategy how values are remembered
+     * @param maxMemory memory limit in bytes, ignored by {@link UniqueStrategy#EXACT}
+     * @param expectedCount expected number of distinct values, 0 if unknown; sizes the hash table of
+     * {@link UniqueStrategy#HASH64} and the bloom filter of {@link UniqueStrategy#BLOOM_SPILL}
+     * @param next the next processor in the chain
+     * @throws NullPointerException if strategy or next is null
+     * @throws IllegalArgumentException if maxMemory is too small for the strategy and expectedCount
+     */
+    public Unique(final UniqueStrategy strategy, final long maxMemory, final long expectedCount, final CellProcessor next) {
+        super(next);
+        this.values = DistinctValues.ofValues(Objects.requireNonNull(strategy, "strategy"), maxMemory, expectedCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws SuperCsvException if the remembered values exceed the memory limit or couldn't be spilled
+     */
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if (rejectNull(value, context)) {
+            return null;
+        }
+
+        final boolean added;
+        try {
+            added = values.add(value);
+        } catch (IOException | IllegalStateException e) {
+            throw new SuperCsvException(e.getMessage(), context, e);
+        }
+
+        if (!added) {
+            return violation(String.format("duplicate value '%s' encountered", value), context);
+        }
+
+        return next.execute(value, context);
+    }
+
+    /**
+     * Deletes the values spilled to disk by {@link UniqueStrategy#BLOOM_SPILL}
+     */
+    @Override
+    public void close() throws IOException {
+        values.close();
+    }
+}
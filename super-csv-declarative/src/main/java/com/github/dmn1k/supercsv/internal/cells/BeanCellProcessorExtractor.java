@@ -15,6 +15,7 @@
  */
 package com.github.dmn1k.supercsv.internal.cells;
 
+import com.github.dmn1k.supercsv.cellprocessor.constraint.FusedStringConstraints;
 import com.github.dmn1k.supercsv.model.BeanDescriptor;
 import com.github.dmn1k.supercsv.internal.util.Form;
 import com.github.dmn1k.supercsv.internal.util.ReflectionUtilsExt;
@@ -22,6 +23,7 @@ import com.github.dmn1k.supercsv.io.declarative.CellProcessorAnnotationDescripto
 import com.github.dmn1k.supercsv.model.CellProcessorFactory;
 import com.github.dmn1k.supercsv.model.ProcessingMetadata;
 import com.github.dmn1k.supercsv.model.DeclarativeCellProcessorProvider;
+import java.io.Closeable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -57,12 +59,25 @@ final class BeanCellProcessorExtractor {
         // no instances allowed
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
     public static CellProcessor createCellProcessorFor(BeanDescriptor beanDescriptor, Field field, String context) {
+        return buildProcessorChain(createCellProcessorFactoriesFor(beanDescriptor, field, context), new ArrayList<>());
+    }
+
+    /**
+     * Resolves the factories of all processors of the given field without instantiating them. Since processors may be
+     * stateful (e.g. Unique), chains are built from these factories once per reader/writer.
+     *
+     * @param beanDescriptor the bean
+     * @param field the field
+     * @param context the context to get the processors of
+     * @return factories in chain order
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static List<CellProcessorFactory> createCellProcessorFactoriesFor(BeanDescriptor beanDescriptor, Field field, String context) {
         List<Annotation> annotations = extractAnnotations(field);
         Collections.reverse(annotations);
 
-        List<CellProcessorDefinition> factories = new ArrayList<>();
+        List<CellProcessorDefinition> definitions = new ArrayList<>();
 
         for (Annotation annotation : annotations) {
             CellProcessorAnnotationDescriptor cellProcessorMarker = annotation
@@ -77,13 +92,36 @@ final class BeanCellProcessorExtractor {
                                     annotation.getClass().getName()));
                 }
 
-                factories.add(new CellProcessorDefinition(provider.create(new ProcessingMetadata(annotation, field, beanDescriptor)), cellProcessorMarker));
+                definitions.add(new CellProcessorDefinition(provider.create(new ProcessingMetadata(annotation, field, beanDescriptor)), cellProcessorMarker));
             }
         }
 
-        Collections.sort(factories, new OrderComparator());
+        Collections.sort(definitions, new OrderComparator());
+
+        List<CellProcessorFactory> factories = new ArrayList<>();
+        for (CellProcessorDefinition definition : definitions) {
+            factories.add(definition.getFactory());
+        }
 
-        return buildProcessorChain(factories);
+        return factories;
+    }
+
+    /**
+     * @param field the field
+     * @param context the context to check the processors of
+     * @return true if any processor of the field keeps state between rows
+     * @see CellProcessorAnnotationDescriptor#stateful()
+     */
+    static boolean hasStatefulProcessor(Field field, String context) {
+        for (Annotation annotation : extractAnnotations(field)) {
+            CellProcessorAnnotationDescriptor cellProcessorMarker = annotation.annotationType()
+                    .getAnnotation(CellProcessorAnnotationDescriptor.class);
+            if (cellProcessorMarker != null && cellProcessorMarker.stateful() && Arrays.asList(cellProcessorMarker.contexts()).contains(context)) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     private static List<Annotation> extractAnnotations(Field field){
@@ -113,13 +151,41 @@ final class BeanCellProcessorExtractor {
         return result;
     }
     
-    private static CellProcessor buildProcessorChain(List<CellProcessorDefinition> definitions) {
+    /**
+     * Builds the chain of the given factories. Consecutive built-in string constraints and trims are replaced by a
+     * single {@link FusedStringConstraints} processor.
+     *
+     * @param factories factories in chain order
+     * @param closeables list to add the processors of the chain to which hold resources (e.g. Unique)
+     * @return the first processor of the chain
+     */
+    static CellProcessor buildProcessorChain(List<CellProcessorFactory> factories, List<Closeable> closeables) {
         CellProcessor root = new Transient();
-
-        for (CellProcessorDefinition definition : definitions) {
-            root = definition.getFactory().create(root);
+        CellProcessor beforeFusable = root;
+        List<CellProcessor> fusable = new ArrayList<>();
+
+        for (CellProcessorFactory factory : factories) {
+            CellProcessor processor = factory.create(root);
+            if (FusedStringConstraints.isFusable(processor)) {
+                if (fusable.isEmpty()) {
+                    beforeFusable = root;
+                }
+                fusable.add(processor);
+            } else if (!fusable.isEmpty()) {
+                CellProcessor fused = FusedStringConstraints.fuse(fusable, beforeFusable);
+                if (fused != root) {
+                    // the processor has already been checked against the unfused chain
+                    processor = factory.create(fused);
+                }
+                fusable.clear();
+            }
+            if (processor instanceof Closeable) {
+                closeables.add((Closeable) processor);
+            }
+            root = processor;
         }
-        return root;
+
+        return fusable.isEmpty() ? root : FusedStringConstraints.fuse(fusable, beforeFusable);
     }
 
     private static final class OrderComparator implements Comparator<CellProcessorDefinition> {
@@ -18,171 +18,444 @@ package com.github.dmn1k.supercsv.internal.cells;
 import com.github.dmn1k.supercsv.model.BeanDescriptor;
 import com.github.dmn1k.supercsv.internal.util.Form;
 import com.github.dmn1k.supercsv.io.declarative.CsvField;
-import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingModeType;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.UniqueKey;
+import com.github.dmn1k.supercsv.model.CellProcessorFactory;
+import com.github.dmn1k.supercsv.model.MappedField;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import org.apache.commons.lang.ClassUtils;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvException;
+import org.supercsv.exception.SuperCsvReflectionException;
 
 public final class BeanCells {
 
-    private static final Map<CacheKey, BeanCells> FIELD_CACHE = new ConcurrentHashMap<CacheKey, BeanCells>();
-
     private final int correctlyMappedFieldCount;
-    private final Map<Integer, BeanCell> mappedFields;
+    private final BeanCell[] cells;
+    private final BeanCell[] mappedCells;
+    private final CellProcessor[] mappedProcessors;
+    private final List<BeanCell> all;
+    private final RowBinder rowBinder;
+    private final boolean stateful;
+    private final UniqueKeyCheck[] keyChecks;
+    private final int[][] keyColumns;
+    private final BitSet keyColumnSet = new BitSet();
+    private final BitSet projection = new BitSet();
+    private volatile CellProcessor[] rowProcessors = new CellProcessor[0];
 
-    private BeanCells(Map<Integer, BeanCell> mappedFields) {
-        this.mappedFields = mappedFields;
-        this.correctlyMappedFieldCount = mappedFields.size();
+    private BeanCells(Map<Integer, BeanCell> mappedFields, List<UniqueKeyCheck> keyChecks) {
+        this(mappedFields, mappedFields.size(), keyChecks);
     }
 
     /**
-     * Returns all fields of the given class including those of superclasses.
+     * @param keyChecks checks of unique keys, only those whose fields are all mapped are used
+     */
+    private BeanCells(Map<Integer, BeanCell> mappedFields, int correctlyMappedFieldCount, List<UniqueKeyCheck> keyChecks) {
+        this.correctlyMappedFieldCount = correctlyMappedFieldCount;
+
+        int width = mappedFields.isEmpty() ? 0 : Collections.max(mappedFields.keySet()) + 1;
+        this.cells = new BeanCell[width];
+        Arrays.fill(cells, NullBeanCell.INSTANCE);
+
+        List<Integer> indices = new ArrayList<>(mappedFields.keySet());
+        Collections.sort(indices);
+        this.mappedCells = new BeanCell[indices.size()];
+        this.mappedProcessors = new CellProcessor[indices.size()];
+        boolean stateful = false;
+        for (int i = 0; i < indices.size(); i++) {
+            BeanCell cell = mappedFields.get(indices.get(i));
+            cells[indices.get(i)] = cell;
+            projection.set(indices.get(i));
+            mappedCells[i] = cell;
+            mappedProcessors[i] = cell.getProcessor();
+            stateful |= cell instanceof ExistingBeanCell && ((ExistingBeanCell) cell).isStateful();
+        }
+
+        List<UniqueKeyCheck> resolvedChecks = new ArrayList<>();
+        List<int[]> resolvedColumns = new ArrayList<>();
+        for (UniqueKeyCheck check : keyChecks) {
+            int[] columns = findColumns(check.getFieldNames());
+            if (columns != null) {
+                resolvedChecks.add(check);
+                resolvedColumns.add(columns);
+                for (int column : columns) {
+                    keyColumnSet.set(column);
+                }
+            }
+        }
+        this.keyChecks = resolvedChecks.toArray(new UniqueKeyCheck[0]);
+        this.keyColumns = resolvedColumns.toArray(new int[0][]);
+        this.stateful = stateful || this.keyChecks.length > 0;
+
+        this.all = Collections.unmodifiableList(Arrays.asList(mappedCells));
+        this.rowBinder = new RowBinder(this);
+    }
+
+    /**
+     * Creates the cells of all fields of the given class including those of superclasses. Creating cells is expensive,
+     * so they should be cached (see com.github.dmn1k.supercsv.io.declarative.MappingRegistry).
      *
      * @param beanDescriptor the bean to get the fields of
      * @param context the context to get the fields of
      * @return all fields of the class and its hierarchy
      */
-    public static BeanCells getFields(BeanDescriptor beanDescriptor, String context) {
-        CacheKey cacheKey = new CacheKey(beanDescriptor.getBeanType(), context);
-        if (FIELD_CACHE.containsKey(cacheKey)) {
-            return FIELD_CACHE.get(cacheKey);
+    public static BeanCells create(BeanDescriptor beanDescriptor, String context) {
+        List<Field> fields = new FieldExtractor(beanDescriptor).getFields();
+        Map<Field, MappedField<?>> generatedFields = GeneratedMappers.findFields(beanDescriptor.getBeanType(), fields);
+        if (generatedFields == null) {
+            generatedFields = Collections.emptyMap();
         }
-        FieldExtractor fieldExtractor = new FieldExtractor(beanDescriptor);
-        List<Field> fields = fieldExtractor.getFields();
 
-        BeanCells result = null;
-        Map<Integer, BeanCell> fieldsByExplicitIndex = getFieldsByExplicitIndex(fields, beanDescriptor, context);
-        if (fieldsByExplicitIndex.isEmpty()) {
-            Map<Integer, BeanCell> fieldsByImplicitIndex = getFieldsByImplicitIndex(fields, beanDescriptor, context);
-            result = new BeanCells(fieldsByImplicitIndex);
-        } else {
-            result = new BeanCells(fieldsByExplicitIndex);
+        List<UniqueKeyCheck> keyChecks = new ArrayList<>();
+        for (UniqueKey key : beanDescriptor.getUniqueKeys()) {
+            if (Arrays.asList(key.contexts()).contains(context)) {
+                keyChecks.add(new UniqueKeyCheck(key));
+            }
         }
 
-        FIELD_CACHE.put(cacheKey, result);
-        return result;
-    }
+        Map<Integer, BeanCell> fieldsByExplicitIndex = getFieldsByExplicitIndex(fields, beanDescriptor, context, generatedFields);
+        BeanCells cells = fieldsByExplicitIndex.isEmpty()
+                ? new BeanCells(getFieldsByImplicitIndex(fields, beanDescriptor, context, generatedFields), keyChecks)
+                : new BeanCells(fieldsByExplicitIndex, keyChecks);
 
-    public static void resetCache() {
-        FIELD_CACHE.clear();
+        if (cells.keyChecks.length != keyChecks.size()) {
+            for (UniqueKeyCheck check : keyChecks) {
+                if (cells.findColumns(check.getFieldNames()) == null) {
+                    throw new SuperCsvException(Form.at("@UniqueKey {} of {} contains fields which are not mapped",
+                            check.getFieldNames(), beanDescriptor.getBeanType().getName()));
+                }
+            }
+        }
+
+        return cells;
     }
-        
-    public BeanCell getCell(int index) {
-        BeanCell mapped = mappedFields.get(index);
-        if (mapped != null) {
-            return mapped;
+
+    /**
+     * Processors may be stateful (e.g. Unique), so every reader/writer has to work on its own copy.
+     *
+     * @return cells sharing fields and accessors with these cells but with newly created processors
+     */
+    public BeanCells newSession() {
+        Map<Integer, BeanCell> freshCells = new HashMap<>();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] instanceof ExistingBeanCell) {
+                freshCells.put(i, ((ExistingBeanCell) cells[i]).withFreshProcessor());
+            }
         }
 
-        NullBeanCell nullFieldWrapper = new NullBeanCell();
-        mappedFields.put(index, nullFieldWrapper);
+        List<UniqueKeyCheck> freshChecks = new ArrayList<>();
+        for (UniqueKeyCheck check : keyChecks) {
+            freshChecks.add(check.fresh());
+        }
 
-        return nullFieldWrapper;
+        return new BeanCells(freshCells, correctlyMappedFieldCount, freshChecks);
     }
 
-    public List<BeanCell> getAll() {
-        return new ArrayList<>(mappedFields.values());
+    /**
+     * Releases the resources of stateful processors and unique keys (e.g. values spilled to disk). Only needed for
+     * cells of a session (see {@link #newSession()}); projections share them with the cells they were created from.
+     *
+     * @throws IOException if a resource couldn't be released, after trying all others
+     */
+    public void close() throws IOException {
+        IOException failure = null;
+        for (BeanCell cell : mappedCells) {
+            try {
+                if (cell instanceof ExistingBeanCell) {
+                    ((ExistingBeanCell) cell).close();
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        for (UniqueKeyCheck check : keyChecks) {
+            try {
+                check.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
     }
 
-    public int getCorrectlyMappedFieldCount() {
-        return correctlyMappedFieldCount;
+    /**
+     * Narrows these cells to the given fields. The other fields are treated like unmapped columns, but still count as
+     * mapped fields (see {@link #getCorrectlyMappedFieldCount()}), so STRICT mapping still checks the width of rows.
+     * Unique keys are only checked if all of their fields are kept.
+     *
+     * @param fieldNames names of the fields to keep
+     * @return cells sharing fields, accessors and processors with these cells
+     * @throws SuperCsvException if one of the names is not a mapped field
+     */
+    public BeanCells project(Collection<String> fieldNames) {
+        Set<String> remaining = new HashSet<>(fieldNames);
+        Map<Integer, BeanCell> projectedCells = new HashMap<>();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] instanceof ExistingBeanCell && remaining.remove(((ExistingBeanCell) cells[i]).getName())) {
+                projectedCells.put(i, cells[i]);
+            }
+        }
+
+        if (!remaining.isEmpty()) {
+            throw new SuperCsvException(Form.at("Fields {} are not mapped", remaining));
+        }
+
+        return new BeanCells(projectedCells, correctlyMappedFieldCount, Arrays.asList(keyChecks));
     }
 
-    private static Map<Integer, BeanCell> getFieldsByExplicitIndex(List<Field> fields, BeanDescriptor beanDescriptor, String context) {
-        Map<Integer, BeanCell> result = new HashMap<>();
-        for (Field field : fields) {
-            CsvField fieldAnnotation = field.getAnnotation(CsvField.class);
-            if (fieldAnnotation != null) {
-                if (result.containsKey(fieldAnnotation.index())) {
-                    throw new SuperCsvException(Form.at("Explicit order-index {} was declared twice (Field: {}", fieldAnnotation.index(),
-                            field.getName()));
-                }
+    /**
+     * Maps the fields to the columns of the given header by their column names (see {@link CsvField#name()}) instead of
+     * their indices. The result is as dense as positional cells, so rows are mapped without looking up names. In STRICT
+     * mode every column has to belong to a field and every field has to have a column.
+     *
+     * @param header the column names
+     * @param mappingMode the mapping mode of the bean
+     * @return cells sharing fields, accessors and processors with these cells, ordered like the header
+     * @throws SuperCsvException if two fields have the same column name or the header doesn't match in STRICT mode
+     */
+    public BeanCells byHeader(List<String> header, CsvMappingModeType mappingMode) {
+        Map<String, BeanCell> cellsByName = new HashMap<>();
+        for (BeanCell cell : mappedCells) {
+            String columnName = ((ExistingBeanCell) cell).getColumnName();
+            if (cellsByName.put(columnName, cell) != null) {
+                throw new SuperCsvException(Form.at("Column name {} was declared twice", columnName));
+            }
+        }
 
-                CellProcessor cellProcessor = BeanCellProcessorExtractor.createCellProcessorFor(beanDescriptor, field, context);
-                FieldAccessStrategy fieldAccessStrategy = createFieldAccessStrategy(beanDescriptor.getAccessType());
-                result.put(fieldAnnotation.index(), new ExistingBeanCell(field, cellProcessor, fieldAccessStrategy));
+        Map<Integer, BeanCell> cellsByColumn = new HashMap<>();
+        List<String> unknownColumns = new ArrayList<>();
+        for (int i = 0; i < header.size(); i++) {
+            BeanCell cell = header.get(i) == null ? null : cellsByName.remove(header.get(i));
+            if (cell == null) {
+                unknownColumns.add(header.get(i));
+            } else {
+                cellsByColumn.put(i, cell);
             }
         }
 
-        return result;
+        if (CsvMappingModeType.STRICT.equals(mappingMode) && (!unknownColumns.isEmpty() || !cellsByName.isEmpty())) {
+            throw new SuperCsvException(Form.at("MappingMode.STRICT: Header does not match the bean-fields. Unknown columns: {},"
+                    + " missing columns: {}", unknownColumns, cellsByName.keySet()));
+        }
+
+        return new BeanCells(cellsByColumn, Arrays.asList(keyChecks));
     }
 
-    private static Map<Integer, BeanCell> getFieldsByImplicitIndex(List<Field> fields, BeanDescriptor beanDescriptor, String context) {
-        Map<Integer, BeanCell> result = new HashMap<>();
-        for (int i = 0; i < fields.size(); i++) {
-            Field field = fields.get(i);
-            CellProcessor cellProcessor = BeanCellProcessorExtractor.createCellProcessorFor(beanDescriptor, field, context);
-            FieldAccessStrategy fieldAccessStrategy = createFieldAccessStrategy(beanDescriptor.getAccessType());
-            result.put(i, new ExistingBeanCell(field, cellProcessor, fieldAccessStrategy));
+    /**
+     * Checks the processed values of a row against the unique keys (see {@link UniqueKey}) and remembers them
+     *
+     * @param processedColumns the processed values of the row
+     * @return description of the first duplicate key or null if all keys are unique
+     * @throws SuperCsvException if the keys exceed their memory limit or couldn't be spilled
+     */
+    public String checkUniqueKeys(List<Object> processedColumns) {
+        for (int i = 0; i < keyChecks.length; i++) {
+            Object[] values = new Object[keyColumns[i].length];
+            for (int j = 0; j < values.length; j++) {
+                int column = keyColumns[i][j];
+                values[j] = column < processedColumns.size() ? processedColumns.get(column) : null;
+            }
+
+            try {
+                if (!keyChecks[i].add(values)) {
+                    return Form.at("duplicate key {} encountered for unique key {}", Arrays.asList(values),
+                            keyChecks[i].getFieldNames());
+                }
+            } catch (IOException | IllegalStateException e) {
+                throw new SuperCsvException(e.getMessage(), null, e);
+            }
         }
 
-        return result;
+        return null;
     }
 
-    private static FieldAccessStrategy createFieldAccessStrategy(CsvAccessType type) {
-        return CsvAccessType.FIELD.equals(type) ? new DirectFieldAccessStrategy() : new PropertyFieldAccessStrategy();
+    public BeanCell getCell(int index) {
+        return index < cells.length ? cells[index] : NullBeanCell.INSTANCE;
     }
 
-    private static class CacheKey {
-
-        private final Class<?> fieldClass;
-        private final String context;
-
-        public CacheKey(Class<?> fieldClass, String context) {
-            this.fieldClass = fieldClass;
-            this.context = context;
+    /**
+     * Checks whether a value can be set on the field of the given column without setting it
+     *
+     * @param index index of the column
+     * @param value the value to set, already converted to the field's type
+     * @throws SuperCsvReflectionException if setting the value would fail
+     */
+    public void checkAssignable(int index, Object value) {
+        BeanCell cell = getCell(index);
+        Class<?> type = cell.getType();
+        if (type != null && (value == null ? type.isPrimitive() : !ClassUtils.isAssignable(value.getClass(), type, true))) {
+            throw new SuperCsvReflectionException(Form.at("Cannot set value on field '{}'",
+                    ((ExistingBeanCell) cell).getName()));
         }
+    }
 
-        public Class<?> getFieldClass() {
-            return fieldClass;
+    /**
+     * Returns the processors for a row with the given number of columns. Unmapped columns get no processor, their values
+     * are ignored anyway. The array is reused for consecutive rows of the same width and must not be modified.
+     *
+     * @param width number of columns of the row
+     * @return one processor per column
+     */
+    public CellProcessor[] getProcessors(int width) {
+        CellProcessor[] processors = rowProcessors;
+        if (processors.length == width) {
+            return processors;
         }
 
-        public String getContext() {
-            return context;
+        processors = new CellProcessor[width];
+        for (int i = 0; i < width; i++) {
+            BeanCell cell = getCell(i);
+            processors[i] = cell == NullBeanCell.INSTANCE ? null : cell.getProcessor();
         }
+        rowProcessors = processors;
+
+        return processors;
+    }
 
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((context == null) ? 0 : context.hashCode());
-            result = prime * result + ((fieldClass == null) ? 0 : fieldClass.hashCode());
-            return result;
+    /**
+     * @return indices of the mapped columns, which are the only columns that need to be tokenized. Must not be modified.
+     */
+    public BitSet getProjection() {
+        return projection;
+    }
+
+    /**
+     * @return processors of all mapped cells ordered by index. Must not be modified.
+     */
+    public CellProcessor[] getMappedProcessors() {
+        return mappedProcessors;
+    }
+
+    /**
+     * Extracts the values of all mapped cells ordered by index
+     *
+     * @param bean the bean to read the values from
+     * @param destination list to add the values to (will be cleared)
+     */
+    public void extractValues(Object bean, List<Object> destination) {
+        destination.clear();
+        for (BeanCell cell : mappedCells) {
+            destination.add(cell.getValue(bean));
         }
+    }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            CacheKey other = (CacheKey) obj;
-            if (context == null) {
-                if (other.context != null) {
-                    return false;
+    /**
+     * @return the binder which populates beans of this type from processed rows
+     */
+    public RowBinder getRowBinder() {
+        return rowBinder;
+    }
+
+    /**
+     * @return true if any processor keeps state between rows, i.e. rows must be processed by a single session in order
+     */
+    public boolean isStateful() {
+        return stateful;
+    }
+
+    public List<BeanCell> getAll() {
+        return all;
+    }
+
+    public int getCorrectlyMappedFieldCount() {
+        return correctlyMappedFieldCount;
+    }
+
+    /**
+     * @return highest mapped column index + 1
+     */
+    int getMappedWidth() {
+        return cells.length;
+    }
+
+    /**
+     * @param index index of a column
+     * @return true if the column's processed value is part of a unique key
+     */
+    boolean isKeyColumn(int index) {
+        return keyColumnSet.get(index);
+    }
+
+    /**
+     * @return indices of the named fields' columns or null if one of them isn't mapped
+     */
+    private int[] findColumns(List<String> fieldNames) {
+        int[] columns = new int[fieldNames.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = -1;
+            for (int j = 0; j < cells.length; j++) {
+                if (cells[j] instanceof ExistingBeanCell && ((ExistingBeanCell) cells[j]).getName().equals(fieldNames.get(i))) {
+                    columns[i] = j;
                 }
-            } else if (!context.equals(other.context)) {
-                return false;
             }
-            if (fieldClass == null) {
-                if (other.fieldClass != null) {
-                    return false;
+            if (columns[i] < 0) {
+                return null;
+            }
+        }
+
+        return columns;
+    }
+
+    BeanCell getMappedCell(int index) {
+        BeanCell cell = cells[index];
+        return cell == NullBeanCell.INSTANCE ? null : cell;
+    }
+
+    private static Map<Integer, BeanCell> getFieldsByExplicitIndex(List<Field> fields, BeanDescriptor beanDescriptor, String context,
+            Map<Field, MappedField<?>> generatedFields) {
+        Map<Integer, BeanCell> result = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            CsvField fieldAnnotation = field.getAnnotation(CsvField.class);
+            if (fieldAnnotation != null) {
+                int index = fieldAnnotation.index() < 0 ? i : fieldAnnotation.index();
+                if (result.containsKey(index)) {
+                    throw new SuperCsvException(Form.at("Explicit order-index {} was declared twice (Field: {}", index,
+                            field.getName()));
                 }
-            } else if (!fieldClass.equals(other.fieldClass)) {
-                return false;
+
+                List<CellProcessorFactory> processorFactories = BeanCellProcessorExtractor.createCellProcessorFactoriesFor(beanDescriptor, field, context);
+                FieldAccessStrategy fieldAccessStrategy = createFieldAccessStrategy(field, beanDescriptor, generatedFields);
+                result.put(index, new ExistingBeanCell(field, processorFactories,
+                        BeanCellProcessorExtractor.hasStatefulProcessor(field, context), fieldAccessStrategy));
             }
-            return true;
         }
 
+        return result;
+    }
+
+    private static Map<Integer, BeanCell> getFieldsByImplicitIndex(List<Field> fields, BeanDescriptor beanDescriptor, String context,
+            Map<Field, MappedField<?>> generatedFields) {
+        Map<Integer, BeanCell> result = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            List<CellProcessorFactory> processorFactories = BeanCellProcessorExtractor.createCellProcessorFactoriesFor(beanDescriptor, field, context);
+            FieldAccessStrategy fieldAccessStrategy = createFieldAccessStrategy(field, beanDescriptor, generatedFields);
+            result.put(i, new ExistingBeanCell(field, processorFactories,
+                    BeanCellProcessorExtractor.hasStatefulProcessor(field, context), fieldAccessStrategy));
+        }
+
+        return result;
     }
 
+    private static FieldAccessStrategy createFieldAccessStrategy(Field field, BeanDescriptor beanDescriptor,
+            Map<Field, MappedField<?>> generatedFields) {
+        MappedField<?> generatedField = generatedFields.get(field);
+        return generatedField == null ? CompiledFieldAccessStrategy.create(field, beanDescriptor)
+                : CompiledFieldAccessStrategy.create(field, beanDescriptor, generatedField);
+    }
 }
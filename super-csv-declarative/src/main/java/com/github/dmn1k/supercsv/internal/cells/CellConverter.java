@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.internal.typeconversion.TypeConverter;
+import com.github.dmn1k.supercsv.internal.typeconversion.TypeConverterRegistry;
+import org.apache.commons.lang.ClassUtils;
+
+/**
+ * Converts processed values to the type of a single field. The converter for the value type seen last (and the one for
+ * null) is cached, so rows with stable types don't look up converters at all. Not thread-safe.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class CellConverter {
+
+    private final Class<?> fieldType;
+
+    private TypeConverterRegistry registry;
+    private int registryVersion;
+
+    private Class<?> valueClass;
+    // null if values of valueClass can be assigned without conversion
+    private TypeConverter<Object, Object> valueConverter;
+
+    private boolean nullResolved;
+    private TypeConverter<Object, Object> nullConverter;
+
+    CellConverter(Class<?> fieldType) {
+        this.fieldType = fieldType;
+    }
+
+    Object convert(Object value, TypeConverterRegistry typeConverterRegistry) {
+        if (registry != typeConverterRegistry || registryVersion != typeConverterRegistry.getVersion()) {
+            registry = typeConverterRegistry;
+            registryVersion = typeConverterRegistry.getVersion();
+            valueClass = null;
+            nullResolved = false;
+        }
+
+        if (value == null) {
+            if (!nullResolved) {
+                nullConverter = registry.getRequiredConverter(Object.class, fieldType);
+                nullResolved = true;
+            }
+            return nullConverter.convert(null);
+        }
+
+        if (value.getClass() != valueClass) {
+            // ClassUtils handles widening of boxed types
+            valueConverter = ClassUtils.isAssignable(value.getClass(), fieldType, true) ? null
+                    : registry.getRequiredConverter(value.getClass(), fieldType);
+            valueClass = value.getClass();
+        }
+
+        return valueConverter == null ? value : valueConverter.convert(value);
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.internal.util.Form;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.model.BeanDescriptor;
+import com.github.dmn1k.supercsv.model.CsvBeanMapper;
+import com.github.dmn1k.supercsv.model.MappedField;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.apache.commons.lang.ClassUtils;
+import org.supercsv.exception.SuperCsvReflectionException;
+
+/**
+ * Accesses a single field through getter- and setter-functions which are resolved once when the strategy is created.
+ * Public getters and setters are bound via {@link LambdaMetafactory}, everything else (including direct field
+ * access, which LambdaMetafactory can't target) via {@link MethodHandle}s.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class CompiledFieldAccessStrategy implements FieldAccessStrategy {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Function<Object, Object> getter;
+    private final BiConsumer<Object, Object> setter;
+    private final PrimitiveSetter primitiveSetter;
+
+    private CompiledFieldAccessStrategy(Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+        this(getter, setter, null);
+    }
+
+    private CompiledFieldAccessStrategy(Function<Object, Object> getter, BiConsumer<Object, Object> setter, PrimitiveSetter primitiveSetter) {
+        this.getter = getter;
+        this.setter = setter;
+        this.primitiveSetter = primitiveSetter;
+    }
+
+    /**
+     * Creates the accessor for the given field using the access type of the given bean
+     *
+     * @param field the field to access
+     * @param beanDescriptor the bean containing the field
+     * @return the compiled accessor
+     */
+    public static CompiledFieldAccessStrategy create(Field field, BeanDescriptor beanDescriptor) {
+        if (CsvAccessType.FIELD.equals(beanDescriptor.getAccessType())) {
+            return new CompiledFieldAccessStrategy(unwrapOptional(field.getType(), createFieldGetter(field)),
+                    widenPrimitives(field.getType(), createFieldSetter(field)), createPrimitiveFieldSetter(field));
+        }
+
+        PropertyDescriptor propertyDescriptor;
+        try {
+            // like PropertyDescriptor(String, Class), which javac can't resolve on Java 9+ with source 1.8
+            String baseName = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            propertyDescriptor = new PropertyDescriptor(field.getName(), beanDescriptor.getBeanType(), "is" + baseName,
+                    "set" + baseName);
+        } catch (IntrospectionException e) {
+            return new CompiledFieldAccessStrategy(
+                    obj -> {
+                        throw new SuperCsvReflectionException(Form.at("Error extracting bean value via getter for field {}", field.getName()), e);
+                    },
+                    (obj, value) -> {
+                        throw new SuperCsvReflectionException(Form.at("Cannot set value via setter on field '{}'", field.getName()), e);
+                    });
+        }
+
+        Method readMethod = propertyDescriptor.getReadMethod();
+        Method writeMethod = propertyDescriptor.getWriteMethod();
+        return new CompiledFieldAccessStrategy(unwrapOptional(readMethod.getReturnType(), createPropertyGetter(field, readMethod)),
+                widenPrimitives(writeMethod.getParameterTypes()[0], createPropertySetter(field, writeMethod)),
+                createPrimitivePropertySetter(field, writeMethod));
+    }
+
+    /**
+     * Creates the accessor for the given field from the functions a generated {@link CsvBeanMapper} provides. Missing
+     * functions are compiled as in {@link #create(Field, BeanDescriptor)}.
+     *
+     * @param field the field to access
+     * @param beanDescriptor the bean containing the field
+     * @param mappedField the generated description of the field
+     * @return the accessor
+     */
+    @SuppressWarnings("unchecked")
+    public static CompiledFieldAccessStrategy create(Field field, BeanDescriptor beanDescriptor, MappedField<?> mappedField) {
+        Function<Object, Object> generatedGetter = (Function<Object, Object>) mappedField.getGetter();
+        BiConsumer<Object, Object> generatedSetter = (BiConsumer<Object, Object>) mappedField.getSetter();
+
+        CompiledFieldAccessStrategy fallback = generatedGetter == null || generatedSetter == null
+                ? create(field, beanDescriptor) : null;
+
+        Function<Object, Object> getter = generatedGetter == null ? fallback.getter
+                : unwrapOptional(field.getType(), guard(generatedGetter, Form.at("Error extracting bean value for field {}", field.getName())));
+        BiConsumer<Object, Object> setter = generatedSetter == null ? fallback.setter
+                : widenPrimitives(field.getType(), guard(generatedSetter, Form.at("Cannot set value on field '{}'", field.getName())));
+        return new CompiledFieldAccessStrategy(getter, setter, generatedSetter == null ? fallback.primitiveSetter : null);
+    }
+
+    @Override
+    public Object getValue(Field field, Object obj) {
+        return getter.apply(obj);
+    }
+
+    @Override
+    public void setValue(Field field, Object obj, Object value) {
+        setter.accept(obj, value);
+    }
+
+    BiConsumer<Object, Object> getSetter() {
+        return setter;
+    }
+
+    /**
+     * @return setter taking unboxed values or null if the field isn't an int, long, double or boolean (or can only be
+     * set reflectively)
+     */
+    PrimitiveSetter getPrimitiveSetter() {
+        return primitiveSetter;
+    }
+
+    private static Function<Object, Object> unwrapOptional(Class<?> type, Function<Object, Object> getter) {
+        if (Optional.class.isAssignableFrom(type)) {
+            return obj -> {
+                Optional<?> result = (Optional<?>) getter.apply(obj);
+                return result == null ? null : result.orElse(null);
+            };
+        }
+
+        if (type.isAssignableFrom(Optional.class)) {
+            // declared type is too generic to decide upfront
+            return obj -> {
+                Object result = getter.apply(obj);
+                return result instanceof Optional ? ((Optional<?>) result).orElse(null) : result;
+            };
+        }
+
+        return getter;
+    }
+
+    private static BiConsumer<Object, Object> widenPrimitives(Class<?> type, BiConsumer<Object, Object> setter) {
+        if (!type.isPrimitive()) {
+            return setter;
+        }
+
+        Class<?> wrapperType = ClassUtils.primitiveToWrapper(type);
+        return (obj, value) -> setter.accept(obj, value == null || wrapperType.isInstance(value) ? value : widen(value, type));
+    }
+
+    /**
+     * Applies the primitive widening conversions {@link Field#set} and {@link Method#invoke} would apply, since
+     * compiled setters only accept the exact wrapper type.
+     */
+    private static Object widen(Object value, Class<?> type) {
+        if (!ClassUtils.isAssignable(value.getClass(), type, true)) {
+            return value;
+        }
+
+        Number number = value instanceof Character ? Integer.valueOf((Character) value) : (Number) value;
+        if (long.class.equals(type)) {
+            return number.longValue();
+        } else if (int.class.equals(type)) {
+            return number.intValue();
+        } else if (short.class.equals(type)) {
+            return number.shortValue();
+        } else if (float.class.equals(type)) {
+            return number.floatValue();
+        } else if (double.class.equals(type)) {
+            return number.doubleValue();
+        }
+
+        return value;
+    }
+
+    private static Function<Object, Object> guard(Function<Object, Object> getter, String message) {
+        return obj -> {
+            try {
+                return getter.apply(obj);
+            } catch (RuntimeException e) {
+                throw failure(message, e);
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> guard(BiConsumer<Object, Object> setter, String message) {
+        return (obj, value) -> {
+            try {
+                setter.accept(obj, value);
+            } catch (RuntimeException e) {
+                throw failure(message, e);
+            }
+        };
+    }
+
+    private static Function<Object, Object> createFieldGetter(Field field) {
+        field.setAccessible(true);
+        try {
+            MethodHandle handle = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+            return obj -> {
+                try {
+                    return (Object) handle.invokeExact(obj);
+                } catch (Throwable t) {
+                    throw failure(Form.at("Error extracting bean value for field {}", field.getName()), t);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new SuperCsvReflectionException(Form.at("Error extracting bean value for field {}", field.getName()), e);
+        }
+    }
+
+    private static BiConsumer<Object, Object> createFieldSetter(Field field) {
+        field.setAccessible(true);
+        try {
+            MethodHandle handle = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+            return (obj, value) -> {
+                try {
+                    handle.invokeExact(obj, value);
+                } catch (Throwable t) {
+                    throw failure(Form.at("Cannot set value on field '{}'", field.getName()), t);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            // final fields can only be written reflectively
+            return (obj, value) -> {
+                try {
+                    field.set(obj, value);
+                } catch (IllegalAccessException | RuntimeException ex) {
+                    throw failure(Form.at("Cannot set value on field '{}'", field.getName()), ex);
+                }
+            };
+        }
+    }
+
+    private static PrimitiveSetter createPrimitiveFieldSetter(Field field) {
+        if (!field.getType().isPrimitive()) {
+            return null;
+        }
+
+        try {
+            return PrimitiveSetter.of(LOOKUP.unreflectSetter(field), Form.at("Cannot set value on field '{}'", field.getName()));
+        } catch (IllegalAccessException e) {
+            // final fields can only be written reflectively
+            return null;
+        }
+    }
+
+    private static PrimitiveSetter createPrimitivePropertySetter(Field field, Method writeMethod) {
+        if (!writeMethod.getParameterTypes()[0].isPrimitive()) {
+            return null;
+        }
+
+        String message = Form.at("Cannot set value via setter on field '{}'", field.getName());
+        return PrimitiveSetter.of(unreflect(writeMethod, message), message);
+    }
+
+    private static Function<Object, Object> createPropertyGetter(Field field, Method readMethod) {
+        String message = Form.at("Error extracting bean value via getter for field {}", field.getName());
+        Function<Object, Object> getter = null;
+        if (isLinkable(readMethod)) {
+            getter = linkGetter(readMethod);
+        }
+
+        if (getter == null) {
+            MethodHandle handle = unreflect(readMethod, message).asType(GETTER_TYPE);
+            return obj -> {
+                try {
+                    return (Object) handle.invokeExact(obj);
+                } catch (Throwable t) {
+                    throw failure(message, t);
+                }
+            };
+        }
+
+        return guard(getter, message);
+    }
+
+    private static BiConsumer<Object, Object> createPropertySetter(Field field, Method writeMethod) {
+        String message = Form.at("Cannot set value via setter on field '{}'", field.getName());
+        BiConsumer<Object, Object> setter = null;
+        if (isLinkable(writeMethod)) {
+            setter = linkSetter(writeMethod);
+        }
+
+        if (setter == null) {
+            MethodHandle handle = unreflect(writeMethod, message).asType(SETTER_TYPE);
+            return (obj, value) -> {
+                try {
+                    handle.invokeExact(obj, value);
+                } catch (Throwable t) {
+                    throw failure(message, t);
+                }
+            };
+        }
+
+        return guard(setter, message);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> linkGetter(Method readMethod) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(readMethod);
+            MethodType instantiatedType = MethodType.methodType(ClassUtils.primitiveToWrapper(readMethod.getReturnType()),
+                    readMethod.getDeclaringClass());
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+                    GETTER_TYPE, handle, instantiatedType);
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable t) {
+            // fall back to plain method handles
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> linkSetter(Method writeMethod) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(writeMethod);
+            MethodType instantiatedType = MethodType.methodType(void.class, writeMethod.getDeclaringClass(),
+                    ClassUtils.primitiveToWrapper(writeMethod.getParameterTypes()[0]));
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+                    SETTER_TYPE, handle, instantiatedType);
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable t) {
+            // fall back to plain method handles
+            return null;
+        }
+    }
+
+    /**
+     * LambdaMetafactory-classes are linked against this library's classloader and can only call methods that are
+     * publicly visible from there.
+     */
+    private static boolean isLinkable(Method method) {
+        if (!Modifier.isPublic(method.getModifiers())) {
+            return false;
+        }
+
+        for (Class<?> type = method.getDeclaringClass(); type != null; type = type.getEnclosingClass()) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+
+        try {
+            Class<?> declaringClass = method.getDeclaringClass();
+            return Class.forName(declaringClass.getName(), false, CompiledFieldAccessStrategy.class.getClassLoader()) == declaringClass;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle unreflect(Method method, String message) {
+        method.setAccessible(true);
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new SuperCsvReflectionException(message, e);
+        }
+    }
+
+    private static RuntimeException failure(String message, Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+
+        return new SuperCsvReflectionException(message, t);
+    }
+}
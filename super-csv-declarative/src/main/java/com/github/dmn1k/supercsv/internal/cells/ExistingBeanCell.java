@@ -15,21 +15,40 @@
  */
 package com.github.dmn1k.supercsv.internal.cells;
 
+import com.github.dmn1k.supercsv.io.declarative.CsvField;
+import com.github.dmn1k.supercsv.model.CellProcessorFactory;
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 
 class ExistingBeanCell implements BeanCell {
 
     private final FieldAccessStrategy fieldAccessStrategy;
     private final Field field;
+    private final List<CellProcessorFactory> processorFactories;
     private final CellProcessor cellProcessor;
+    private final List<Closeable> closeables = new ArrayList<>();
+    private final boolean stateful;
 
-    public ExistingBeanCell(Field field, CellProcessor cellProcessor, FieldAccessStrategy fieldAccessStrategy) {
+    public ExistingBeanCell(Field field, List<CellProcessorFactory> processorFactories, boolean stateful, FieldAccessStrategy fieldAccessStrategy) {
         this.field = field;
-        this.cellProcessor = cellProcessor;
+        this.processorFactories = processorFactories;
+        this.stateful = stateful;
+        this.cellProcessor = BeanCellProcessorExtractor.buildProcessorChain(processorFactories, closeables);
         this.fieldAccessStrategy = fieldAccessStrategy;
     }
 
+    /**
+     * @return a cell sharing field and accessors but with a newly created processor chain
+     */
+    ExistingBeanCell withFreshProcessor() {
+        return new ExistingBeanCell(field, processorFactories, stateful, fieldAccessStrategy);
+    }
+
     @Override
     public CellProcessor getProcessor() {
         return cellProcessor;
@@ -50,4 +69,54 @@ class ExistingBeanCell implements BeanCell {
         return field.getType();
     }
 
+    String getName() {
+        return field.getName();
+    }
+
+    /**
+     * @return name of the column in the header (see {@link CsvField#name()})
+     */
+    String getColumnName() {
+        CsvField annotation = field.getAnnotation(CsvField.class);
+        return annotation == null || annotation.name().isEmpty() ? field.getName() : annotation.name();
+    }
+
+    /**
+     * @return true if the processor chain keeps state between rows
+     */
+    boolean isStateful() {
+        return stateful;
+    }
+
+    /**
+     * Releases the resources held by processors of the chain (e.g. values spilled by Unique)
+     *
+     * @throws IOException if a processor couldn't be closed
+     */
+    void close() throws IOException {
+        for (Closeable closeable : closeables) {
+            closeable.close();
+        }
+    }
+
+    List<CellProcessorFactory> getProcessorFactories() {
+        return processorFactories;
+    }
+
+    PrimitiveSetter getPrimitiveSetter() {
+        if (fieldAccessStrategy instanceof CompiledFieldAccessStrategy) {
+            return ((CompiledFieldAccessStrategy) fieldAccessStrategy).getPrimitiveSetter();
+        }
+
+        return null;
+    }
+
+    BiConsumer<Object, Object> getSetter() {
+        if (fieldAccessStrategy instanceof CompiledFieldAccessStrategy) {
+            return ((CompiledFieldAccessStrategy) fieldAccessStrategy).getSetter();
+        }
+
+        return this::setValue;
+    }
+
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.model.CsvBeanMapper;
+import com.github.dmn1k.supercsv.model.MappedField;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks up {@link CsvBeanMapper}s generated at compile time
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class GeneratedMappers {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratedMappers.class);
+
+    private GeneratedMappers() {
+        // no instances allowed
+    }
+
+    /**
+     * Returns the generated description of the given fields. The fields are still extracted reflectively, so mapping
+     * errors (e.g. unmapped fields in STRICT mode) are reported the same way with and without a mapper.
+     *
+     * @param beanType the bean type
+     * @param fields the reflectively extracted fields of the bean type
+     * @return the fields with their generated description or null if there is no (usable) mapper
+     */
+    static Map<Field, MappedField<?>> findFields(Class<?> beanType, List<Field> fields) {
+        CsvBeanMapper<?> mapper = find(beanType);
+        if (mapper == null) {
+            return null;
+        }
+
+        Map<Field, MappedField<?>> result = new HashMap<>();
+        for (MappedField<?> mappedField : mapper.getFields()) {
+            try {
+                result.put(mappedField.getDeclaringClass().getDeclaredField(mappedField.getName()), mappedField);
+            } catch (NoSuchFieldException e) {
+                LOGGER.warn("Generated mapper of {} is outdated (field {} is missing) and will be ignored. Please recompile the bean.",
+                        beanType.getName(), mappedField.getName());
+                return null;
+            }
+        }
+
+        if (!result.keySet().equals(new HashSet<>(fields))) {
+            LOGGER.warn("Generated mapper of {} is outdated (mapped fields differ) and will be ignored. Please recompile the bean.",
+                    beanType.getName());
+            return null;
+        }
+
+        return result;
+    }
+
+    private static CsvBeanMapper<?> find(Class<?> beanType) {
+        ClassLoader classLoader = beanType.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+
+        try {
+            Class<?> mapperType = Class.forName(CsvBeanMapper.mapperNameFor(beanType), true, classLoader);
+            CsvBeanMapper<?> mapper = (CsvBeanMapper<?>) mapperType.newInstance();
+            return beanType.equals(mapper.getBeanType()) ? mapper : null;
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (InstantiationException | IllegalAccessException | ClassCastException | LinkageError e) {
+            LOGGER.warn("Generated mapper of {} can't be used: {}", beanType.getName(), e.getMessage());
+            return null;
+        }
+    }
+}
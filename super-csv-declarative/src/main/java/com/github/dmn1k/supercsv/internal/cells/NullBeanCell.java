@@ -20,9 +20,14 @@ import org.supercsv.cellprocessor.ift.CellProcessor;
 
 class NullBeanCell implements BeanCell {
 
+    static final NullBeanCell INSTANCE = new NullBeanCell();
+
+    // stateless, so it can be shared by all unmapped cells
+    private static final CellProcessor PROCESSOR = new Optional();
+
     @Override
     public CellProcessor getProcessor() {
-        return new Optional();
+        return PROCESSOR;
     }
 
     @Override
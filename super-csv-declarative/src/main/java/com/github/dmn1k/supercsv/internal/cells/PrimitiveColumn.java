@@ -0,0 +1,218 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.internal.typeconversion.StringDoubleConverter;
+import com.github.dmn1k.supercsv.internal.typeconversion.StringIntConverter;
+import com.github.dmn1k.supercsv.internal.typeconversion.StringLongConverter;
+import com.github.dmn1k.supercsv.internal.typeconversion.TypeConverter;
+import com.github.dmn1k.supercsv.internal.typeconversion.TypeConverterRegistry;
+import org.supercsv.cellprocessor.ParseBool;
+import org.supercsv.cellprocessor.ParseDouble;
+import org.supercsv.cellprocessor.ParseInt;
+import org.supercsv.cellprocessor.ParseLong;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Binds a raw column directly into an int, long, double or boolean field without creating a boxed intermediate. Only
+ * columns whose whole processor chain is the matching parse-processor (e.g. {@link ParseInt} for an int) or which have
+ * no processors and are converted by the default converter qualify. Everything the fast path can't handle (null, values
+ * which can't be parsed) is passed through {@link #process(Object, CsvContext)} and bound the regular way, so errors
+ * are exactly those of the parse-processor or converter. Not thread-safe.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+abstract class PrimitiveColumn {
+
+    protected final PrimitiveSetter setter;
+    protected final CellProcessor parser;
+    private final Class<?> conventionalConverterType;
+
+    private TypeConverterRegistry registry;
+    private int registryVersion;
+    private boolean conventional;
+
+    private PrimitiveColumn(PrimitiveSetter setter, CellProcessor parser, Class<?> conventionalConverterType) {
+        this.setter = setter;
+        this.parser = parser;
+        this.conventionalConverterType = conventionalConverterType;
+    }
+
+    /**
+     * @param cell the cell to bind
+     * @return the column or null if the cell doesn't qualify for primitive binding
+     */
+    static PrimitiveColumn create(ExistingBeanCell cell) {
+        PrimitiveSetter setter = cell.getPrimitiveSetter();
+        if (setter == null || cell.getProcessorFactories().size() > 1) {
+            return null;
+        }
+
+        CellProcessor parser = cell.getProcessorFactories().isEmpty() ? null : cell.getProcessor();
+        Class<?> type = setter.getType();
+        if (int.class == type && isParser(parser, ParseInt.class)) {
+            return new IntColumn(setter, parser);
+        } else if (long.class == type && isParser(parser, ParseLong.class)) {
+            return new LongColumn(setter, parser);
+        } else if (double.class == type && isParser(parser, ParseDouble.class)) {
+            return new DoubleColumn(setter, parser);
+        } else if (boolean.class == type && parser != null && parser.getClass() == ParseBool.class) {
+            // there is no default converter from String to boolean
+            return new BooleanColumn(setter, parser);
+        }
+
+        return null;
+    }
+
+    private static boolean isParser(CellProcessor parser, Class<? extends CellProcessor> parserType) {
+        return parser == null || parser.getClass() == parserType;
+    }
+
+    /**
+     * Sets the raw value on the bean if it can be done without boxing
+     *
+     * @param bean the bean to populate
+     * @param value the raw column value
+     * @param context context of the current column
+     * @param typeConverterRegistry the reader's converters
+     * @return false if the value has to be bound the regular way after {@link #process(Object, CsvContext) processing}
+     */
+    abstract boolean bind(Object bean, Object value, CsvContext context, TypeConverterRegistry typeConverterRegistry);
+
+    /**
+     * @param value the raw column value
+     * @param context context of the current column
+     * @return the value as the regular processor chain would have produced it
+     */
+    Object process(Object value, CsvContext context) {
+        return parser == null ? value : parser.execute(value, context);
+    }
+
+    /**
+     * @return true if the given String may be parsed by this column (instead of the parser or a registered converter)
+     */
+    protected boolean accepts(Object value, TypeConverterRegistry typeConverterRegistry) {
+        if (!(value instanceof String)) {
+            return false;
+        }
+
+        if (parser != null) {
+            return true;
+        }
+
+        if (registry != typeConverterRegistry || registryVersion != typeConverterRegistry.getVersion()) {
+            registry = typeConverterRegistry;
+            registryVersion = typeConverterRegistry.getVersion();
+            TypeConverter<String, ?> converter = typeConverterRegistry.getConverter(String.class, setter.getType());
+            // custom converters may parse differently
+            conventional = converter != null && converter.getClass() == conventionalConverterType;
+        }
+
+        return conventional;
+    }
+
+    private static final class IntColumn extends PrimitiveColumn {
+
+        IntColumn(PrimitiveSetter setter, CellProcessor parser) {
+            super(setter, parser, StringIntConverter.class);
+        }
+
+        @Override
+        boolean bind(Object bean, Object value, CsvContext context, TypeConverterRegistry typeConverterRegistry) {
+            if (!accepts(value, typeConverterRegistry)) {
+                return false;
+            }
+
+            int parsed;
+            try {
+                parsed = Integer.parseInt((String) value);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+
+            setter.setInt(bean, parsed);
+            return true;
+        }
+    }
+
+    private static final class LongColumn extends PrimitiveColumn {
+
+        LongColumn(PrimitiveSetter setter, CellProcessor parser) {
+            super(setter, parser, StringLongConverter.class);
+        }
+
+        @Override
+        boolean bind(Object bean, Object value, CsvContext context, TypeConverterRegistry typeConverterRegistry) {
+            if (!accepts(value, typeConverterRegistry)) {
+                return false;
+            }
+
+            long parsed;
+            try {
+                parsed = Long.parseLong((String) value);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+
+            setter.setLong(bean, parsed);
+            return true;
+        }
+    }
+
+    private static final class DoubleColumn extends PrimitiveColumn {
+
+        DoubleColumn(PrimitiveSetter setter, CellProcessor parser) {
+            super(setter, parser, StringDoubleConverter.class);
+        }
+
+        @Override
+        boolean bind(Object bean, Object value, CsvContext context, TypeConverterRegistry typeConverterRegistry) {
+            if (!accepts(value, typeConverterRegistry)) {
+                return false;
+            }
+
+            double parsed;
+            try {
+                parsed = Double.parseDouble((String) value);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+
+            setter.setDouble(bean, parsed);
+            return true;
+        }
+    }
+
+    private static final class BooleanColumn extends PrimitiveColumn {
+
+        BooleanColumn(PrimitiveSetter setter, CellProcessor parser) {
+            super(setter, parser, null);
+        }
+
+        @Override
+        boolean bind(Object bean, Object value, CsvContext context, TypeConverterRegistry typeConverterRegistry) {
+            if (!accepts(value, typeConverterRegistry)) {
+                return false;
+            }
+
+            // ParseBool only returns the cached Boolean-constants and keeps its configured values private
+            setter.setBoolean(bean, parser.<Boolean>execute(value, context));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.cells;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import org.supercsv.exception.SuperCsvReflectionException;
+
+/**
+ * Sets a primitive field without boxing the value. The underlying handle is adapted to take the bean as Object and the
+ * exact primitive type, so {@link MethodHandle#invokeExact} never allocates.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class PrimitiveSetter {
+
+    private final MethodHandle handle;
+    private final Class<?> type;
+    private final String failureMessage;
+
+    private PrimitiveSetter(MethodHandle handle, Class<?> type, String failureMessage) {
+        this.handle = handle;
+        this.type = type;
+        this.failureMessage = failureMessage;
+    }
+
+    /**
+     * @param handle setter- or field-handle taking the bean and a primitive value
+     * @param failureMessage message of the exception thrown if setting fails
+     * @return the setter or null if the handle doesn't take an int, long, double or boolean
+     */
+    static PrimitiveSetter of(MethodHandle handle, String failureMessage) {
+        Class<?> type = handle.type().parameterType(1);
+        if (int.class != type && long.class != type && double.class != type && boolean.class != type) {
+            return null;
+        }
+
+        return new PrimitiveSetter(handle.asType(MethodType.methodType(void.class, Object.class, type)), type, failureMessage);
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    void setInt(Object bean, int value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    void setLong(Object bean, long value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    void setDouble(Object bean, double value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    void setBoolean(Object bean, boolean value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    private RuntimeException failure(Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+
+        return new SuperCsvReflectionException(failureMessage, t);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.internal.typeconversion.TypeConverterRegistry;
+import java.util.List;
+import java.util.function.BiConsumer;
+import org.apache.commons.lang.ClassUtils;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Binds a whole processed row into a bean. All lookups (cell per column, setter per cell, accepted value type) are
+ * resolved once per bean type and context, so binding a row is a single pass over flat arrays which sets the values
+ * through the cells' accessors (see {@link ExistingBeanCell#getSetter()}). Converters are cached per cell, so a binder
+ * must not be shared between readers (see {@link BeanCells#newSession()}).
+ * <p>
+ * Columns which are only parsed into an int, long, double or boolean field (see {@link PrimitiveColumn}) are not
+ * processed by {@link #getProcessors(int)} but parsed while binding, so no boxed value is created for them. Their
+ * parse errors therefore surface after the other columns of the row have been processed.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class RowBinder {
+
+    private final Class<?>[] acceptedTypes;
+    private final BiConsumer<Object, Object>[] setters;
+    private final CellConverter[] converters;
+    private final PrimitiveColumn[] primitiveColumns;
+    private final boolean hasPrimitiveColumns;
+    private final BeanCells cells;
+    private CellProcessor[] rowProcessors = new CellProcessor[0];
+
+    @SuppressWarnings("unchecked")
+    RowBinder(BeanCells cells) {
+        this.cells = cells;
+        int width = cells.getMappedWidth();
+        this.acceptedTypes = new Class<?>[width];
+        this.setters = new BiConsumer[width];
+        this.converters = new CellConverter[width];
+        this.primitiveColumns = new PrimitiveColumn[width];
+
+        for (int i = 0; i < width; i++) {
+            BeanCell cell = cells.getMappedCell(i);
+            if (cell instanceof ExistingBeanCell) {
+                acceptedTypes[i] = ClassUtils.primitiveToWrapper(cell.getType());
+                setters[i] = ((ExistingBeanCell) cell).getSetter();
+                converters[i] = new CellConverter(cell.getType());
+                // unique keys need the processed values before binding
+                primitiveColumns[i] = cells.isKeyColumn(i) ? null : PrimitiveColumn.create((ExistingBeanCell) cell);
+            }
+        }
+
+        boolean primitives = false;
+        for (PrimitiveColumn primitiveColumn : primitiveColumns) {
+            primitives |= primitiveColumn != null;
+        }
+        this.hasPrimitiveColumns = primitives;
+    }
+
+    /**
+     * Like {@link BeanCells#getProcessors(int)} but without processors (null) for columns this binder parses itself.
+     * The array is reused for consecutive rows of the same width and must not be modified.
+     *
+     * @param width number of columns of the row
+     * @return one processor per column
+     */
+    public CellProcessor[] getProcessors(int width) {
+        CellProcessor[] processors = cells.getProcessors(width);
+        if (!hasPrimitiveColumns) {
+            return processors;
+        }
+
+        if (rowProcessors.length == width) {
+            return rowProcessors;
+        }
+
+        processors = processors.clone();
+        for (int i = 0; i < Math.min(width, primitiveColumns.length); i++) {
+            if (primitiveColumns[i] != null) {
+                processors[i] = null;
+            }
+        }
+        rowProcessors = processors;
+
+        return processors;
+    }
+
+    /**
+     * Sets all processed values on the given bean
+     *
+     * @param bean the bean to populate
+     * @param processedColumns the values of the current row processed by {@link #getProcessors(int)}
+     * @param context the context the row was processed with (its column number is modified)
+     * @param typeConverterRegistry provides converters for values whose type doesn't match the field's type
+     * @param <T> the bean type
+     * @return the populated bean
+     */
+    public <T> T bind(T bean, List<Object> processedColumns, CsvContext context, TypeConverterRegistry typeConverterRegistry) {
+        int width = Math.min(processedColumns.size(), setters.length);
+        for (int i = 0; i < width; i++) {
+            BiConsumer<Object, Object> setter = setters[i];
+            if (setter == null) {
+                continue;
+            }
+
+            Object value = processedColumns.get(i);
+            PrimitiveColumn primitiveColumn = primitiveColumns[i];
+            if (primitiveColumn != null) {
+                context.setColumnNumber(i + 1);
+                if (primitiveColumn.bind(bean, value, context, typeConverterRegistry)) {
+                    continue;
+                }
+                value = primitiveColumn.process(value, context);
+            }
+
+            if (acceptedTypes[i].isInstance(value)) {
+                setter.accept(bean, value);
+            } else {
+                setter.accept(bean, converters[i].convert(value, typeConverterRegistry));
+            }
+        }
+
+        return bean;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.internal.util.Hashes;
+import com.github.dmn1k.supercsv.internal.util.LongHashSet;
+import com.github.dmn1k.supercsv.internal.util.SpillingHashSet;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.UniqueKey;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The keys of a {@link UniqueKey} seen by a session. HASH64 and BLOOM_SPILL remember a 64-bit fingerprint of the
+ * values' Strings (BLOOM_SPILL in addition an unambiguous concatenation of them), EXACT remembers the values.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class UniqueKeyCheck {
+
+    private static final long NULL_HASH = 0x9e3779b97f4a7c15L;
+
+    private final UniqueKey key;
+    private LongHashSet fingerprints;
+    private SpillingHashSet spilled;
+    private Set<List<Object>> values;
+
+    UniqueKeyCheck(UniqueKey key) {
+        this.key = key;
+    }
+
+    /**
+     * @return a check of the same key which hasn't seen any keys yet
+     */
+    UniqueKeyCheck fresh() {
+        return new UniqueKeyCheck(key);
+    }
+
+    List<String> getFieldNames() {
+        return Arrays.asList(key.value());
+    }
+
+    /**
+     * @param keyValues the processed values of the key's fields
+     * @return false if the key was seen already
+     * @throws IOException if spilled keys couldn't be written or read
+     * @throws IllegalStateException if the keys exceed the memory limit
+     */
+    boolean add(Object[] keyValues) throws IOException {
+        switch (key.strategy()) {
+            case HASH64:
+                if (fingerprints == null) {
+                    fingerprints = new LongHashSet(key.maxMemory(), key.expectedCount());
+                }
+                return fingerprints.add(fingerprint(keyValues));
+            case BLOOM_SPILL:
+                if (spilled == null) {
+                    spilled = new SpillingHashSet(key.maxMemory(), key.expectedCount());
+                }
+                return spilled.add(fingerprint(keyValues), concatenate(keyValues));
+            default:
+                if (values == null) {
+                    values = new HashSet<>();
+                }
+                return values.add(Arrays.asList(keyValues.clone()));
+        }
+    }
+
+    /**
+     * Deletes the keys spilled to disk (if any)
+     */
+    void close() throws IOException {
+        if (spilled != null) {
+            spilled.close();
+        }
+    }
+
+    private static long fingerprint(Object[] keyValues) {
+        long hash = 0;
+        for (Object value : keyValues) {
+            hash = Hashes.mix(hash * 31 + (value == null ? NULL_HASH : Hashes.hash64(value.toString())));
+        }
+
+        return hash;
+    }
+
+    /**
+     * Length-prefixes every value, so that e.g. ("a,b", "c") and ("a", "b,c") differ
+     */
+    private static String concatenate(Object[] keyValues) {
+        StringBuilder builder = new StringBuilder();
+        for (Object value : keyValues) {
+            if (value == null) {
+                builder.append("-;");
+            } else {
+                String string = value.toString();
+                builder.append(string.length()).append(':').append(string);
+            }
+        }
+
+        return builder.toString();
+    }
+}
@@ -15,8 +15,10 @@
  */
 package com.github.dmn1k.supercsv.internal.typeconversion;
 
+import com.github.dmn1k.supercsv.internal.util.Form;
 import java.util.HashMap;
 import java.util.Map;
+import org.supercsv.exception.SuperCsvException;
 
 /**
  * Holds a list of known TypeConverters
@@ -26,6 +28,7 @@ import java.util.Map;
 public class TypeConverterRegistry {
 
     private final Map<RegistryKey, TypeConverter<?, ?>> converters = new HashMap<>();
+    private int version;
 
     public final <I, O> TypeConverter<I, O> getConverter(Class<I> inputClass, Class<O> outputClass) {
         if (String.class.equals(inputClass) && outputClass.isEnum()) {
@@ -44,9 +47,38 @@ public class TypeConverterRegistry {
         return (TypeConverter<I, O>) converters.get(new RegistryKey(Object.class, Object.class));
     }
 
+    /**
+     * Like {@link #getConverter(Class, Class)} but fails if there is no converter
+     *
+     * @param inputClass the input type
+     * @param outputClass the output type
+     * @return the converter
+     * @throws SuperCsvException if no converter is registered
+     * @since 4.1.0
+     */
+    @SuppressWarnings("unchecked")
+    public final TypeConverter<Object, Object> getRequiredConverter(Class<?> inputClass, Class<?> outputClass) {
+        TypeConverter<Object, Object> converter = (TypeConverter<Object, Object>) getConverter(inputClass, outputClass);
+        if (converter == null) {
+            throw new SuperCsvException(Form.at("No converter registered from type {} to type {}. Add one or fix your CellProcessor-annotations to return the field's type",
+                    inputClass.getName(), outputClass.getName()));
+        }
+
+        return converter;
+    }
+
     public final void register(TypeConverter<?, ?> converter, Class<?> inputClass, Class<?> outputClass) {
         converters.put(new RegistryKey(inputClass, outputClass), converter);
         converters.put(new RegistryKey(outputClass, inputClass), converter);
+        version++;
+    }
+
+    /**
+     * @return a number which changes whenever a converter is registered, so cached lookups can be invalidated
+     * @since 4.1.0
+     */
+    public final int getVersion() {
+        return version;
     }
 
     private static class RegistryKey {
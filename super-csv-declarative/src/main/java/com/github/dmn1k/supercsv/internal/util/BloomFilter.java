@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+/**
+ * Bloom filter over (well mixed) 64-bit hashes. The bit count is a power of two, probes are derived by double
+ * hashing from the two halves of the hash.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final long mask;
+    private final int probes;
+
+    /**
+     * @param maxBytes the filter uses the largest power of two bytes not greater than this
+     * @param probes number of bits set per hash
+     * @throws IllegalArgumentException if maxBytes &lt; 8 or probes &lt; 1
+     */
+    public BloomFilter(long maxBytes, int probes) {
+        if (maxBytes < Long.BYTES || probes < 1) {
+            throw new IllegalArgumentException(Form.at("invalid bloom filter of {} bytes with {} probes", maxBytes, probes));
+        }
+
+        long words = Long.highestOneBit(Math.min(maxBytes / Long.BYTES, 1 << 30));
+        this.bits = new long[(int) words];
+        this.mask = words * Long.SIZE - 1;
+        this.probes = probes;
+    }
+
+    /**
+     * @param hash the hash to add
+     */
+    public void add(long hash) {
+        long h1 = hash;
+        long h2 = hash >>> 32 | 1;
+        for (int i = 0; i < probes; i++) {
+            long bit = h1 + i * h2 & mask;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @param hash the hash to look up
+     * @return false if the hash was definitely never added
+     */
+    public boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = hash >>> 32 | 1;
+        for (int i = 0; i < probes; i++) {
+            long bit = h1 + i * h2 & mask;
+            if ((bits[(int) (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
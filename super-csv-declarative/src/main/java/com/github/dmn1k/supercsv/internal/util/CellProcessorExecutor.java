@@ -0,0 +1,138 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+import com.github.dmn1k.supercsv.cellprocessor.ViolationCollector;
+import java.util.List;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.util.CsvContext;
+import org.supercsv.util.Util;
+
+/**
+ * Allocation-free variant of {@link Util#executeCellProcessors(List, List, CellProcessor[], int, int)}: the context is
+ * reused for every row and references the source row instead of copying it. This is safe since exceptions copy their
+ * context. Not thread-safe, use one instance per reader/writer.
+ * <p>
+ * With a {@link ViolationCollector} violations don't abort the row: processors of
+ * {@link com.github.dmn1k.supercsv.cellprocessor.constraint} record them without exceptions, exceptions of other
+ * processors are caught and recorded as well (see {@link #isRejected()}).
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class CellProcessorExecutor {
+
+    private final CsvContext context = new CsvContext(1, 1, 1);
+    private final ViolationCollector collector;
+
+    /**
+     * Constructs an executor which throws the exceptions of the processors
+     */
+    public CellProcessorExecutor() {
+        this(null);
+    }
+
+    /**
+     * Constructs an executor which records violations with the given collector
+     *
+     * @param collector the collector to bind while processing, null to throw the exceptions of the processors
+     */
+    public CellProcessorExecutor(ViolationCollector collector) {
+        this.collector = collector;
+    }
+
+    /**
+     * @return the context of the row processed last. It is modified by the next call to execute.
+     */
+    public CsvContext getContext() {
+        return context;
+    }
+
+    /**
+     * @return true if a violation was recorded while processing the last row. Always false for executors which throw.
+     */
+    public boolean isRejected() {
+        return collector != null && collector.isRejected();
+    }
+
+    /**
+     * Processes each element in the source List (using the corresponding processor chain in the processors array) and
+     * adds it to the destination List.
+     *
+     * @param destination the List to add the processed elements to (will be cleared)
+     * @param source the List of source elements to be processed
+     * @param processors the array of CellProcessors used to process each element
+     * @param lineNo the current line number
+     * @param rowNo the current row number
+     * @throws SuperCsvException if source.size() != processors.length, or CellProcessor encounters an error
+     */
+    @SuppressWarnings("unchecked")
+    public void execute(final List<Object> destination, final List<?> source, final CellProcessor[] processors,
+            final int lineNo, final int rowNo) {
+        context.setLineNumber(lineNo);
+        context.setRowNumber(rowNo);
+        context.setColumnNumber(1);
+        context.setRowSource((List<Object>) source);
+
+        if (source.size() != processors.length) {
+            throw new SuperCsvException(Form.at("The number of columns to be processed ({}) must match the number of CellProcessors ({}): "
+                    + "check that the number of CellProcessors you have defined matches the expected number of columns being read/written",
+                    source.size(), processors.length), context);
+        }
+
+        destination.clear();
+        if (collector != null) {
+            executeCollecting(destination, source, processors);
+            return;
+        }
+
+        for (int i = 0; i < processors.length; i++) {
+            context.setColumnNumber(i + 1);
+
+            if (processors[i] == null) {
+                destination.add(source.get(i));
+            } else {
+                destination.add(processors[i].execute(source.get(i), context));
+            }
+        }
+    }
+
+    private void executeCollecting(final List<Object> destination, final List<?> source, final CellProcessor[] processors) {
+        collector.startRow();
+        ViolationCollector previous = ViolationCollector.bind(collector);
+        try {
+            for (int i = 0; i < processors.length; i++) {
+                context.setColumnNumber(i + 1);
+
+                if (processors[i] == null) {
+                    destination.add(source.get(i));
+                    continue;
+                }
+
+                try {
+                    destination.add(processors[i].execute(source.get(i), context));
+                } catch (SuperCsvCellProcessorException e) {
+                    // processors which don't know the collector
+                    destination.add(collector.reject(e.getProcessor(), context, e.getMessage()));
+                }
+            }
+        } finally {
+            ViolationCollector.bind(previous);
+        }
+    }
+}
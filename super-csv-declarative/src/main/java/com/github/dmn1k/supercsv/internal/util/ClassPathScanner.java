@@ -0,0 +1,117 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * Finds the classes of a package (including subpackages) in directories and jar files of a class loader.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class ClassPathScanner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassPathScanner.class);
+    private static final String CLASS_SUFFIX = ".class";
+
+    private ClassPathScanner() {
+        // no instances allowed
+    }
+
+    /**
+     * Returns all classes of the given package and its subpackages. Classes are not initialized.
+     *
+     * @param packageName the package to scan
+     * @param classLoader the class loader to scan
+     * @return the classes sorted by name
+     * @throws SuperCsvException if the class path can't be read
+     */
+    public static List<Class<?>> findClasses(String packageName, ClassLoader classLoader) {
+        String path = packageName.replace('.', '/');
+        TreeSet<String> classNames = new TreeSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(path);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                URLConnection connection = resource.openConnection();
+                if (connection instanceof JarURLConnection) {
+                    connection.setUseCaches(false);
+                    try (JarFile jarFile = ((JarURLConnection) connection).getJarFile()) {
+                        collectFromJar(jarFile, path, classNames);
+                    }
+                } else if ("file".equals(resource.getProtocol())) {
+                    collectFromDirectory(new File(resource.toURI()), packageName, classNames);
+                } else {
+                    LOGGER.warn("Can't scan {}: unsupported protocol", resource);
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new SuperCsvException(Form.at("Can't scan package {}: {}", packageName, e.getMessage()), null, e);
+        }
+
+        List<Class<?>> result = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                result.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOGGER.debug("Skipping {}: {}", className, e.toString());
+            }
+        }
+
+        return result;
+    }
+
+    private static void collectFromJar(JarFile jarFile, String path, TreeSet<String> classNames) {
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (name.startsWith(path + "/") && name.endsWith(CLASS_SUFFIX)) {
+                classNames.add(name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'));
+            }
+        }
+    }
+
+    private static void collectFromDirectory(File directory, String packageName, TreeSet<String> classNames) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+            if (file.isDirectory()) {
+                collectFromDirectory(file, packageName + "." + name, classNames);
+            } else if (name.endsWith(CLASS_SUFFIX)) {
+                classNames.add(packageName + "." + name.substring(0, name.length() - CLASS_SUFFIX.length()));
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream whose {@link #available()} only returns 0 at the end of the stream. It blocks until a byte was read
+ * ahead instead.
+ * <p>
+ * {@link java.util.zip.GZIPInputStream} only continues with the next member if {@link #available()} is positive (or
+ * the next header is already buffered), so it stops after a member which ends in a pipe's or socket's read.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class EofAwareInputStream extends FilterInputStream {
+
+    private static final int NONE = -2;
+
+    private int peeked = NONE;
+
+    /**
+     * @param in the stream to read, which is closed with this stream
+     */
+    public EofAwareInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (peeked == NONE) {
+            return in.read();
+        }
+
+        int result = peeked;
+        peeked = result < 0 ? result : NONE;
+        return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (peeked == NONE || len == 0) {
+            return in.read(b, off, len);
+        } else if (peeked < 0) {
+            return -1;
+        }
+
+        b[off] = (byte) peeked;
+        peeked = NONE;
+        return 1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (peeked == NONE || n <= 0) {
+            return in.skip(n);
+        } else if (peeked < 0) {
+            return 0;
+        }
+
+        peeked = NONE;
+        return 1;
+    }
+
+    /**
+     * @return the number of bytes which can be read without blocking, but at least 1 unless the end of the stream
+     * is reached
+     * @throws IOException if an I/O error occurred
+     */
+    @Override
+    public int available() throws IOException {
+        if (peeked == NONE) {
+            int available = in.available();
+            if (available > 0) {
+                return available;
+            }
+            peeked = in.read();
+        }
+
+        return peeked < 0 ? 0 : 1;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
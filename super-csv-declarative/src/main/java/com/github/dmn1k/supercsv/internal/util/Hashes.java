@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+/**
+ * 64-bit hashing for the memory-bounded unique constraints, where 32-bit hash codes would collide too often
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class Hashes {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashes() {
+        // no instances allowed
+    }
+
+    /**
+     * @param value the value to hash
+     * @return FNV-1a of the chars, finished with {@link #mix(long)}
+     */
+    public static long hash64(CharSequence value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * Spreads the bits of a hash (the finalizer of MurmurHash3)
+     *
+     * @param hash the hash to mix
+     * @return the mixed hash
+     */
+    public static long mix(long hash) {
+        hash = (hash ^ hash >>> 33) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ hash >>> 33) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ hash >>> 33;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+/**
+ * Set of primitive longs with open addressing and linear probing, which grows up to a memory limit. The table is
+ * doubled once it is half full; the largest table within the limit is filled up to three quarters, so a limit of
+ * {@code n} bytes holds up to {@code 3n / 32} values (100 million values need 1 GB).
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class LongHashSet {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long EMPTY = 0L;
+
+    private final long maxMemory;
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean containsEmpty;
+
+    /**
+     * @param maxMemory maximum size of the table in bytes
+     * @throws IllegalArgumentException if maxMemory doesn't allow any values
+     */
+    public LongHashSet(long maxMemory) {
+        this(maxMemory, 0);
+    }
+
+    /**
+     * @param maxMemory maximum size of the table in bytes
+     * @param expectedCount number of values the table is sized for up front (as far as maxMemory allows), 0 if unknown
+     * @throws IllegalArgumentException if maxMemory doesn't allow any values
+     */
+    public LongHashSet(long maxMemory, long expectedCount) {
+        if (maxMemory < INITIAL_CAPACITY * Long.BYTES) {
+            throw new IllegalArgumentException(Form.at("maxMemory should be at least {} bytes", INITIAL_CAPACITY * Long.BYTES));
+        }
+        this.maxMemory = maxMemory;
+
+        int capacity = INITIAL_CAPACITY;
+        while (capacity / 2 < expectedCount && canGrow(capacity)) {
+            capacity *= 2;
+        }
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @param value the value to add
+     * @return false if the value was contained already
+     * @throws IllegalStateException if the table would exceed the memory limit
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+
+        int index = (int) Hashes.mix(value) & mask;
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return false;
+            }
+            index = index + 1 & mask;
+        }
+
+        table[index] = value;
+        if (++size > table.length / 2) {
+            if (canGrow(table.length)) {
+                grow();
+            } else if (size > table.length / 4 * 3) {
+                throw new IllegalStateException(Form.at("{} distinct values exceed the memory limit of {} bytes", size, maxMemory));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    private boolean canGrow(int capacity) {
+        return (long) capacity * 2 * Long.BYTES <= maxMemory && capacity < 1 << 30;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        mask = table.length - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = (int) Hashes.mix(value) & mask;
+                while (table[index] != EMPTY) {
+                    index = index + 1 & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+}
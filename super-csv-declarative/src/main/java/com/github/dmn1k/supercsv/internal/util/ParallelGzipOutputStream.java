@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses blocks of the written bytes in parallel, each as a gzip member of its own. The members are written in
+ * order, so the result is a valid multi-member gzip file which standard gzip readers (including
+ * {@link java.util.zip.GZIPInputStream}) decompress as a whole.
+ * <p>
+ * {@link #flush()} only flushes members which are already compressed. Pending bytes are compressed when a block is
+ * full or on {@link #close()}, so that flushing doesn't produce many tiny members.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class ParallelGzipOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final ExecutorService workers;
+    private final int maxPending;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private byte[] block;
+    private int count;
+    private boolean membersWritten;
+    private boolean closed;
+
+    /**
+     * @param out the stream to write the compressed members to, which is closed with this stream
+     * @param blockSize number of uncompressed bytes per member
+     * @param workers number of threads compressing blocks
+     */
+    public ParallelGzipOutputStream(OutputStream out, int blockSize, int workers) {
+        AtomicInteger threads = new AtomicInteger();
+        this.out = out;
+        this.block = new byte[blockSize];
+        this.maxPending = 2 * workers;
+        this.workers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "csv-gzip-worker-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[count++] = (byte) b;
+        if (count == block.length) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            int length = Math.min(remaining, block.length - count);
+            System.arraycopy(b, offset, block, count, length);
+            count += length;
+            offset += length;
+            remaining -= length;
+
+            if (count == block.length) {
+                submitBlock();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        while (!pending.isEmpty() && pending.peek().isDone()) {
+            writeMember(pending.poll());
+        }
+        out.flush();
+    }
+
+    /**
+     * Compresses the pending bytes, writes all members and closes the underlying stream
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (count > 0 || !membersWritten && pending.isEmpty()) {
+                submitBlock();
+            }
+            while (!pending.isEmpty()) {
+                writeMember(pending.poll());
+            }
+        } finally {
+            workers.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("stream is closed");
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = block;
+        int length = count;
+        pending.add(workers.submit(() -> compress(data, length)));
+        block = new byte[block.length];
+        count = 0;
+
+        if (pending.size() >= maxPending) {
+            writeMember(pending.poll());
+        }
+    }
+
+    private void writeMember(Future<byte[]> member) throws IOException {
+        try {
+            out.write(member.get());
+            membersWritten = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while compressing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("compressing failed", e.getCause());
+        }
+    }
+
+    private static byte[] compress(byte[] data, int length) throws IOException {
+        ByteArrayOutputStream member = new ByteArrayOutputStream(length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(member, 64 * 1024)) {
+            gzip.write(data, 0, length);
+        }
+        return member.toByteArray();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads a stream in a background thread, a few blocks ahead of the consumer. Used to decompress input while the
+ * previous blocks are parsed.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class ReadAheadInputStream extends InputStream {
+
+    private static final byte[] END = new byte[0];
+
+    private final InputStream source;
+    private final int blockSize;
+    private final BlockingQueue<byte[]> blocks;
+    private final Thread thread;
+    private volatile IOException failure;
+    private byte[] current = new byte[0];
+    private int position;
+    private volatile boolean closed;
+
+    /**
+     * Starts reading the source in a daemon thread
+     *
+     * @param source the stream to read, which is closed with this stream
+     * @param blockSize number of bytes read at once
+     * @param blocksAhead number of blocks which may be read ahead
+     * @param threadName name of the reading thread
+     */
+    public ReadAheadInputStream(InputStream source, int blockSize, int blocksAhead, String threadName) {
+        this.source = source;
+        this.blockSize = blockSize;
+        this.blocks = new ArrayBlockingQueue<>(blocksAhead);
+        this.thread = new Thread(this::readAhead, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void readAhead() {
+        try {
+            while (true) {
+                byte[] block = new byte[blockSize];
+                int length = 0;
+                int read = 0;
+                while (length < block.length && (read = source.read(block, length, block.length - length)) >= 0) {
+                    length += read;
+                }
+
+                if (length > 0) {
+                    blocks.put(length == block.length ? block : Arrays.copyOf(block, length));
+                }
+                if (read < 0) {
+                    blocks.put(END);
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (closed) {
+                // the source was closed by the consumer
+                return;
+            } else if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            failure = (IOException) e;
+            try {
+                blocks.put(END);
+            } catch (InterruptedException interrupted) {
+                // closed by the consumer
+            }
+        } catch (InterruptedException e) {
+            // closed by the consumer
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+
+        return current[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        } else if (!ensureAvailable()) {
+            return -1;
+        }
+
+        int length = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, length);
+        position += length;
+        return length;
+    }
+
+    @Override
+    public int available() {
+        return current.length - position;
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        if (closed) {
+            throw new IOException("stream is closed");
+        }
+
+        if (position == current.length && current != END) {
+            try {
+                current = blocks.take();
+                position = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for input");
+            }
+        }
+
+        if (current == END) {
+            if (failure != null) {
+                throw failure;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Closes the source and stops the reading thread. The source is closed first, since interrupting doesn't unblock
+     * a thread reading from a socket.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        thread.interrupt();
+        try {
+            source.close();
+        } finally {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
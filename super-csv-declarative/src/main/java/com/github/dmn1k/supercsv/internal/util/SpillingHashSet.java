@@ -0,0 +1,521 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.internal.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Exact set of entries identified by a 64-bit hash and a key, whose memory is bounded. Entries are buffered in a table,
+ * which is written to a temp file as a run sorted by hash once it is full. From the first spill on a bloom filter is
+ * kept, so only adds of probable duplicates look the entry up on disk, reading a single block of each run. Every
+ * {@value #MERGE_FACTOR} runs of the same size are merged into one, so each entry is rewritten only a few times.
+ * <p>
+ * Given the expected number of entries, the filter gets at least {@value #BITS_PER_ENTRY} bits per entry (about 1%
+ * false positives) and the buffer the rest of the memory. Otherwise buffer and filter get half of the memory each,
+ * which is enough for about {@code maxMemory / 2.5} entries if that is a power of two (27 million for 64 MB); beyond
+ * that ever more adds look entries up on disk.
+ * <p>
+ * Each run keeps an index of its blocks in memory (16 bytes per {@value #BLOCK_ENTRIES} entries), which is taken from
+ * the buffer's memory. The buffer therefore spills ever earlier as runs grow, and adds fail once the initial table of
+ * 16 KB doesn't fit next to the indexes anymore, i.e. after about 4 entries per byte of the buffer (128 million
+ * entries for 64 MB without an expected count).
+ * <p>
+ * The temp files are unlinked right after they were written where the file system allows it, so they vanish once
+ * closed (explicitly or when collected); otherwise they are deleted on exit. Not thread-safe.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class SpillingHashSet implements Closeable {
+
+    private static final int MERGE_FACTOR = 8;
+    private static final int BITS_PER_ENTRY = 10;
+    private static final long MIN_BUFFER_MEMORY = 32 * 1024;
+    private static final int BLOCK_ENTRIES = 64;
+    private static final int BLOOM_PROBES = 4;
+    private static final int INITIAL_CAPACITY = 1024;
+    // hash and key reference per slot
+    private static final int SLOT_BYTES = Long.BYTES + 8;
+    // String and char[] per key
+    private static final int KEY_OVERHEAD = 40;
+
+    private final long bufferMemory;
+    private final long bloomMemory;
+
+    private long[] hashes;
+    private String[] keys;
+    private int mask;
+    private int buffered;
+    private long keyBytes;
+
+    private BloomFilter bloom;
+    private final List<Run> runs = new ArrayList<>();
+    private long indexMemory;
+    private long size;
+
+    /**
+     * @param maxMemory memory of buffer and bloom filter in bytes
+     * @throws IllegalArgumentException if maxMemory &lt; 64 KB
+     */
+    public SpillingHashSet(long maxMemory) {
+        this(maxMemory, 0);
+    }
+
+    /**
+     * @param maxMemory memory of buffer and bloom filter in bytes
+     * @param expectedCount expected number of entries to size the bloom filter for, 0 if unknown
+     * @throws IllegalArgumentException if maxMemory &lt; 64 KB or leaves less than 32 KB next to the bloom filter
+     */
+    public SpillingHashSet(long maxMemory, long expectedCount) {
+        if (maxMemory < 2 * MIN_BUFFER_MEMORY) {
+            throw new IllegalArgumentException("maxMemory should be at least 64 KB");
+        }
+
+        if (expectedCount > 0) {
+            // the filter uses a power of two bytes, round up to keep at least BITS_PER_ENTRY
+            long bits = Math.max(expectedCount, Long.SIZE) * BITS_PER_ENTRY;
+            this.bloomMemory = Long.highestOneBit(bits / Byte.SIZE - 1) * 2;
+        } else {
+            this.bloomMemory = maxMemory / 2;
+        }
+        this.bufferMemory = maxMemory - bloomMemory;
+        if (bufferMemory < MIN_BUFFER_MEMORY) {
+            throw new IllegalArgumentException(Form.at("maxMemory of {} bytes leaves no buffer next to the bloom filter of"
+                    + " {} bytes for {} entries", maxMemory, bloomMemory, expectedCount));
+        }
+        reset();
+    }
+
+    /**
+     * @param hash the entry's hash
+     * @param key the entry's key, null if entries are identified by their hash only
+     * @return false if the entry was contained already
+     * @throws IOException if spilled entries couldn't be written or read
+     * @throws IllegalStateException if the indexes of the runs leave no memory for the buffer
+     */
+    public boolean add(long hash, String key) throws IOException {
+        String k = key == null ? "" : key;
+        if (bloom != null && bloom.mightContain(hash) && runsContain(hash, k.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        if (!insert(hash, k)) {
+            return false;
+        }
+
+        size++;
+        keyBytes += KEY_OVERHEAD + 2L * k.length();
+        if (bloom != null) {
+            bloom.add(hash);
+        }
+
+        if (buffered > hashes.length / 2) {
+            if ((long) hashes.length * 2 * SLOT_BYTES + keyBytes > bufferMemory - indexMemory) {
+                spill();
+            } else {
+                rehash(hashes.length * 2);
+            }
+        } else if ((long) hashes.length * SLOT_BYTES + keyBytes > bufferMemory - indexMemory) {
+            spill();
+        }
+        return true;
+    }
+
+    /**
+     * @return number of entries
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return number of runs on disk
+     */
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Deletes all spilled entries
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Run run : runs) {
+            try {
+                run.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        runs.clear();
+        indexMemory = 0;
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean insert(long hash, String key) {
+        int index = (int) Hashes.mix(hash) & mask;
+        while (keys[index] != null) {
+            if (hashes[index] == hash && keys[index].equals(key)) {
+                return false;
+            }
+            index = index + 1 & mask;
+        }
+
+        hashes[index] = hash;
+        keys[index] = key;
+        buffered++;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHashes = hashes;
+        String[] oldKeys = keys;
+        hashes = new long[capacity];
+        keys = new String[capacity];
+        mask = capacity - 1;
+        buffered = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldHashes[i], oldKeys[i]);
+            }
+        }
+    }
+
+    private void reset() {
+        hashes = new long[INITIAL_CAPACITY];
+        keys = new String[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+        buffered = 0;
+        keyBytes = 0;
+    }
+
+    private boolean runsContain(long hash, byte[] key) throws IOException {
+        for (Run run : runs) {
+            if (run.contains(hash, key)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void spill() throws IOException {
+        if (bloom == null) {
+            // until now all entries were buffered
+            bloom = new BloomFilter(bloomMemory, BLOOM_PROBES);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    bloom.add(hashes[i]);
+                }
+            }
+        }
+
+        long[] sortedHashes = new long[buffered];
+        String[] sortedKeys = new String[buffered];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                sortedHashes[count] = hashes[i];
+                sortedKeys[count++] = keys[i];
+            }
+        }
+        reset();
+        sort(sortedHashes, sortedKeys, 0, count - 1);
+
+        RunWriter writer = new RunWriter(0);
+        try {
+            for (int i = 0; i < count; i++) {
+                writer.write(sortedHashes[i], sortedKeys[i].getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            runs.add(writer.finish());
+        }
+
+        // runs are appended, so runs of the same level are at the end
+        while (true) {
+            int level = runs.get(runs.size() - 1).level;
+            int first = runs.size();
+            while (first > 0 && runs.get(first - 1).level == level) {
+                first--;
+            }
+            if (runs.size() - first < MERGE_FACTOR) {
+                break;
+            }
+            merge(runs.subList(first, runs.size()), level + 1);
+        }
+
+        indexMemory = 0;
+        for (Run run : runs) {
+            indexMemory += run.indexMemory();
+        }
+        if (bufferMemory - indexMemory < (long) INITIAL_CAPACITY * SLOT_BYTES) {
+            throw new IllegalStateException(Form.at("{} distinct values exceed the memory limit of {} bytes", size,
+                    bufferMemory + bloomMemory));
+        }
+    }
+
+    /**
+     * Replaces the given runs by a single run of the given level
+     */
+    private void merge(List<Run> merging, int level) throws IOException {
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>((a, b) -> Long.compare(a.hash, b.hash));
+        for (Run run : merging) {
+            Cursor cursor = new Cursor(run);
+            if (cursor.next()) {
+                cursors.add(cursor);
+            }
+        }
+
+        RunWriter writer = new RunWriter(level);
+        Run merged;
+        try {
+            while (!cursors.isEmpty()) {
+                Cursor cursor = cursors.poll();
+                writer.write(cursor.hash, cursor.key);
+                if (cursor.next()) {
+                    cursors.add(cursor);
+                }
+            }
+        } finally {
+            merged = writer.finish();
+        }
+
+        for (Run run : merging) {
+            run.close();
+        }
+        merging.clear();
+        runs.add(merged);
+    }
+
+    /**
+     * Sorts both arrays by hash (quicksort, the hashes are well distributed)
+     */
+    private static void sort(long[] hashes, String[] keys, int low, int high) {
+        while (low < high) {
+            long pivot = hashes[low + (high - low) / 2];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (hashes[i] < pivot) {
+                    i++;
+                }
+                while (hashes[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    long hash = hashes[i];
+                    hashes[i] = hashes[j];
+                    hashes[j] = hash;
+                    String key = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = key;
+                    i++;
+                    j--;
+                }
+            }
+
+            // recurse into the smaller part
+            if (j - low < high - i) {
+                sort(hashes, keys, low, j);
+                low = i;
+            } else {
+                sort(hashes, keys, i, high);
+                high = j;
+            }
+        }
+    }
+
+    /**
+     * Writes entries (hash, key length, UTF-8 key) and remembers the first hash and offset of each block
+     */
+    private static final class RunWriter {
+
+        private final int level;
+        private final File file;
+        private final DataOutputStream out;
+        private long offset;
+        private long entries;
+        private long[] blockHashes = new long[16];
+        private long[] blockOffsets = new long[16];
+        private int blocks;
+
+        RunWriter(int level) throws IOException {
+            this.level = level;
+            this.file = File.createTempFile("super-csv-unique", ".run");
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        }
+
+        void write(long hash, byte[] key) throws IOException {
+            if (entries++ % BLOCK_ENTRIES == 0) {
+                if (blocks == blockHashes.length) {
+                    blockHashes = Arrays.copyOf(blockHashes, blocks * 2);
+                    blockOffsets = Arrays.copyOf(blockOffsets, blocks * 2);
+                }
+                blockHashes[blocks] = hash;
+                blockOffsets[blocks++] = offset;
+            }
+
+            out.writeLong(hash);
+            out.writeInt(key.length);
+            out.write(key);
+            offset += Long.BYTES + Integer.BYTES + key.length;
+        }
+
+        Run finish() throws IOException {
+            out.close();
+            FileInputStream in = new FileInputStream(file);
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+
+            return new Run(level, in, offset, entries, Arrays.copyOf(blockHashes, blocks), Arrays.copyOf(blockOffsets, blocks));
+        }
+    }
+
+    private static final class Run implements Closeable {
+
+        // number of merges the entries went through
+        private final int level;
+        private final FileInputStream in;
+        private final FileChannel channel;
+        private final long length;
+        private final long entries;
+        private final long[] blockHashes;
+        private final long[] blockOffsets;
+
+        Run(int level, FileInputStream in, long length, long entries, long[] blockHashes, long[] blockOffsets) {
+            this.level = level;
+            this.in = in;
+            this.channel = in.getChannel();
+            this.length = length;
+            this.entries = entries;
+            this.blockHashes = blockHashes;
+            this.blockOffsets = blockOffsets;
+        }
+
+        long indexMemory() {
+            return (long) blockHashes.length * 2 * Long.BYTES;
+        }
+
+        boolean contains(long hash, byte[] key) throws IOException {
+            // entries with equal hashes may start in the block before the first block starting with the hash
+            int block = Math.max(0, lastBlockBefore(hash));
+            for (; block < blockOffsets.length; block++) {
+                long end = block + 1 < blockOffsets.length ? blockOffsets[block + 1] : length;
+                ByteBuffer entriesOfBlock = ByteBuffer.allocate((int) (end - blockOffsets[block]));
+                while (entriesOfBlock.hasRemaining()) {
+                    if (channel.read(entriesOfBlock, blockOffsets[block] + entriesOfBlock.position()) < 0) {
+                        throw new EOFException("run ended unexpectedly");
+                    }
+                }
+                entriesOfBlock.flip();
+
+                while (entriesOfBlock.hasRemaining()) {
+                    long entryHash = entriesOfBlock.getLong();
+                    int keyLength = entriesOfBlock.getInt();
+                    if (entryHash > hash) {
+                        return false;
+                    }
+                    if (entryHash == hash && keyLength == key.length && equalsKey(entriesOfBlock, key)) {
+                        return true;
+                    }
+                    entriesOfBlock.position(entriesOfBlock.position() + keyLength);
+                }
+            }
+
+            return false;
+        }
+
+        private int lastBlockBefore(long hash) {
+            int low = 0;
+            int high = blockHashes.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (blockHashes[mid] < hash) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            return high;
+        }
+
+        private static boolean equalsKey(ByteBuffer buffer, byte[] key) {
+            int position = buffer.position();
+            for (int i = 0; i < key.length; i++) {
+                if (buffer.get(position + i) != key[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads a run sequentially for merging
+     */
+    private static final class Cursor {
+
+        private final DataInputStream in;
+        private long remaining;
+        private long hash;
+        private byte[] key;
+
+        Cursor(Run run) throws IOException {
+            run.channel.position(0);
+            this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(run.channel), 64 * 1024));
+            this.remaining = run.entries;
+        }
+
+        boolean next() throws IOException {
+            if (remaining-- == 0) {
+                return false;
+            }
+
+            hash = in.readLong();
+            key = new byte[in.readInt()];
+            in.readFully(key);
+            return true;
+        }
+    }
+}
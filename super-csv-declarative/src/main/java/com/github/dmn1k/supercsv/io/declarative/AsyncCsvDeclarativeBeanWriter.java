@@ -0,0 +1,308 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.internal.util.Form;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.exception.SuperCsvReflectionException;
+
+/**
+ * Writes beans with a {@link CsvDeclarativeBeanWriter} in a background thread. {@link #write(Object)} only puts the
+ * bean into a bounded queue, processors and I/O run in the background thread. Beans must therefore not be modified
+ * after they were written.
+ * <p>
+ * Failures of the background thread are deferred: they are thrown by the next call to {@link #write(Object)},
+ * {@link #flush()} or {@link #close()}, and all rows queued after the failure are discarded. {@link #write(Object)}
+ * and {@link #flush()} may be called by multiple threads concurrently, but not concurrently with {@link #close()}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class AsyncCsvDeclarativeBeanWriter implements Closeable, Flushable {
+
+    // how often waiting threads check whether the background thread is still alive
+    private static final long POLL_MILLIS = 100;
+
+    private final CsvDeclarativeBeanWriter writer;
+    private final AsyncWriteOptions options;
+    private final BlockingQueue<Object> queue;
+    private final Thread thread;
+    private final AtomicLong droppedRows = new AtomicLong();
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new <tt>AsyncCsvDeclarativeBeanWriter</tt> and starts its background thread. The supplied writer
+     * must not be used otherwise afterwards; configure it (e.g. its flush policy) and write the header beforehand.
+     *
+     * @param writer the writer to write the beans with
+     * @param options capacity of the queue, backpressure and thread factory
+     * @throws NullPointerException if writer or options are null
+     */
+    public AsyncCsvDeclarativeBeanWriter(final CsvDeclarativeBeanWriter writer, final AsyncWriteOptions options) {
+        this.writer = Objects.requireNonNull(writer, "writer");
+        this.options = Objects.requireNonNull(options, "options");
+        this.queue = new ArrayBlockingQueue<>(options.getCapacity());
+
+        if (options.getThreadFactory() == null) {
+            this.thread = new Thread(this::run, "csv-writer");
+            this.thread.setDaemon(true);
+        } else {
+            this.thread = options.getThreadFactory().newThread(this::run);
+        }
+        this.thread.start();
+    }
+
+    /**
+     * Queues a bean to be written as a row (see {@link CsvDeclarativeBeanWriter#write(Object)})
+     *
+     * @param source The bean-instance to write
+     * @return false if the row was dropped because the queue is full (see {@link Backpressure#DROP})
+     * @throws IOException if writing a previous row failed with an I/O error or waiting was interrupted
+     * @throws IllegalArgumentException if source is null
+     * @throws IllegalStateException if this writer is closed
+     * @throws SuperCsvException if the queue is full (see {@link Backpressure#FAIL}) or writing a previous row failed
+     * @throws SuperCsvReflectionException if writing a previous row failed with a reflection exception
+     */
+    public boolean write(final Object source) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("source must not be null");
+        }
+        ensureOpen();
+        throwFailure();
+
+        switch (options.getBackpressure()) {
+            case BLOCK:
+                put(source);
+                return true;
+            case DROP:
+                if (queue.offer(source)) {
+                    return true;
+                }
+                droppedRows.incrementAndGet();
+                return false;
+            default:
+                if (!queue.offer(source)) {
+                    throw new SuperCsvException(Form.at("queue is full, {} rows are waiting to be written",
+                            options.getCapacity()));
+                }
+                return true;
+        }
+    }
+
+    /**
+     * Waits until all rows queued so far are written and flushes the underlying writer
+     *
+     * @throws IOException if an I/O error occurred or waiting was interrupted
+     * @throws IllegalStateException if this writer is closed
+     * @throws SuperCsvException if there was a general exception while writing/processing
+     * @throws SuperCsvReflectionException if there was an reflection exception
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+
+        Marker marker = new Marker(false);
+        put(marker);
+        while (!marker.await(POLL_MILLIS)) {
+            if (!thread.isAlive()) {
+                throwFailure();
+                throw new IOException("background thread has stopped");
+            }
+        }
+        throwFailure();
+    }
+
+    /**
+     * @return number of rows which were dropped because the queue was full
+     */
+    public long getDroppedRows() {
+        return droppedRows.get();
+    }
+
+    /**
+     * Writes all queued rows, stops the background thread and closes the underlying writer
+     *
+     * @throws IOException if an I/O error occurred or waiting was interrupted
+     * @throws SuperCsvException if there was a general exception while writing/processing
+     * @throws SuperCsvReflectionException if there was an reflection exception
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            put(new Marker(true));
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for queued rows to be written");
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+            } else {
+                failure.addSuppressed(e);
+            }
+        }
+        throwFailure();
+    }
+
+    private void run() {
+        List<Object> elements = new ArrayList<>();
+        try {
+            while (true) {
+                elements.add(queue.take());
+                queue.drainTo(elements);
+
+                int from = 0;
+                for (int i = 0; i < elements.size(); i++) {
+                    if (elements.get(i) instanceof Marker) {
+                        write(elements.subList(from, i));
+                        from = i + 1;
+
+                        Marker marker = (Marker) elements.get(i);
+                        if (marker.end) {
+                            return;
+                        }
+                        flushWriter();
+                        marker.done.countDown();
+                    }
+                }
+                write(elements.subList(from, elements.size()));
+                elements.clear();
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("background thread was interrupted");
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            releaseMarkers(elements);
+        }
+    }
+
+    /**
+     * Releases threads waiting for markers which won't be processed anymore
+     */
+    private void releaseMarkers(List<Object> elements) {
+        queue.drainTo(elements);
+        for (Object element : elements) {
+            if (element instanceof Marker) {
+                ((Marker) element).done.countDown();
+            }
+        }
+    }
+
+    private void write(List<Object> beans) {
+        if (failure != null || beans.isEmpty()) {
+            return;
+        }
+
+        try {
+            writer.writeAll(beans);
+        } catch (IOException | RuntimeException | Error e) {
+            failure = e;
+        }
+    }
+
+    private void flushWriter() {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            writer.flush();
+        } catch (IOException | RuntimeException | Error e) {
+            failure = e;
+        }
+    }
+
+    private void put(Object element) throws IOException {
+        try {
+            while (!queue.offer(element, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!thread.isAlive()) {
+                    throwFailure();
+                    throw new IOException("background thread has stopped");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for space in the queue");
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("writer is closed");
+        }
+    }
+
+    private void throwFailure() throws IOException {
+        Throwable current = failure;
+        if (current == null) {
+            return;
+        } else if (current instanceof IOException) {
+            throw (IOException) current;
+        } else if (current instanceof Error) {
+            throw (Error) current;
+        }
+
+        throw (RuntimeException) current;
+    }
+
+    private static final class Marker {
+
+        private final boolean end;
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        Marker(boolean end) {
+            this.end = end;
+        }
+
+        boolean await(long millis) throws IOException {
+            try {
+                return done.await(millis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for queued rows to be written");
+            }
+        }
+    }
+}
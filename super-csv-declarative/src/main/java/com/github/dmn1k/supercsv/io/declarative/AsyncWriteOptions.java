@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Configures an {@link AsyncCsvDeclarativeBeanWriter}. Instances are immutable, the with-methods return modified
+ * copies.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class AsyncWriteOptions {
+
+    private final int capacity;
+    private final Backpressure backpressure;
+    private final ThreadFactory threadFactory;
+
+    private AsyncWriteOptions(int capacity, Backpressure backpressure, ThreadFactory threadFactory) {
+        this.capacity = capacity;
+        this.backpressure = backpressure;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Creates options which block writing threads while the queue is full
+     *
+     * @param capacity number of rows which may be queued
+     * @return the options
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public static AsyncWriteOptions capacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity should be positive");
+        }
+
+        return new AsyncWriteOptions(capacity, Backpressure.BLOCK, null);
+    }
+
+    /**
+     * @param backpressure what to do if the queue is full
+     * @return modified copy
+     * @throws NullPointerException if backpressure is null
+     */
+    public AsyncWriteOptions withBackpressure(Backpressure backpressure) {
+        return new AsyncWriteOptions(capacity, Objects.requireNonNull(backpressure, "backpressure"), threadFactory);
+    }
+
+    /**
+     * @param threadFactory creates the thread which processes and writes the rows, e.g. a factory of virtual threads
+     * @return modified copy
+     */
+    public AsyncWriteOptions withThreadFactory(ThreadFactory threadFactory) {
+        return new AsyncWriteOptions(capacity, backpressure, threadFactory);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    /**
+     * @return the thread factory or null if a daemon thread is created
+     */
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncWriteOptions[capacity=" + capacity + ", backpressure=" + backpressure + "]";
+    }
+}
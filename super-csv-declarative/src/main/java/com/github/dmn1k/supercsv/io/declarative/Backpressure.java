@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+/**
+ * Defines what {@link AsyncCsvDeclarativeBeanWriter#write(Object)} does if its queue is full
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public enum Backpressure {
+    /**
+     * Waits until the background thread has taken a row from the queue
+     */
+    BLOCK,
+    /**
+     * Discards the row and returns false
+     */
+    DROP,
+    /**
+     * Throws a {@link org.supercsv.exception.SuperCsvException}
+     */
+    FAIL
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+/**
+ * Defines how {@link CsvDeclarativeBeanReader} populates beans from processed rows
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public enum BindingEngine {
+    /**
+     * Resolves cell, setter, accepted type and converter of each column once per bean type and context and binds rows
+     * in a single pass over these arrays. The values are set through the cells' field accessors; no code is generated
+     * per bean type. Columns which are only parsed into int, long, double or boolean fields are bound without boxing.
+     */
+    ACCESSOR,
+    /**
+     * Looks up cell, target type and converter for each cell of each row
+     */
+    REFLECTIVE
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.supercsv.comment.CommentMatcher;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Tokenizes UTF-8 (and thus ASCII) encoded CSV directly from a {@link ByteBuffer}, e.g. a
+ * {@link java.nio.MappedByteBuffer} of a file. Delimiters, quotes and line endings are searched on the bytes, which is
+ * possible because UTF-8 never uses bytes below 0x80 within multi-byte characters. Only the contents of the cells
+ * are decoded to Strings; the untokenized row is only decoded if requested, e.g. for an error message. Columns
+ * outside of the projection (see {@link #setProjection(BitSet)}) aren't decoded at all.
+ * <p>
+ * Rows are tokenized exactly like {@link org.supercsv.io.Tokenizer} does. Use it with
+ * {@link CsvDeclarativeBeanReader#CsvDeclarativeBeanReader(org.supercsv.io.ITokenizer, CsvPreference)}:
+ *
+ * <pre>
+ * MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+ * new CsvDeclarativeBeanReader(new ByteBufferTokenizer(buffer, preferences), preferences);
+ * </pre>
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public class ByteBufferTokenizer implements ProjectingTokenizer {
+
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SPACE = ' ';
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private final byte quoteChar;
+    private final byte delimiterChar;
+    private final boolean surroundingSpacesNeedQuotes;
+    private final boolean ignoreEmptyLines;
+    private final CommentMatcher commentMatcher;
+    private final int maxLinesPerRow;
+
+    private int position;
+    private int lineNumber;
+    private int lineStart;
+    private int lineEnd;
+    private int rowStart;
+    private int rowEnd;
+    private String untokenizedRow;
+
+    private byte[] column = new byte[64];
+    private int columnLength;
+    private boolean columnAscii = true;
+    private BitSet projection;
+    private int columnIndex;
+    private boolean skipColumn;
+
+    /**
+     * Constructs a new <tt>ByteBufferTokenizer</tt> which reads the bytes from the buffer's position to its limit.
+     * The buffer itself isn't modified.
+     *
+     * @param buffer the UTF-8 encoded CSV
+     * @param preferences the CSV preferences
+     * @throws NullPointerException if buffer or preferences are null
+     * @throws IllegalArgumentException if the quote or delimiter character isn't ASCII
+     */
+    public ByteBufferTokenizer(final ByteBuffer buffer, final CsvPreference preferences) {
+        if (preferences.getQuoteChar() >= 0x80 || preferences.getDelimiterChar() >= 0x80) {
+            throw new IllegalArgumentException("quote and delimiter characters should be ASCII characters");
+        }
+
+        this.buffer = buffer.duplicate();
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+        this.quoteChar = (byte) preferences.getQuoteChar();
+        this.delimiterChar = (byte) preferences.getDelimiterChar();
+        this.surroundingSpacesNeedQuotes = preferences.isSurroundingSpacesNeedQuotes();
+        this.ignoreEmptyLines = preferences.isIgnoreEmptyLines();
+        this.commentMatcher = preferences.getCommentMatcher();
+        this.maxLinesPerRow = preferences.getMaxLinesPerRow();
+    }
+
+    @Override
+    public boolean readColumns(final List<String> columns) {
+        if (columns == null) {
+            throw new NullPointerException("columns should not be null");
+        }
+
+        columns.clear();
+        columnLength = 0;
+        columnAscii = true;
+        untokenizedRow = null;
+        columnIndex = 0;
+        skipColumn = isSkipped(0);
+
+        do {
+            if (!readLine()) {
+                return false;
+            }
+        } while (ignoreEmptyLines && lineStart == lineEnd
+                || commentMatcher != null && commentMatcher.isComment(decode(lineStart, lineEnd)));
+
+        rowStart = lineStart;
+        rowEnd = lineEnd;
+
+        boolean quoteMode = false;
+        int quoteScopeStartingLine = -1;
+        int potentialSpaces = 0;
+        int index = lineStart;
+        while (true) {
+            if (index == lineEnd) {
+                if (!quoteMode) {
+                    if (!surroundingSpacesNeedQuotes) {
+                        appendSpaces(potentialSpaces);
+                    }
+                    columns.add(takeColumn());
+                    return true;
+                }
+
+                // a line break within quotes, the specific line terminator is lost
+                append(NEWLINE);
+                if (maxLinesPerRow > 0 && lineNumber - quoteScopeStartingLine + 1 >= maxLinesPerRow) {
+                    String msg = maxLinesPerRow == 1
+                            ? String.format("unexpected end of line while reading quoted column on line %d", lineNumber)
+                            : String.format("max number of lines to read exceeded while reading quoted column"
+                                    + " beginning on line %d and ending on line %d", quoteScopeStartingLine, lineNumber);
+                    throw new SuperCsvException(msg);
+                } else if (!readLine()) {
+                    throw new SuperCsvException(String.format(
+                            "unexpected end of file while reading quoted column beginning on line %d and ending on line %d",
+                            quoteScopeStartingLine, lineNumber));
+                }
+
+                rowEnd = lineEnd;
+                index = lineStart;
+                if (lineStart == lineEnd) {
+                    continue;
+                }
+            }
+
+            byte c = buffer.get(index);
+            if (!quoteMode) {
+                if (c == delimiterChar) {
+                    if (!surroundingSpacesNeedQuotes) {
+                        appendSpaces(potentialSpaces);
+                    }
+                    columns.add(takeColumn());
+                    potentialSpaces = 0;
+                } else if (c == SPACE) {
+                    potentialSpaces++;
+                } else if (c == quoteChar) {
+                    quoteMode = true;
+                    quoteScopeStartingLine = lineNumber;
+                    if (!surroundingSpacesNeedQuotes || columnLength > 0) {
+                        appendSpaces(potentialSpaces);
+                    }
+                    potentialSpaces = 0;
+                } else {
+                    if (!surroundingSpacesNeedQuotes || columnLength > 0) {
+                        appendSpaces(potentialSpaces);
+                    }
+                    potentialSpaces = 0;
+                    append(c);
+                }
+            } else if (c == quoteChar) {
+                if (index + 1 < lineEnd && buffer.get(index + 1) == quoteChar) {
+                    // an escaped quote
+                    append(c);
+                    index++;
+                } else {
+                    quoteMode = false;
+                    quoteScopeStartingLine = -1;
+                }
+            } else {
+                append(c);
+            }
+
+            index++;
+        }
+    }
+
+    @Override
+    public void setProjection(final BitSet columns) {
+        this.projection = columns;
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public String getUntokenizedRow() {
+        if (untokenizedRow == null) {
+            untokenizedRow = decode(rowStart, rowEnd).replace("\r\n", "\n").replace('\r', '\n');
+        }
+
+        return untokenizedRow;
+    }
+
+    /**
+     * Nothing to release, the buffer is owned by the caller
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Reads the next line like {@link java.io.LineNumberReader#readLine()}, which ends lines at \n, \r or \r\n
+     */
+    private boolean readLine() {
+        if (position >= limit) {
+            return false;
+        }
+
+        lineNumber++;
+        lineStart = position;
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == NEWLINE || b == CARRIAGE_RETURN) {
+                lineEnd = position++;
+                if (b == CARRIAGE_RETURN && position < limit && buffer.get(position) == NEWLINE) {
+                    position++;
+                }
+                return true;
+            }
+            position++;
+        }
+
+        lineEnd = limit;
+        return true;
+    }
+
+    private boolean isSkipped(int index) {
+        return projection != null && !projection.get(index);
+    }
+
+    private void append(byte b) {
+        if (skipColumn) {
+            return;
+        }
+        if (columnLength == column.length) {
+            column = Arrays.copyOf(column, columnLength * 2);
+        }
+
+        column[columnLength++] = b;
+        columnAscii &= b >= 0;
+    }
+
+    private void appendSpaces(int spaces) {
+        for (int i = 0; i < spaces; i++) {
+            append(SPACE);
+        }
+    }
+
+    private String takeColumn() {
+        skipColumn = isSkipped(++columnIndex);
+
+        // "" -> null
+        String value = columnLength == 0 ? null
+                : new String(column, 0, columnLength, columnAscii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        columnLength = 0;
+        columnAscii = true;
+        return value;
+    }
+
+    private String decode(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -39,7 +39,15 @@ public @interface CellProcessorAnnotationDescriptor {
     Class<? extends DeclarativeCellProcessorProvider> provider();
 
     /**
-     * @return contexts for which the cell processor is applicable
+     * @return contexts for which the cell processor is applicable. Processors which are needed to parse or check read
+     * values should include {@link StandardCsvContexts#VALIDATE} (see {@link CsvDeclarativeBeanReader#validate(Class)}).
      */
-    String[] contexts() default {StandardCsvContexts.READ, StandardCsvContexts.WRITE};
+    String[] contexts() default {StandardCsvContexts.READ, StandardCsvContexts.WRITE, StandardCsvContexts.VALIDATE};
+
+    /**
+     * @return true if the processor keeps state between rows (e.g. to detect duplicates). Rows of beans with stateful
+     * processors are never processed in parallel.
+     * @since 4.1.0
+     */
+    boolean stateful() default false;
 }
@@ -15,26 +15,49 @@
  */
 package com.github.dmn1k.supercsv.io.declarative;
 
+import com.github.dmn1k.supercsv.cellprocessor.ViolationCollector;
 import com.github.dmn1k.supercsv.internal.cells.BeanCell;
 import com.github.dmn1k.supercsv.internal.cells.BeanCells;
 import com.github.dmn1k.supercsv.model.BeanDescriptor;
-import com.github.dmn1k.supercsv.internal.typeconversion.TypeConverter;
 import com.github.dmn1k.supercsv.internal.typeconversion.TypeConverterRegistry;
+import com.github.dmn1k.supercsv.internal.util.CellProcessorExecutor;
+import com.github.dmn1k.supercsv.internal.util.EofAwareInputStream;
 import com.github.dmn1k.supercsv.internal.util.Form;
+import com.github.dmn1k.supercsv.internal.util.ReadAheadInputStream;
 import com.github.dmn1k.supercsv.internal.util.ReflectionUtilsExt;
 import com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingModeType;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 import org.apache.commons.lang.ClassUtils;
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.exception.SuperCsvException;
 import org.supercsv.exception.SuperCsvReflectionException;
 import org.supercsv.io.AbstractCsvReader;
 import org.supercsv.io.ITokenizer;
 import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
 
 /**
  * This reader maps csv files to beans via conventions and
@@ -50,6 +73,21 @@ import org.supercsv.prefs.CsvPreference;
 public class CsvDeclarativeBeanReader extends AbstractCsvReader {
 
     private TypeConverterRegistry typeConverterRegistry = new DefaultTypeConverterRegistry();
+    private BindingEngine bindingEngine = BindingEngine.REFLECTIVE;
+    private final MappingSession mappingSession = new MappingSession(StandardCsvContexts.READ);
+    private final MappingSession validationSession = new MappingSession(StandardCsvContexts.VALIDATE);
+    private CellProcessorExecutor processorExecutor = new CellProcessorExecutor();
+    private ErrorReport errorReport;
+    private static final int GZIP_BLOCK_SIZE = 64 * 1024;
+    private static final int VALIDATION_REPORT_CAPACITY = 100;
+
+    private final List<Object> processedColumns = new ArrayList<>();
+    private ProjectingTokenizer projectingTokenizer;
+    private FileChannel fileChannel;
+    private long fileStart;
+    private Charset charset;
+    private int lineOffset;
+    private int rowOffset;
 
     /**
      * Constructs a new <tt>CsvBeanReader</tt> with the supplied Reader and CSV
@@ -84,7 +122,8 @@ public class CsvDeclarativeBeanReader extends AbstractCsvReader {
     /**
      * Constructs a new <tt>CsvBeanReader</tt> with the supplied (custom)
      * Tokenizer and CSV preferences. The tokenizer should be set up with the
-     * Reader (CSV input) and CsvPreference beforehand.
+     * Reader (CSV input) and CsvPreference beforehand. A {@link ProjectingTokenizer}
+     * only materializes the mapped columns.
      *
      * @param tokenizer the tokenizer
      * @param preferences the CSV preferences
@@ -92,12 +131,14 @@ public class CsvDeclarativeBeanReader extends AbstractCsvReader {
      */
     public CsvDeclarativeBeanReader(final ITokenizer tokenizer, final CsvPreference preferences) {
         super(tokenizer, preferences);
+        this.projectingTokenizer = tokenizer instanceof ProjectingTokenizer ? (ProjectingTokenizer) tokenizer : null;
     }
 
     /**
      * Constructs a new <tt>CsvBeanReader</tt> with the supplied (custom)
      * Tokenizer and CSV preferences. The tokenizer should be set up with the
-     * Reader (CSV input) and CsvPreference beforehand.
+     * Reader (CSV input) and CsvPreference beforehand. A {@link ProjectingTokenizer}
+     * only materializes the mapped columns.
      *
      * @param tokenizer the tokenizer
      * @param typeConverterRegistry the TypeConverterRegistry to use
@@ -106,9 +147,144 @@ public class CsvDeclarativeBeanReader extends AbstractCsvReader {
      */
     public CsvDeclarativeBeanReader(final ITokenizer tokenizer, TypeConverterRegistry typeConverterRegistry, final CsvPreference preferences) {
         super(tokenizer, preferences);
+        this.projectingTokenizer = tokenizer instanceof ProjectingTokenizer ? (ProjectingTokenizer) tokenizer : null;
         this.typeConverterRegistry = Objects.requireNonNull(typeConverterRegistry, "typeConverterRegistry");
     }
 
+    /**
+     * Constructs a new <tt>CsvBeanReader</tt> which reads the supplied file from its current position. Besides
+     * sequential reading this allows {@link #stream(Class, ParallelReadOptions)} to split the file into byte ranges
+     * which are tokenized in parallel.
+     *
+     * @param channel the file to read, which is closed with this reader
+     * @param charset the file's charset
+     * @param preferences the CSV preferences
+     * @throws IOException if the channel's position can't be determined
+     * @throws NullPointerException if channel, charset or preferences are null
+     * @since 4.1.0
+     */
+    public CsvDeclarativeBeanReader(final FileChannel channel, final Charset charset, final CsvPreference preferences)
+            throws IOException {
+        this(channel, charset, new DefaultTypeConverterRegistry(), preferences);
+    }
+
+    /**
+     * Constructs a new <tt>CsvBeanReader</tt> which reads the supplied file from its current position (see
+     * {@link #CsvDeclarativeBeanReader(FileChannel, Charset, CsvPreference)}).
+     *
+     * @param channel the file to read, which is closed with this reader
+     * @param charset the file's charset
+     * @param typeConverterRegistry the TypeConverterRegistry to use
+     * @param preferences the CSV preferences
+     * @throws IOException if the channel's position can't be determined
+     * @throws NullPointerException if channel, charset, typeConverterRegistry or preferences are null
+     * @since 4.1.0
+     */
+    public CsvDeclarativeBeanReader(final FileChannel channel, final Charset charset,
+            TypeConverterRegistry typeConverterRegistry, final CsvPreference preferences) throws IOException {
+        super(new InputStreamReader(Channels.newInputStream(channel), charset), preferences);
+        this.typeConverterRegistry = Objects.requireNonNull(typeConverterRegistry, "typeConverterRegistry");
+        this.fileChannel = channel;
+        this.fileStart = channel.position();
+        this.charset = charset;
+    }
+
+    /**
+     * Constructs a new <tt>CsvBeanReader</tt> for gzip compressed CSV, which may consist of multiple members (see
+     * {@link CsvDeclarativeBeanWriter#gzip(java.io.OutputStream, Charset, CsvPreference, int)}). Decompression runs
+     * in a thread of its own, a few blocks ahead of parsing.
+     *
+     * @param in the compressed input, which is closed with the reader
+     * @param charset the charset of the uncompressed CSV
+     * @param preferences the CSV preferences
+     * @return the reader
+     * @throws IOException if the gzip header can't be read
+     * @throws NullPointerException if in, charset or preferences are null
+     * @since 4.1.0
+     */
+    public static CsvDeclarativeBeanReader gzip(final InputStream in, final Charset charset,
+            final CsvPreference preferences) throws IOException {
+        Objects.requireNonNull(charset, "charset");
+        Objects.requireNonNull(preferences, "preferences");
+
+        InputStream decompressed = new ReadAheadInputStream(new GZIPInputStream(new EofAwareInputStream(in), GZIP_BLOCK_SIZE), GZIP_BLOCK_SIZE,
+                16, "csv-reader-gunzip");
+        return new CsvDeclarativeBeanReader(new InputStreamReader(decompressed, charset), preferences);
+    }
+
+    /**
+     * Constructs a new <tt>CsvBeanReader</tt> which starts reading the supplied file at the given row (see
+     * {@link #seek(FileChannel, Charset, CsvPreference, RowIndex, int)}). Unlike a channel, the file allows to check
+     * both size and modification time against the index.
+     *
+     * @param file the file to read
+     * @param charset the file's charset
+     * @param preferences the CSV preferences (the ones the index was built with)
+     * @param index the index of the file, see {@link RowIndex#load(java.nio.file.Path, Charset, CsvPreference, int)}
+     * @param row number (1-based) of the row to read next
+     * @return the reader
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if row isn't positive or the file changed since the index was built (see
+     * {@link RowIndex#isValidFor(Path)})
+     * @throws NullPointerException if file, charset, preferences or index are null
+     * @since 4.1.0
+     */
+    public static CsvDeclarativeBeanReader seek(final Path file, final Charset charset,
+            final CsvPreference preferences, final RowIndex index, final int row) throws IOException {
+        if (!index.isValidFor(file)) {
+            throw new IllegalArgumentException(Form.at("index is stale, {} changed after it was built", file));
+        }
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return seek(channel, charset, preferences, index, row);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Constructs a new <tt>CsvBeanReader</tt> which starts reading the supplied file at the given row. The nearest
+     * preceding entry of the index is used to position the channel, only the rows between the entry and the given row
+     * are tokenized (but not processed). Line and row numbers (see {@link #getLineNumber()} and
+     * {@link #getRowNumber()}) count from the beginning of the file.
+     *
+     * @param channel the file to read, which is closed with this reader
+     * @param charset the file's charset
+     * @param preferences the CSV preferences (the ones the index was built with)
+     * @param index the index of the file, see {@link RowIndex#load(java.nio.file.Path, Charset, CsvPreference, int)}
+     * @param row number (1-based) of the row to read next
+     * @return the reader
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if row isn't positive or the index doesn't belong to a file of the channel's
+     * size. A channel doesn't tell its file's modification time, use
+     * {@link #seek(Path, Charset, CsvPreference, RowIndex, int)} to check it as well.
+     * @throws NullPointerException if channel, charset, preferences or index are null
+     * @since 4.1.0
+     */
+    public static CsvDeclarativeBeanReader seek(final FileChannel channel, final Charset charset,
+            final CsvPreference preferences, final RowIndex index, final int row) throws IOException {
+        if (row <= 0) {
+            throw new IllegalArgumentException("row must be positive");
+        }
+        if (index.getFileSize() != channel.size()) {
+            throw new IllegalArgumentException(Form.at("index of a file with {} bytes doesn't match the file with {} bytes",
+                    index.getFileSize(), channel.size()));
+        }
+
+        int entry = index.entryBefore(row);
+        channel.position(index.getOffset(entry));
+        CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(channel, charset, preferences);
+        reader.lineOffset = index.getLines(entry);
+        reader.rowOffset = index.getRows(entry);
+        while (reader.getRowNumber() < row - 1 && reader.readRow()) {
+            // skip rows behind the index entry
+        }
+
+        return reader;
+    }
+
     /**
      * Reads a row of a CSV file and populates an instance of the specified
      * class, using the conventional mappings and provided
@@ -135,12 +311,269 @@ public class CsvDeclarativeBeanReader extends AbstractCsvReader {
         }
 
         BeanDescriptor beanDescriptor = BeanDescriptor.create(clazz);
-        BeanCells fields = BeanCells.getFields(beanDescriptor, StandardCsvContexts.READ);
+        BeanCells fields = mappingSession.getCells(clazz);
+
+        return readIntoBean(clazz, beanDescriptor, fields);
+    }
+
+    /**
+     * Reads a row of a CSV file into an object of the specified type, populating only the given fields. The other
+     * fields keep the values set by the constructor and their columns are neither processed nor, with a
+     * {@link ProjectingTokenizer}, materialized. The narrowed mapping is cached for each combination of fields.
+     *
+     * @param clazz the type to instantiate (see {@link #read(Class)})
+     * @param fieldNames names of the fields to populate
+     * @param <T> the bean type
+     * @return a populated bean or null if EOF
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if clazz or fieldNames are null
+     * @throws SuperCsvException if one of the fields isn't mapped or there was a general exception while
+     * reading/processing
+     * @throws SuperCsvReflectionException if there was an reflection exception while mapping the values to the bean
+     * @since 4.1.0
+     */
+    public <T> T read(final Class<T> clazz, final String... fieldNames) throws IOException {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz should not be null");
+        }
+        if (fieldNames == null) {
+            throw new IllegalArgumentException("fieldNames should not be null");
+        }
+
+        BeanDescriptor beanDescriptor = BeanDescriptor.create(clazz);
+        BeanCells fields = mappingSession.getCells(clazz, Arrays.asList(fieldNames));
+
+        return readIntoBean(clazz, beanDescriptor, fields);
+    }
+
+    /**
+     * Validates the remaining rows against the mapping of the given type without instantiating or populating beans.
+     * Only the processors of the {@link StandardCsvContexts#VALIDATE} context run, i.e. parsers, constraints and the
+     * processors preparing values for them, and processed values which don't match their field's type are converted
+     * like {@link #read(Class)} would do before setting them.
+     * <p>
+     * Violations are recorded in this reader's error report (see {@link #setErrorReport(ErrorReport)}) or, if there
+     * is none, in a new report which records the first 100 violations. Failures which aren't collected by error
+     * reports, e.g. I/O errors, are thrown.
+     *
+     * @param clazz the type whose mapping to validate against
+     * @return the number of validated and invalid rows and the violations found
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if clazz is null
+     * @throws SuperCsvException if there was a general exception while reading/processing
+     * @throws SuperCsvReflectionException if a processed value couldn't be set on its field, like
+     * {@link #read(Class)} would throw
+     * @since 4.1.0
+     */
+    public ValidationSummary validate(final Class<?> clazz) throws IOException {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz should not be null");
+        }
+
+        BeanDescriptor beanDescriptor = BeanDescriptor.create(clazz);
+        BeanCells cells = validationSession.getCells(clazz);
+        ErrorReport report = errorReport == null ? new ErrorReport(VALIDATION_REPORT_CAPACITY) : errorReport;
+        CellProcessorExecutor executor = new CellProcessorExecutor(new ViolationCollector(report));
+        List<Object> processed = new ArrayList<>();
+
+        project(cells);
+        long rowCount = 0;
+        long invalidRowCount = 0;
+        while (readRow()) {
+            rowCount++;
+            if (!validateRow(beanDescriptor, cells, report, executor, processed)) {
+                report.rowRejected();
+                invalidRowCount++;
+            }
+        }
+
+        return new ValidationSummary(rowCount, invalidRowCount, report);
+    }
+
+    /**
+     * Returns a lazily populated stream of beans of the remaining rows. Closing the stream closes this reader.
+     * <p>
+     * A parallel stream still tokenizes the input sequentially, but hands out batches of rows to be processed and
+     * bound concurrently. Each batch uses its own processor chains, so beans with stateful processors (see
+     * {@link CellProcessorAnnotationDescriptor#stateful()}) are always processed sequentially.
+     *
+     * @param clazz the type to instantiate (see {@link #read(Class)})
+     * @param <T> the bean type
+     * @return stream of beans in row order
+     * @throws IllegalArgumentException if clazz is null
+     * @throws UncheckedIOException (when consuming the stream) if an I/O error occurred
+     * @since 4.1.0
+     */
+    public <T> Stream<T> stream(final Class<T> clazz) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz should not be null");
+        }
+
+        // mappers of batches which weren't consumed completely, e.g. by short-circuiting operations
+        Set<RowMapper<T>> openMappers = ConcurrentHashMap.newKeySet();
+        return StreamSupport.stream(new BeanSpliterator<>(clazz, openMappers), false).onClose(() -> {
+            IOException failure = null;
+            for (RowMapper<T> rowMapper : openMappers) {
+                try {
+                    rowMapper.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            openMappers.clear();
+
+            try {
+                close();
+            } catch (IOException e) {
+                failure = e;
+            }
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+        });
+    }
+
+    /**
+     * Returns a stream of beans of the remaining rows which are processed by multiple threads: one thread tokenizes
+     * the input and hands batches of rows to worker threads which run the processors and populate the beans. The
+     * stream itself is sequential. Closing the stream stops all threads and closes this reader, which must not be used
+     * otherwise in the meantime.
+     * <p>
+     * Each worker uses its own processor chains, so beans with stateful processors (see
+     * {@link CellProcessorAnnotationDescriptor#stateful()}) are processed by a single worker.
+     * <p>
+     * If this reader was created for a {@link FileChannel}, the rest of the file (behind the rows which were read
+     * already, e.g. the header) is split into byte ranges of about {@link ParallelReadOptions#getChunkSize()} bytes
+     * instead, which end at record boundaries (respecting quoted line breaks) and are tokenized by the workers as
+     * well. This requires an ASCII-compatible charset like UTF-8 or ISO-8859-1, line feeds after the rows read so far,
+     * no comment matcher and beans without stateful processors; otherwise the file is tokenized by a single thread.
+     *
+     * @param clazz the type to instantiate (see {@link #read(Class)})
+     * @param options number of workers, ordering, batch size and queue capacity
+     * @param <T> the bean type
+     * @return stream of beans, in row order if {@link ParallelReadOptions#isOrdered()}
+     * @throws IllegalArgumentException if clazz is null
+     * @throws NullPointerException if options is null
+     * @throws UncheckedIOException (when consuming the stream) if an I/O error occurred
+     * @since 4.1.0
+     */
+    public <T> Stream<T> stream(final Class<T> clazz, ParallelReadOptions options) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("clazz should not be null");
+        }
+        Objects.requireNonNull(options, "options");
+
+        BeanCells cells = mappingSession.getCells(clazz);
+        project(cells);
+        ParallelReadPipeline<T> pipeline = new ParallelReadPipeline<>(this, clazz, cells, options,
+                batchSource(cells, options));
+        int characteristics = Spliterator.NONNULL | (options.isOrdered() ? Spliterator.ORDERED : 0);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pipeline, characteristics), false).onClose(() -> {
+            pipeline.close();
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> ParallelReadPipeline.BatchSource<T> batchSource(BeanCells cells, ParallelReadOptions options) {
+        if (fileChannel == null || cells.isStateful() || !FileChunkSource.supports(charset, getPreferences())) {
+            return ParallelReadPipeline.rowBatches(this, options.getBatchSize());
+        }
+
+        try {
+            FileChunkSource<T> source = new FileChunkSource<>(fileChannel, fileStart, lineOffset, rowOffset, charset,
+                    getPreferences(), options.getChunkSize());
+            // rows which were read already (e.g. the header) are skipped by scanning from the start again
+            if (source.skipRows(super.getRowNumber())) {
+                return source;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ParallelReadPipeline.rowBatches(this, options.getBatchSize());
+    }
+
+    /**
+     * Reads the header and maps the columns of all following rows to fields by name (see {@link CsvField#name()})
+     * instead of by index, so the order of the columns doesn't matter. The header is resolved once per bean type into
+     * the same column-indexed mapping positional reads use; mappings are cached per distinct header. In STRICT mode the
+     * header has to contain exactly the columns of the bean; in LOOSE mode unknown columns are ignored and fields
+     * without column aren't populated.
+     *
+     * @return the header or null if EOF
+     * @throws IOException if an I/O error occurred
+     * @throws SuperCsvException if the header isn't the first line
+     * @since 4.1.0
+     */
+    public String[] mapColumnsByHeader() throws IOException {
+        String[] header = getHeader(true);
+        if (header != null) {
+            mappingSession.setHeader(Arrays.asList(header));
+            validationSession.setHeader(Arrays.asList(header));
+        }
+
+        return header;
+    }
+
+    /**
+     * Defines the registry to take bean mappings from. Defaults to {@link MappingRegistry#getDefault()}.
+     *
+     * @param mappingRegistry the registry to use
+     * @throws NullPointerException if mappingRegistry is null
+     * @since 4.1.0
+     */
+    public void setMappingRegistry(MappingRegistry mappingRegistry) {
+        mappingSession.setRegistry(mappingRegistry);
+        validationSession.setRegistry(mappingRegistry);
+    }
+
+    /**
+     * Defines how beans are populated from processed rows. Defaults to {@link BindingEngine#REFLECTIVE}.
+     *
+     * @param bindingEngine the binding engine to use
+     * @throws NullPointerException if bindingEngine is null
+     * @since 4.1.0
+     */
+    public void setBindingEngine(BindingEngine bindingEngine) {
+        this.bindingEngine = Objects.requireNonNull(bindingEngine, "bindingEngine");
+    }
+
+    /**
+     * Collects violations in the given report instead of throwing them. Rows with violations are skipped by all read
+     * methods and streams; a violation of the constraint processors (see
+     * {@link com.github.dmn1k.supercsv.cellprocessor.constraint}) doesn't even allocate an exception. Only
+     * {@link SuperCsvCellProcessorException}s and mismatching rows in {@link CsvMappingModeType#STRICT} mode are
+     * collected; other failures, e.g. I/O errors, are still thrown.
+     *
+     * @param errorReport the report to collect violations in, null to throw them again
+     * @since 4.1.0
+     */
+    public void setErrorReport(ErrorReport errorReport) {
+        this.errorReport = errorReport;
+        this.processorExecutor = newExecutor();
+    }
+
+    /**
+     * @return the report violations are collected in, null if they are thrown
+     * @since 4.1.0
+     */
+    public ErrorReport getErrorReport() {
+        return errorReport;
+    }
 
-        return readIntoBean(ReflectionUtilsExt.instantiateBean(clazz), beanDescriptor, fields);
+    private CellProcessorExecutor newExecutor() {
+        return errorReport == null ? new CellProcessorExecutor()
+                : new CellProcessorExecutor(new ViolationCollector(errorReport));
     }
 
-    private <T> T populateBean(final T resultBean, List<Object> processedColumns, BeanCells cells) {
+    private <T> T populateBean(final T resultBean, List<Object> processedColumns, BeanCells cells, CsvContext context) {
+        if (BindingEngine.ACCESSOR.equals(bindingEngine)) {
+            return cells.getRowBinder().bind(resultBean, processedColumns, context, typeConverterRegistry);
+        }
+
         for (int i = 0; i < processedColumns.size(); i++) {
             final Object fieldValue = processedColumns.get(i);
 
@@ -153,47 +586,397 @@ public class CsvDeclarativeBeanReader extends AbstractCsvReader {
             if (fieldValue != null && ClassUtils.isAssignable(fieldValue.getClass(), cell.getType(), true)) {
                 cell.setValue(resultBean, fieldValue);
             } else {
-                Class<?> fieldValueClass = fieldValue == null ? Object.class : fieldValue.getClass();
-                TypeConverter<Object, Object> converter
-                        = (TypeConverter<Object, Object>) typeConverterRegistry.getConverter(fieldValueClass, cell.getType());
-                if (converter == null) {
-                    throw new SuperCsvException(Form.at("No converter registered from type {} to type {}. Add one or fix your CellProcessor-annotations to return the field's type",
-                            fieldValueClass.getName(), cell.getType().getName()));
-                }
-                cell.setValue(resultBean, converter.convert(fieldValue));
+                cell.setValue(resultBean, convertValue(fieldValue, cell.getType()));
             }
         }
 
         return resultBean;
     }
 
-    private <T> T readIntoBean(final T bean, BeanDescriptor beanDescriptor, BeanCells cells)
+    private Object convertValue(Object fieldValue, Class<?> fieldType) {
+        Class<?> fieldValueClass = fieldValue == null ? Object.class : fieldValue.getClass();
+        return typeConverterRegistry.getRequiredConverter(fieldValueClass, fieldType).convert(fieldValue);
+    }
+
+    private <T> T readIntoBean(final Class<T> clazz, BeanDescriptor beanDescriptor, BeanCells cells)
             throws IOException {
 
-        if (readRow()) {
-            if (CsvMappingModeType.STRICT.equals(beanDescriptor.getMappingMode()) && cells.getCorrectlyMappedFieldCount() != length()) {
-                throw new SuperCsvException(Form.at("MappingMode.STRICT: Number of mapped bean-fields ({}] and csv-cells ({}) does not match.", cells.getCorrectlyMappedFieldCount(), length()));
+        project(cells);
+        while (readRow()) {
+            T bean = mapRow(ReflectionUtilsExt.instantiateBean(clazz), beanDescriptor, cells, getColumns(), getLineNumber(),
+                    getRowNumber(), processorExecutor, processedColumns);
+            if (bean != null) {
+                return bean;
             }
-            List<CellProcessor> rowProcessors = new ArrayList<>();
-            for (int i = 0; i < length(); i++) {
-                rowProcessors.add(cells.getCell(i).getProcessor());
+        }
+
+        return null; // EOF
+    }
+
+    private void project(BeanCells cells) {
+        if (projectingTokenizer != null) {
+            projectingTokenizer.setProjection(cells.getProjection());
+        }
+    }
+
+    /**
+     * @return the bean or null if the row was rejected by the error report
+     */
+    private <T> T mapRow(final T bean, BeanDescriptor beanDescriptor, BeanCells cells, List<String> columns, int lineNumber,
+            int rowNumber, CellProcessorExecutor executor, List<Object> processed) {
+        String msg = checkWidth(beanDescriptor, cells, columns);
+        if (msg != null) {
+            if (errorReport == null) {
+                throw new SuperCsvException(msg);
             }
+            errorReport.record(rowNumber, lineNumber, 0, null, msg);
+            errorReport.rowRejected();
+            return null;
+        }
+        CellProcessor[] processors = BindingEngine.ACCESSOR.equals(bindingEngine)
+                ? cells.getRowBinder().getProcessors(columns.size()) : cells.getProcessors(columns.size());
+        executor.execute(processed, columns, processors, lineNumber, rowNumber);
+
+        if (executor.isRejected()) {
+            errorReport.rowRejected();
+            return null;
+        }
 
-            List<Object> processedColumns = new ArrayList<>();
-            executeProcessors(processedColumns, rowProcessors.toArray(new CellProcessor[rowProcessors.size()]));
+        String duplicateKey = cells.checkUniqueKeys(processed);
+        if (duplicateKey != null) {
+            if (errorReport == null) {
+                throw new SuperCsvConstraintViolationException(duplicateKey, executor.getContext(), null);
+            }
+            errorReport.record(rowNumber, lineNumber, 0, null, duplicateKey);
+            errorReport.rowRejected();
+            return null;
+        } else if (errorReport == null) {
+            return populateBean(bean, processed, cells, executor.getContext());
+        }
 
-            return populateBean(bean, processedColumns, cells);
+        try {
+            return populateBean(bean, processed, cells, executor.getContext());
+        } catch (SuperCsvCellProcessorException e) {
+            // primitive columns are parsed while binding
+            CsvContext context = e.getCsvContext();
+            errorReport.record(context.getRowNumber(), context.getLineNumber(), context.getColumnNumber(), e.getProcessor(),
+                    e.getMessage());
+            errorReport.rowRejected();
+            return null;
         }
+    }
 
-        return null; // EOF
+    /**
+     * @return false if a violation was recorded in the report
+     */
+    private boolean validateRow(BeanDescriptor beanDescriptor, BeanCells cells, ErrorReport report,
+            CellProcessorExecutor executor, List<Object> processed) {
+        List<String> columns = getColumns();
+        String widthMismatch = checkWidth(beanDescriptor, cells, columns);
+        if (widthMismatch != null) {
+            report.record(getRowNumber(), getLineNumber(), 0, null, widthMismatch);
+            return false;
+        }
+
+        executor.execute(processed, columns, cells.getProcessors(columns.size()), getLineNumber(), getRowNumber());
+        if (executor.isRejected()) {
+            return false;
+        }
+
+        String duplicateKey = cells.checkUniqueKeys(processed);
+        if (duplicateKey != null) {
+            report.record(getRowNumber(), getLineNumber(), 0, null, duplicateKey);
+            return false;
+        }
+
+        for (int i = 0; i < processed.size(); i++) {
+            Object fieldValue = processed.get(i);
+            BeanCell cell = cells.getCell(i);
+            if (cell != null && cell.getType() != null
+                    && (fieldValue == null || !ClassUtils.isAssignable(fieldValue.getClass(), cell.getType(), true))) {
+                cells.checkAssignable(i, convertValue(fieldValue, cell.getType()));
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return description of the mismatch if the row's width doesn't match the mapped fields in
+     * {@link CsvMappingModeType#STRICT} mode, otherwise null
+     */
+    private static String checkWidth(BeanDescriptor beanDescriptor, BeanCells cells, List<String> columns) {
+        if (CsvMappingModeType.STRICT.equals(beanDescriptor.getMappingMode()) && cells.getCorrectlyMappedFieldCount() != columns.size()) {
+            return Form.at("MappingMode.STRICT: Number of mapped bean-fields ({}) and csv-cells ({}) does not match.",
+                    cells.getCorrectlyMappedFieldCount(), columns.size());
+        }
+
+        return null;
+    }
+
+    /**
+     * Tokenizes up to the given number of rows without processing them
+     *
+     * @param maxRows maximum number of rows to read
+     * @return the rows read, less than maxRows at the end of the input
+     * @throws IOException if an I/O error occurred
+     */
+    List<TokenizedRow> readTokenizedRows(int maxRows) throws IOException {
+        List<TokenizedRow> rows = new ArrayList<>(maxRows);
+        while (rows.size() < maxRows && readRow()) {
+            rows.add(new TokenizedRow(new ArrayList<>(getColumns()), getLineNumber(), getRowNumber()));
+        }
+
+        return rows;
+    }
+
+    /**
+     * {@inheritDoc} Counts from the beginning of the file if this reader was created by
+     * {@link #seek(FileChannel, Charset, CsvPreference, RowIndex, int)}.
+     */
+    @Override
+    public int getLineNumber() {
+        return lineOffset + super.getLineNumber();
+    }
+
+    /**
+     * {@inheritDoc} Counts from the beginning of the file if this reader was created by
+     * {@link #seek(FileChannel, Charset, CsvPreference, RowIndex, int)}.
+     */
+    @Override
+    public int getRowNumber() {
+        return rowOffset + super.getRowNumber();
     }
 
     @Override
     public void close() throws IOException {
-        super.close();
-        
-        BeanCells.resetCache();
+        try {
+            super.close();
+        } finally {
+            mappingSession.clear();
+            validationSession.clear();
+        }
+    }
+
+    /**
+     * Reads beans one by one and splits off batches of tokenized rows. Batches grow with every split (like
+     * {@link java.util.Spliterators#spliteratorUnknownSize(java.util.Iterator, int)}) so short inputs aren't buffered
+     * completely.
+     */
+    private final class BeanSpliterator<T> implements Spliterator<T> {
+
+        private static final int BATCH_UNIT = 1024;
+        private static final int MAX_BATCH = 1 << 16;
+
+        private final Class<T> clazz;
+        private final Set<RowMapper<T>> openMappers;
+        private int batchSize;
+        private boolean exhausted;
+
+        BeanSpliterator(Class<T> clazz, Set<RowMapper<T>> openMappers) {
+            this.clazz = clazz;
+            this.openMappers = openMappers;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (exhausted) {
+                return false;
+            }
+
+            T bean;
+            try {
+                bean = read(clazz);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (bean == null) {
+                exhausted = true;
+                return false;
+            }
+
+            action.accept(bean);
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            BeanCells cells = mappingSession.getCells(clazz);
+            if (exhausted || cells.isStateful()) {
+                return null;
+            }
+
+            batchSize = Math.min(batchSize + BATCH_UNIT, MAX_BATCH);
+            List<TokenizedRow> rows;
+            try {
+                project(cells);
+                rows = readTokenizedRows(batchSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            exhausted = rows.size() < batchSize;
+
+            return rows.isEmpty() ? null : new RowBatchSpliterator<>(clazz, cells, rows, 0, rows.size(), openMappers);
+        }
+
+        /**
+         * Estimates the remaining rows of a file from the remaining bytes and the average row length so far (one byte
+         * per row before the first row was read). The reader buffers ahead, so at least one row is estimated until
+         * the end was reached.
+         */
+        @Override
+        public long estimateSize() {
+            if (exhausted) {
+                return 0;
+            }
+            if (fileChannel == null) {
+                return Long.MAX_VALUE;
+            }
+
+            try {
+                long position = fileChannel.position();
+                long remaining = Math.max(fileChannel.size() - position, 0);
+                long bytesRead = position - fileStart;
+                int rowsRead = getRowNumber() - rowOffset;
+                long estimate = rowsRead == 0 || bytesRead <= 0 ? remaining
+                        : (long) ((double) remaining * rowsRead / bytesRead);
+                return Math.max(estimate, 1);
+            } catch (IOException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+    /**
+     * Processes and binds already tokenized rows. Processor chains are created on first use, i.e. in the thread
+     * consuming the batch.
+     */
+    private final class RowBatchSpliterator<T> implements Spliterator<T> {
+
+        private static final int MIN_SPLIT = 256;
+
+        private final Class<T> clazz;
+        private final BeanCells readerCells;
+        private final List<TokenizedRow> rows;
+        private int index;
+        private final int end;
+        private final Set<RowMapper<T>> openMappers;
+
+        private RowMapper<T> rowMapper;
+
+        RowBatchSpliterator(Class<T> clazz, BeanCells readerCells, List<TokenizedRow> rows, int index, int end,
+                Set<RowMapper<T>> openMappers) {
+            this.clazz = clazz;
+            this.readerCells = readerCells;
+            this.rows = rows;
+            this.index = index;
+            this.end = end;
+            this.openMappers = openMappers;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= end) {
+                return false;
+            }
+
+            if (rowMapper == null) {
+                rowMapper = new RowMapper<>(clazz, readerCells);
+                openMappers.add(rowMapper);
+            }
+
+            while (index < end) {
+                T bean = rowMapper.map(rows.get(index++));
+                if (bean != null) {
+                    if (index == end) {
+                        closeMapper();
+                    }
+                    action.accept(bean);
+                    return true;
+                }
+            }
+
+            closeMapper();
+            return false;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int remaining = end - index;
+            if (rowMapper != null || remaining < 2 * MIN_SPLIT) {
+                return null;
+            }
+
+            int mid = index + remaining / 2;
+            Spliterator<T> prefix = new RowBatchSpliterator<>(clazz, readerCells, rows, index, mid, openMappers);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        /**
+         * Releases the mapper's resources as soon as the batch is mapped, not only when the stream is closed
+         */
+        private void closeMapper() {
+            if (openMappers.remove(rowMapper)) {
+                try {
+                    rowMapper.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        @Override
+        public int characteristics() {
+            // rejected rows are skipped, so the size is only known without an error report
+            return errorReport == null ? ORDERED | NONNULL | SIZED | SUBSIZED : ORDERED | NONNULL;
+        }
     }
 
-    
+    /**
+     * Maps tokenized rows with its own processor chains and buffers, so rows of the same bean type can be mapped by one
+     * instance per thread.
+     */
+    final class RowMapper<T> {
+
+        private final Class<T> clazz;
+        private final BeanDescriptor beanDescriptor;
+        private final BeanCells cells;
+        private final CellProcessorExecutor executor = newExecutor();
+        private final List<Object> processed = new ArrayList<>();
+
+        RowMapper(Class<T> clazz, BeanCells readerCells) {
+            this.clazz = clazz;
+            this.beanDescriptor = BeanDescriptor.create(clazz);
+            this.cells = readerCells.newSession();
+        }
+
+        /**
+         * @return the bean or null if the row was rejected by the error report
+         */
+        T map(TokenizedRow row) {
+            return mapRow(ReflectionUtilsExt.instantiateBean(clazz), beanDescriptor, cells, row.getColumns(),
+                    row.getLineNumber(), row.getRowNumber(), executor, processed);
+        }
+
+        /**
+         * Releases the resources of the mapper's processors (see {@link BeanCells#close()})
+         *
+         * @throws IOException if a resource couldn't be released
+         */
+        void close() throws IOException {
+            cells.close();
+        }
+    }
 }
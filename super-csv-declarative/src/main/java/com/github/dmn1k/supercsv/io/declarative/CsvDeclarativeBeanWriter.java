@@ -15,19 +15,32 @@
  */
 package com.github.dmn1k.supercsv.io.declarative;
 
-import com.github.dmn1k.supercsv.internal.cells.BeanCell;
 import com.github.dmn1k.supercsv.internal.cells.BeanCells;
-import com.github.dmn1k.supercsv.model.BeanDescriptor;
+import com.github.dmn1k.supercsv.internal.util.CellProcessorExecutor;
+import com.github.dmn1k.supercsv.internal.util.ParallelGzipOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import org.supercsv.cellprocessor.ift.CellProcessor;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import org.supercsv.exception.SuperCsvException;
 import org.supercsv.exception.SuperCsvReflectionException;
 import org.supercsv.io.AbstractCsvWriter;
 import org.supercsv.prefs.CsvPreference;
-import org.supercsv.util.Util;
+import org.supercsv.util.CsvContext;
 
 /**
  * CsvDeclarativeBeanWriter writes a CSV file via conventions and {@link CellProcessorAnnotationDescriptor}
@@ -37,6 +50,23 @@ import org.supercsv.util.Util;
  */
 public class CsvDeclarativeBeanWriter extends AbstractCsvWriter {
 
+    private static final int GZIP_BLOCK_SIZE = 1 << 20;
+
+    private final MappingSession mappingSession = new MappingSession(StandardCsvContexts.WRITE);
+    private final CellProcessorExecutor processorExecutor = new CellProcessorExecutor();
+    private final List<Object> beanValues = new ArrayList<>();
+    private final List<Object> processedColumns = new ArrayList<>();
+    private String[] row = new String[0];
+    private final Writer out;
+    private final CsvPreference preference;
+    private final int endOfLineLength;
+    private int additionalLines;
+
+    private FlushPolicy flushPolicy = FlushPolicy.everyRow();
+    private long rowsSinceFlush;
+    private long charactersSinceFlush;
+    private long lastFlushNanos = System.nanoTime();
+
     /**
      * Constructs a new <tt>CsvDeclarativeBeanWriter</tt> with the supplied Writer and CSV preferences. Note that the
      * <tt>writer</tt> will be wrapped in a <tt>BufferedWriter</tt> before accessed.
@@ -46,7 +76,65 @@ public class CsvDeclarativeBeanWriter extends AbstractCsvWriter {
      * @throws NullPointerException if writer or preference are null
      */
     public CsvDeclarativeBeanWriter(final Writer writer, final CsvPreference preference) {
-        super(writer, preference);
+        this(preference, bufferize(writer));
+    }
+
+    private CsvDeclarativeBeanWriter(final CsvPreference preference, final BufferedWriter out) {
+        super(out, preference, false);
+        this.out = out;
+        this.preference = preference;
+        this.endOfLineLength = preference.getEndOfLineSymbols().length();
+    }
+
+    /**
+     * Constructs a new <tt>CsvDeclarativeBeanWriter</tt> which writes gzip compressed CSV, compressing with one
+     * thread per available processor (see {@link #gzip(OutputStream, Charset, CsvPreference, int)}).
+     *
+     * @param out the stream to write the compressed CSV to, which is closed with the writer
+     * @param charset the charset of the uncompressed CSV
+     * @param preference the CSV preferences
+     * @return the writer
+     * @throws NullPointerException if out, charset or preference are null
+     * @since 4.1.0
+     */
+    public static CsvDeclarativeBeanWriter gzip(final OutputStream out, final Charset charset,
+            final CsvPreference preference) {
+        return gzip(out, charset, preference, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new <tt>CsvDeclarativeBeanWriter</tt> which writes gzip compressed CSV. Blocks of 1 MiB are
+     * compressed in parallel as independent gzip members, which standard gzip readers decompress as a single file.
+     * Flushing only writes blocks which are already compressed; the last block is written on {@link #close()}.
+     *
+     * @param out the stream to write the compressed CSV to, which is closed with the writer
+     * @param charset the charset of the uncompressed CSV
+     * @param preference the CSV preferences
+     * @param workers number of threads compressing blocks
+     * @return the writer
+     * @throws NullPointerException if out, charset or preference are null
+     * @throws IllegalArgumentException if workers is not positive
+     * @since 4.1.0
+     */
+    public static CsvDeclarativeBeanWriter gzip(final OutputStream out, final Charset charset,
+            final CsvPreference preference, int workers) {
+        Objects.requireNonNull(out, "out");
+        Objects.requireNonNull(charset, "charset");
+        Objects.requireNonNull(preference, "preference");
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers should be positive");
+        }
+
+        return new CsvDeclarativeBeanWriter(
+                new OutputStreamWriter(new ParallelGzipOutputStream(out, GZIP_BLOCK_SIZE, workers), charset), preference);
+    }
+
+    private static BufferedWriter bufferize(final Writer writer) {
+        if (writer == null) {
+            throw new NullPointerException("writer should not be null");
+        }
+
+        return new BufferedWriter(writer);
     }
 
     /**
@@ -65,41 +153,295 @@ public class CsvDeclarativeBeanWriter extends AbstractCsvWriter {
             throw new IllegalArgumentException("source must not be null");
         }
 
-        incrementRowAndLineNo();
+        write(source, mappingSession.getCells(source.getClass()));
+    }
 
-        BeanDescriptor beanDescriptor = BeanDescriptor.create(source.getClass());
-        BeanCells cells = BeanCells.getFields(beanDescriptor, StandardCsvContexts.WRITE);
-        List<Object> beanValues = extractBeanValues(source, cells);
+    /**
+     * Writes a row per bean. The mapping is only looked up again if the bean type changes.
+     *
+     * @param sources the bean-instances to write
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if sources or one of the beans is null
+     * @throws SuperCsvException if there was a general exception while writing/processing
+     * @throws SuperCsvReflectionException if there was an reflection exception
+     * @since 4.1.0
+     */
+    public void writeAll(final Iterable<?> sources) throws IOException {
+        if (sources == null) {
+            throw new IllegalArgumentException("sources must not be null");
+        }
 
-        List<Object> processedColumns = new ArrayList<>();
+        writeAll(sources.iterator());
+    }
 
-        List<CellProcessor> rowProcessors = new ArrayList<>();
-        for (BeanCell cell : cells.getAll()) {
-            rowProcessors.add(cell.getProcessor());
+    /**
+     * Writes a row per bean of the given stream in encounter order (see {@link #writeAll(Iterable)}). The stream is
+     * not closed.
+     *
+     * @param sources the bean-instances to write
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if sources or one of the beans is null
+     * @throws SuperCsvException if there was a general exception while writing/processing
+     * @throws SuperCsvReflectionException if there was an reflection exception
+     * @since 4.1.0
+     */
+    public void writeAll(final Stream<?> sources) throws IOException {
+        if (sources == null) {
+            throw new IllegalArgumentException("sources must not be null");
         }
 
-        Util.executeCellProcessors(processedColumns, beanValues,
-                rowProcessors.toArray(new CellProcessor[rowProcessors.size()]), getLineNumber(), getRowNumber());
+        writeAll(sources.iterator());
+    }
+
+    /**
+     * Writes a row per bean like {@link #writeAll(Iterable)}, but runs the processors and encodes the rows of batches of
+     * beans in worker threads. The formatted batches are written in the order of the beans by the calling thread.
+     * Line and row numbers of exceptions are the same as when writing sequentially, and all rows before a failing row
+     * are written.
+     * <p>
+     * Each batch is formatted with processor chains of its own. Beans with stateful processors (see
+     * {@link CellProcessorAnnotationDescriptor#stateful()}) are therefore formatted by the calling thread. The
+     * preference's encoder must be thread-safe.
+     *
+     * @param sources the bean-instances to write
+     * @param options number of workers and batch size
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if sources or one of the beans is null
+     * @throws NullPointerException if options is null
+     * @throws SuperCsvException if there was a general exception while writing/processing
+     * @throws SuperCsvReflectionException if there was an reflection exception
+     * @since 4.1.0
+     */
+    public void writeAll(final Iterable<?> sources, ParallelWriteOptions options) throws IOException {
+        if (sources == null) {
+            throw new IllegalArgumentException("sources must not be null");
+        }
 
-        writeRow(processedColumns);
-        flush();
+        writeAll(sources.iterator(), Objects.requireNonNull(options, "options"));
     }
 
-    private List<Object> extractBeanValues(final Object source, BeanCells cells) {
+    /**
+     * Writes a row per bean of the given stream in encounter order, formatting them in worker threads (see
+     * {@link #writeAll(Iterable, ParallelWriteOptions)}). The stream is not closed.
+     *
+     * @param sources the bean-instances to write
+     * @param options number of workers and batch size
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if sources or one of the beans is null
+     * @throws NullPointerException if options is null
+     * @throws SuperCsvException if there was a general exception while writing/processing
+     * @throws SuperCsvReflectionException if there was an reflection exception
+     * @since 4.1.0
+     */
+    public void writeAll(final Stream<?> sources, ParallelWriteOptions options) throws IOException {
+        if (sources == null) {
+            throw new IllegalArgumentException("sources must not be null");
+        }
 
-        List<Object> beanValues = new ArrayList<>();
+        writeAll(sources.iterator(), Objects.requireNonNull(options, "options"));
+    }
 
-        for (BeanCell cell : cells.getAll()) {
-            beanValues.add(cell.getValue(source));
+    /**
+     * Defines when written rows are flushed. Defaults to {@link FlushPolicy#everyRow()}.
+     *
+     * @param flushPolicy the flush policy to use
+     * @throws NullPointerException if flushPolicy is null
+     * @since 4.1.0
+     */
+    public void setFlushPolicy(FlushPolicy flushPolicy) {
+        this.flushPolicy = Objects.requireNonNull(flushPolicy, "flushPolicy");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        super.flush();
+
+        rowsSinceFlush = 0;
+        charactersSinceFlush = 0;
+        if (flushPolicy.isTimed()) {
+            lastFlushNanos = System.nanoTime();
+        }
+    }
+
+    private void writeAll(final Iterator<?> sources) throws IOException {
+        Class<?> type = null;
+        BeanCells cells = null;
+        while (sources.hasNext()) {
+            Object source = sources.next();
+            if (source == null) {
+                throw new IllegalArgumentException("source must not be null");
+            }
+
+            if (source.getClass() != type) {
+                type = source.getClass();
+                cells = mappingSession.getCells(type);
+            }
+            write(source, cells);
+        }
+    }
+
+    private void writeAll(final Iterator<?> sources, ParallelWriteOptions options) throws IOException {
+        ExecutorService ownExecutor = options.getExecutor() == null ? newWorkerPool(options.getWorkers()) : null;
+        Executor executor = ownExecutor == null ? options.getExecutor() : ownExecutor;
+        RowFormatter formatter = new RowFormatter(preference);
+        Deque<CompletableFuture<RowFormatter.Chunk>> formatting = new ArrayDeque<>();
+        int additionalLinesBefore = additionalLines;
+        int line = getLineNumber() + 1;
+        int rowNumber = getRowNumber() + 1;
+
+        try {
+            Class<?> type = null;
+            BeanCells cells = null;
+            List<Object> beans = new ArrayList<>();
+            List<BeanCells> beanCells = new ArrayList<>();
+            boolean stateful = false;
+            while (sources.hasNext() || !beans.isEmpty()) {
+                if (sources.hasNext()) {
+                    Object source = sources.next();
+                    if (source == null) {
+                        throw new IllegalArgumentException("source must not be null");
+                    }
+
+                    if (source.getClass() != type) {
+                        type = source.getClass();
+                        cells = mappingSession.getCells(type);
+                    }
+                    beans.add(source);
+                    beanCells.add(cells);
+                    stateful |= cells.isStateful();
+
+                    if (beans.size() < options.getBatchSize()) {
+                        continue;
+                    }
+                }
+
+                List<Object> batch = beans;
+                List<BeanCells> batchCells = beanCells;
+                int firstLine = line;
+                int firstRow = rowNumber;
+                formatting.add(stateful
+                        ? CompletableFuture.completedFuture(formatter.format(batch, batchCells, true, firstLine, firstRow))
+                        : CompletableFuture.supplyAsync(() -> formatter.format(batch, batchCells, false, firstLine, firstRow),
+                                executor));
+                line += batch.size();
+                rowNumber += batch.size();
+                beans = new ArrayList<>();
+                beanCells = new ArrayList<>();
+                stateful = false;
+
+                if (formatting.size() >= 2 * options.getWorkers()) {
+                    write(formatting.poll().join(), additionalLines - additionalLinesBefore);
+                }
+            }
+
+            while (!formatting.isEmpty()) {
+                write(formatting.poll().join(), additionalLines - additionalLinesBefore);
+            }
+        } finally {
+            if (ownExecutor != null) {
+                ownExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private static ExecutorService newWorkerPool(int workers) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "csv-writer-worker-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Writes the formatted rows of a batch and throws its failure, if any
+     *
+     * @param chunk the formatted batch
+     * @param lineShift lines the batch's line numbers are behind due to line breaks in columns of previous batches
+     */
+    private void write(RowFormatter.Chunk chunk, int lineShift) throws IOException {
+        out.write(chunk.getText());
+        for (int i = 0; i < chunk.getRows(); i++) {
+            incrementRowAndLineNo();
+        }
+        additionalLines += chunk.getAdditionalLines();
+        rowsSinceFlush += chunk.getRows();
+        charactersSinceFlush += chunk.getText().length();
+
+        Throwable failure = chunk.getFailure();
+        if (failure != null) {
+            if (failure instanceof SuperCsvException && ((SuperCsvException) failure).getCsvContext() != null) {
+                CsvContext context = ((SuperCsvException) failure).getCsvContext();
+                context.setLineNumber(context.getLineNumber() + lineShift);
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw (RuntimeException) failure;
+        }
+
+        if (flushPolicy.isDue(rowsSinceFlush, charactersSinceFlush,
+                flushPolicy.isTimed() ? System.nanoTime() - lastFlushNanos : 0)) {
+            flush();
+        }
+    }
+
+    /**
+     * @return the line number being written / just written, including line breaks in columns
+     */
+    @Override
+    public int getLineNumber() {
+        return super.getLineNumber() + additionalLines;
+    }
+
+    private void write(final Object source, BeanCells cells) throws IOException {
+        incrementRowAndLineNo();
+
+        cells.extractValues(source, beanValues);
+
+        processorExecutor.execute(processedColumns, beanValues, cells.getMappedProcessors(), getLineNumber(), getRowNumber());
+
+        writeRow(toRow(processedColumns));
+
+        rowsSinceFlush++;
+        if (flushPolicy.isDue(rowsSinceFlush, charactersSinceFlush,
+                flushPolicy.isTimed() ? System.nanoTime() - lastFlushNanos : 0)) {
+            flush();
+        }
+    }
+
+    /**
+     * Defines the registry to take bean mappings from. Defaults to {@link MappingRegistry#getDefault()}.
+     *
+     * @param mappingRegistry the registry to use
+     * @throws NullPointerException if mappingRegistry is null
+     * @since 4.1.0
+     */
+    public void setMappingRegistry(MappingRegistry mappingRegistry) {
+        mappingSession.setRegistry(mappingRegistry);
+    }
+
+    private String[] toRow(List<Object> columns) {
+        if (row.length != columns.size()) {
+            row = new String[columns.size()];
         }
 
-        return beanValues;
+        charactersSinceFlush += Math.max(row.length - 1, 0) + endOfLineLength;
+        for (int i = 0; i < row.length; i++) {
+            Object column = columns.get(i);
+            row[i] = column == null ? null : column.toString();
+            charactersSinceFlush += row[i] == null ? 0 : row[i].length();
+        }
+
+        return row;
     }
-    
+
     @Override
     public void close() throws IOException {
-        super.close();
-        
-        BeanCells.resetCache();
+        try {
+            super.close();
+        } finally {
+            mappingSession.clear();
+        }
     }
 }
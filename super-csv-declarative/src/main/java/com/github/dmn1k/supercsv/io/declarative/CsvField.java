@@ -10,9 +10,19 @@ import java.lang.annotation.Target;
 public @interface CsvField {
 
     /**
-     * Defines the zero based index number of the csv column.
+     * Defines the zero based index number of the csv column. Defaults to the position of the field among the fields
+     * annotated with {@link CsvField}.
      *
      * @return column number
      */
-    int index();
+    int index() default -1;
+
+    /**
+     * Defines the name of the column in the header, which is used if the columns are mapped by name (see
+     * {@link CsvDeclarativeBeanReader#mapColumnsByHeader()}). Defaults to the name of the field.
+     *
+     * @return column name
+     * @since 4.1.0
+     */
+    String name() default "";
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.internal.util.Form;
+import java.util.Arrays;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+/**
+ * Violations of rows rejected by a reader in error collection mode (see
+ * {@link CsvDeclarativeBeanReader#setErrorReport(ErrorReport)}). The report is preallocated: it records up to its
+ * capacity violations and only counts the ones beyond. Violations are stored in flat arrays, there is no object per
+ * violation apart from its reason.
+ * <p>
+ * Recording is thread-safe, so a report may be shared by the workers of
+ * {@link CsvDeclarativeBeanReader#stream(Class, ParallelReadOptions)}; violations are then recorded in the order
+ * they are found, which may differ from the row order.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class ErrorReport {
+
+    private final int[] rowNumbers;
+    private final int[] lineNumbers;
+    private final int[] columnNumbers;
+    private final Class<?>[] processors;
+    private final String[] reasons;
+    private int size;
+    private long violationCount;
+    private long rejectedRowCount;
+
+    /**
+     * @param capacity maximum number of violations to record
+     * @throws IllegalArgumentException if capacity isn't positive
+     */
+    public ErrorReport(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+
+        this.rowNumbers = new int[capacity];
+        this.lineNumbers = new int[capacity];
+        this.columnNumbers = new int[capacity];
+        this.processors = new Class<?>[capacity];
+        this.reasons = new String[capacity];
+    }
+
+    /**
+     * Records a violation. Called by readers and constraint processors.
+     *
+     * @param rowNumber number of the row
+     * @param lineNumber number of the row's last line
+     * @param columnNumber number (1-based) of the column or 0 if the row as a whole is invalid
+     * @param processor the processor which found the violation or null
+     * @param reason description of the violation
+     */
+    public synchronized void record(int rowNumber, int lineNumber, int columnNumber, CellProcessor processor, String reason) {
+        violationCount++;
+        if (size == reasons.length) {
+            return;
+        }
+
+        rowNumbers[size] = rowNumber;
+        lineNumbers[size] = lineNumber;
+        columnNumbers[size] = columnNumber;
+        processors[size] = processor == null ? null : processor.getClass();
+        reasons[size] = reason;
+        size++;
+    }
+
+    synchronized void rowRejected() {
+        rejectedRowCount++;
+    }
+
+    /**
+     * @return number of recorded violations
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return number of violations including those which weren't recorded because the report was full
+     */
+    public synchronized long getViolationCount() {
+        return violationCount;
+    }
+
+    /**
+     * @return number of rows which were skipped because of violations
+     */
+    public synchronized long getRejectedRowCount() {
+        return rejectedRowCount;
+    }
+
+    /**
+     * @param index index of the violation
+     * @return number of the rejected row
+     */
+    public synchronized int getRowNumber(int index) {
+        checkIndex(index);
+        return rowNumbers[index];
+    }
+
+    /**
+     * @param index index of the violation
+     * @return number of the last line of the rejected row
+     */
+    public synchronized int getLineNumber(int index) {
+        checkIndex(index);
+        return lineNumbers[index];
+    }
+
+    /**
+     * @param index index of the violation
+     * @return number (1-based) of the violating column or 0 if the row as a whole is invalid
+     */
+    public synchronized int getColumnNumber(int index) {
+        checkIndex(index);
+        return columnNumbers[index];
+    }
+
+    /**
+     * @param index index of the violation
+     * @return type of the processor which found the violation or null if it wasn't found by a processor
+     */
+    public synchronized Class<?> getProcessor(int index) {
+        checkIndex(index);
+        return processors[index];
+    }
+
+    /**
+     * @param index index of the violation
+     * @return description of the violation
+     */
+    public synchronized String getReason(int index) {
+        checkIndex(index);
+        return reasons[index];
+    }
+
+    /**
+     * @param index index of the violation
+     * @return the violation as a single line, e.g. for logging
+     */
+    public synchronized String describe(int index) {
+        checkIndex(index);
+        return Form.at("row {} (line {}), column {}{}: {}", rowNumbers[index], lineNumbers[index], columnNumbers[index],
+                processors[index] == null ? "" : " (" + processors[index].getSimpleName() + ")", reasons[index]);
+    }
+
+    /**
+     * Removes all violations and resets the counters
+     */
+    public synchronized void clear() {
+        Arrays.fill(processors, 0, size, null);
+        Arrays.fill(reasons, 0, size, null);
+        size = 0;
+        violationCount = 0;
+        rejectedRowCount = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(Form.at("index {} of {} violations", index, size));
+        }
+    }
+}
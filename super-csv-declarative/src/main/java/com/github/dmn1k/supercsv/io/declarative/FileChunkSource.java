@@ -0,0 +1,226 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Splits a file into byte ranges which end at record boundaries. The ranges are found by a single pass over the bytes
+ * (see {@link RecordScanner}), so that tokenizing and mapping of the ranges can be done by the workers. Line and row
+ * numbers before each range are counted as well, which keeps the numbers in {@link org.supercsv.util.CsvContext}
+ * absolute.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class FileChunkSource<T> implements ParallelReadPipeline.BatchSource<T> {
+
+    private static final int ROWS_PER_READ = 512;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final CsvPreference preferences;
+    private final int chunkSize;
+    private final long end;
+    private final int lineOffset;
+    private final int rowOffset;
+    private final RecordScanner scanner;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private long position;
+
+    /**
+     * @param channel the file
+     * @param start offset of the first byte to read
+     * @param lineOffset number of lines before start
+     * @param rowOffset number of rows before start
+     * @param charset the file's charset
+     * @param preferences the CSV preferences
+     * @param chunkSize minimum number of bytes per range
+     * @throws IOException if the file's size couldn't be determined
+     */
+    FileChunkSource(FileChannel channel, long start, int lineOffset, int rowOffset, Charset charset,
+            CsvPreference preferences, int chunkSize) throws IOException {
+        this.channel = channel;
+        this.charset = charset;
+        this.preferences = preferences;
+        this.chunkSize = chunkSize;
+        this.end = channel.size();
+        this.lineOffset = lineOffset;
+        this.rowOffset = rowOffset;
+        this.scanner = new RecordScanner(preferences);
+        this.position = start;
+        this.buffer.limit(0);
+    }
+
+    /**
+     * Record boundaries can only be found on bytes if quotes and line endings are encoded as single ASCII bytes which
+     * aren't part of other characters, and if there are no comments which could contain unbalanced quotes.
+     *
+     * @param charset the file's charset
+     * @param preferences the CSV preferences
+     * @return whether files with the given charset and preferences can be split
+     */
+    static boolean supports(Charset charset, CsvPreference preferences) {
+        if (preferences.getCommentMatcher() != null || preferences.getQuoteChar() >= 0x80) {
+            return false;
+        }
+
+        String separators = preferences.getQuoteChar() + "\r\n";
+        return charset.canEncode()
+                && Arrays.equals(separators.getBytes(charset), separators.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Skips rows which were already read from the file, e.g. a header
+     *
+     * @param rows number of rows to skip
+     * @return false if the rows don't end with a line feed, so the ranges can't start behind them
+     * @throws IOException if the file couldn't be read
+     */
+    boolean skipRows(int rows) throws IOException {
+        while (scanner.getRows() < rows) {
+            if (position >= end || !buffer.hasRemaining() && !fill()) {
+                return false;
+            }
+
+            position++;
+            if (scanner.scan(buffer.get()) && scanner.getRows() >= rows) {
+                return scanner.getRows() == rows;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public ParallelReadPipeline.Batch<T> next() throws IOException {
+        if (position >= end) {
+            return null;
+        }
+
+        long start = position;
+        int linesBefore = lineOffset + scanner.getLines();
+        int rowsBefore = rowOffset + scanner.getRows();
+        long target = start + chunkSize;
+        while (position < end) {
+            if (!buffer.hasRemaining() && !fill()) {
+                break;
+            }
+
+            position++;
+            if (scanner.scan(buffer.get()) && position >= target) {
+                break;
+            }
+        }
+
+        return new FileChunk<>(this, start, position, linesBefore, rowsBefore);
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read = channel.read(buffer, position);
+        buffer.flip();
+        return read > 0;
+    }
+
+    private static final class FileChunk<T> extends ParallelReadPipeline.Batch<T> {
+
+        private final FileChunkSource<T> source;
+        private final long start;
+        private final long end;
+        private final int linesBefore;
+        private final int rowsBefore;
+
+        FileChunk(FileChunkSource<T> source, long start, long end, int linesBefore, int rowsBefore) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+            this.linesBefore = linesBefore;
+            this.rowsBefore = rowsBefore;
+        }
+
+        @Override
+        void map(CsvDeclarativeBeanReader.RowMapper<T> rowMapper, List<T> beans) throws IOException {
+            InputStream range = new RangeInputStream(source.channel, start, end);
+            try (CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(
+                    new InputStreamReader(range, source.charset), source.preferences)) {
+                for (List<TokenizedRow> rows = reader.readTokenizedRows(ROWS_PER_READ); !rows.isEmpty();
+                        rows = reader.readTokenizedRows(ROWS_PER_READ)) {
+                    for (TokenizedRow row : rows) {
+                        T bean = rowMapper.map(new TokenizedRow(row.getColumns(), linesBefore + row.getLineNumber(),
+                                rowsBefore + row.getRowNumber()));
+                        if (bean != null) {
+                            beans.add(bean);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a byte range via positional reads, which neither change the channel's position nor block other readers
+     */
+    private static final class RangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+
+            int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(end - position, Integer.MAX_VALUE);
+        }
+    }
+}
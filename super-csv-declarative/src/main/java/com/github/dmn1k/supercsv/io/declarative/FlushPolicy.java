@@ -0,0 +1,120 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.time.Duration;
+
+/**
+ * Defines when {@link CsvDeclarativeBeanWriter} flushes written rows to the underlying writer. Policies are only
+ * checked when a row is written, there is no background flushing. Closing the writer always flushes.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class FlushPolicy {
+
+    private static final FlushPolicy EVERY_ROW = new FlushPolicy(1, 0, 0);
+    private static final FlushPolicy ON_CLOSE = new FlushPolicy(0, 0, 0);
+
+    private final long rows;
+    private final long characters;
+    private final long nanos;
+
+    private FlushPolicy(long rows, long characters, long nanos) {
+        this.rows = rows;
+        this.characters = characters;
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return flushes after every row (the default)
+     */
+    public static FlushPolicy everyRow() {
+        return EVERY_ROW;
+    }
+
+    /**
+     * @return only flushes when the writer is flushed or closed explicitly
+     */
+    public static FlushPolicy onClose() {
+        return ON_CLOSE;
+    }
+
+    /**
+     * @param rows number of rows
+     * @return flushes after every given number of rows
+     * @throws IllegalArgumentException if rows is not positive
+     */
+    public static FlushPolicy everyRows(long rows) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("rows should be positive");
+        }
+
+        return new FlushPolicy(rows, 0, 0);
+    }
+
+    /**
+     * Writers work on characters, so the threshold is in characters (including delimiters and line endings but not
+     * quotes added for escaping) rather than encoded bytes.
+     *
+     * @param characters number of characters
+     * @return flushes as soon as at least the given number of characters was written since the last flush
+     * @throws IllegalArgumentException if characters is not positive
+     */
+    public static FlushPolicy everyCharacters(long characters) {
+        if (characters <= 0) {
+            throw new IllegalArgumentException("characters should be positive");
+        }
+
+        return new FlushPolicy(0, characters, 0);
+    }
+
+    /**
+     * @param interval minimum time between two flushes
+     * @return flushes with the first row written after the given interval elapsed since the last flush
+     * @throws IllegalArgumentException if interval is not positive
+     */
+    public static FlushPolicy every(Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval should be positive");
+        }
+
+        return new FlushPolicy(0, 0, interval.toNanos());
+    }
+
+    boolean isTimed() {
+        return nanos > 0;
+    }
+
+    boolean isDue(long rowsSinceFlush, long charactersSinceFlush, long nanosSinceFlush) {
+        return (rows > 0 && rowsSinceFlush >= rows)
+                || (characters > 0 && charactersSinceFlush >= characters)
+                || (nanos > 0 && nanosSinceFlush >= nanos);
+    }
+
+    @Override
+    public String toString() {
+        if (rows > 0) {
+            return rows == 1 ? "FlushPolicy[every row]" : "FlushPolicy[every " + rows + " rows]";
+        } else if (characters > 0) {
+            return "FlushPolicy[every " + characters + " characters]";
+        } else if (nanos > 0) {
+            return "FlushPolicy[every " + Duration.ofNanos(nanos) + "]";
+        }
+
+        return "FlushPolicy[on close]";
+    }
+}
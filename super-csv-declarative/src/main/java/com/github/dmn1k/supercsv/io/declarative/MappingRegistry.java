@@ -0,0 +1,440 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.internal.cells.BeanCells;
+import com.github.dmn1k.supercsv.internal.util.ClassPathScanner;
+import com.github.dmn1k.supercsv.internal.util.Form;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingMode;
+import com.github.dmn1k.supercsv.model.BeanDescriptor;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * Caches the mappings (fields, accessors and processor definitions) of bean types. A registry can be shared by any
+ * number of readers and writers (see {@link #getDefault()}) or be scoped to a single one. Closing a reader or writer
+ * doesn't affect the registry.
+ * <p>
+ * Bean types are referenced weakly, so classes can still be unloaded (e.g. on redeployments in application servers).
+ * Processor chains are created per reader/writer from the cached definitions, so stateful processors like
+ * {@link com.github.dmn1k.supercsv.io.declarative.constraint.annotation.Unique} never span multiple readers/writers.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class MappingRegistry {
+
+    private static final MappingRegistry DEFAULT = new MappingRegistry();
+    private static final int MAX_HEADERS_PER_TYPE = 8;
+
+    // values are stored in the classes themselves, so they don't keep their class from being unloaded
+    private final ClassValue<ConcurrentMap<String, BeanCells>> mappings = new ClassValue<ConcurrentMap<String, BeanCells>>() {
+        @Override
+        protected ConcurrentMap<String, BeanCells> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // mappings by column names, keyed by context and header, in least recently used order
+    private final ClassValue<Map<List<Object>, BeanCells>> headerMappings = new ClassValue<Map<List<Object>, BeanCells>>() {
+        @Override
+        protected Map<List<Object>, BeanCells> computeValue(Class<?> type) {
+            return new LinkedHashMap<List<Object>, BeanCells>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, BeanCells> eldest) {
+                    return size() > MAX_HEADERS_PER_TYPE;
+                }
+            };
+        }
+    };
+
+    // known bean types in least recently used order
+    private final Map<TypeReference, Boolean> usage = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<Class<?>> collectedTypes = new ReferenceQueue<>();
+    private final int maximumSize;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates an unbounded registry
+     */
+    public MappingRegistry() {
+        this(0);
+    }
+
+    /**
+     * Creates a registry holding the mappings of at most maximumSize bean types. If more types are mapped, the least
+     * recently used ones are evicted.
+     *
+     * @param maximumSize maximum number of bean types or 0 if unbounded
+     * @throws IllegalArgumentException if maximumSize is negative
+     */
+    public MappingRegistry(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return the unbounded registry used by all readers and writers which don't have their own
+     */
+    public static MappingRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the mapping of the given bean type, creating it if necessary. Concurrent requests for the same mapping
+     * create it only once.
+     *
+     * @param beanType the bean type
+     * @param context the context (see {@link StandardCsvContexts})
+     * @return the mapping
+     */
+    BeanCells getCells(Class<?> beanType, String context) {
+        requestCount.increment();
+        ConcurrentMap<String, BeanCells> mappingsByContext = mappings.get(beanType);
+        BeanCells cells = mappingsByContext.get(context);
+        if (cells == null) {
+            cells = mappingsByContext.computeIfAbsent(context, c -> {
+                missCount.increment();
+                return BeanCells.create(BeanDescriptor.create(beanType), c);
+            });
+        }
+
+        markUsed(beanType);
+        return cells;
+    }
+
+    /**
+     * Returns the mapping of the given bean type to the columns of a header (see {@link BeanCells#byHeader(List,
+     * com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingModeType)}), creating it if necessary. Mappings
+     * are cached per distinct header, up to 8 headers per bean type (the least recently used ones are evicted).
+     *
+     * @param beanType the bean type
+     * @param context the context (see {@link StandardCsvContexts})
+     * @param header the column names, must not be modified afterwards
+     * @return the mapping
+     * @throws SuperCsvException if the header doesn't match the bean type
+     */
+    BeanCells getCells(Class<?> beanType, String context, List<String> header) {
+        BeanCells positionalCells = getCells(beanType, context);
+        Map<List<Object>, BeanCells> mappingsByHeader = headerMappings.get(beanType);
+        List<Object> key = Arrays.asList(context, header);
+        BeanCells cells;
+        synchronized (mappingsByHeader) {
+            cells = mappingsByHeader.get(key);
+        }
+        if (cells != null) {
+            return cells;
+        }
+
+        // mapped outside of the lock, concurrent requests for the same header keep the first mapping
+        BeanCells mapped = positionalCells.byHeader(header, BeanDescriptor.create(beanType).getMappingMode());
+        synchronized (mappingsByHeader) {
+            cells = mappingsByHeader.putIfAbsent(key, mapped);
+        }
+        return cells == null ? mapped : cells;
+    }
+
+    /**
+     * Creates the READ-, WRITE- and VALIDATE-mappings of the given bean types in the calling thread. Mapping errors (like
+     * incomplete mappings in STRICT-mode) surface here instead of when reading/writing the first row.
+     *
+     * @param beanTypes the bean types to precompile
+     * @return compile times per bean type
+     * @throws SuperCsvException if the mapping of any bean type is invalid (after all other types were compiled)
+     */
+    public PrecompilationReport precompile(Class<?>... beanTypes) {
+        return precompile(Arrays.asList(beanTypes), Runnable::run);
+    }
+
+    /**
+     * Creates the READ-, WRITE- and VALIDATE-mappings of the given bean types, one task per bean type.
+     *
+     * @param beanTypes the bean types to precompile
+     * @param executor executes the compile tasks, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * @return compile times per bean type
+     * @throws SuperCsvException if the mapping of any bean type is invalid (after all other types were compiled)
+     */
+    public PrecompilationReport precompile(Collection<Class<?>> beanTypes, Executor executor) {
+        long start = System.nanoTime();
+        Map<Class<?>, CompletableFuture<Duration>> tasks = new LinkedHashMap<>();
+        for (Class<?> beanType : beanTypes) {
+            tasks.put(beanType, CompletableFuture.supplyAsync(() -> compile(beanType), executor));
+        }
+
+        Map<Class<?>, Duration> compileTimes = new LinkedHashMap<>();
+        Map<Class<?>, Throwable> failures = new LinkedHashMap<>();
+        for (Map.Entry<Class<?>, CompletableFuture<Duration>> task : tasks.entrySet()) {
+            try {
+                compileTimes.put(task.getKey(), task.getValue().join());
+            } catch (CompletionException e) {
+                failures.put(task.getKey(), e.getCause());
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            List<String> messages = new ArrayList<>();
+            for (Map.Entry<Class<?>, Throwable> failure : failures.entrySet()) {
+                messages.add(failure.getKey().getName() + ": " + failure.getValue().getMessage());
+            }
+
+            SuperCsvException exception = new SuperCsvException(Form.at("Invalid mappings of {} bean types:\n{}", failures.size(),
+                    String.join("\n", messages)));
+            for (Throwable cause : failures.values()) {
+                exception.addSuppressed(cause);
+            }
+            throw exception;
+        }
+
+        return new PrecompilationReport(compileTimes, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Precompiles all beans found in the given package and its subpackages (see {@link #precompile(Collection, Executor)}).
+     * Classes are considered beans if they are annotated with {@link com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType}
+     * or {@link com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingMode} or use {@link CsvField}. Beans relying
+     * on conventions only have to be precompiled explicitly.
+     *
+     * @param packageName the package to scan
+     * @param executor executes the compile tasks
+     * @return compile times per bean type
+     * @throws SuperCsvException if the mapping of any bean type is invalid (after all other types were compiled)
+     */
+    public PrecompilationReport precompilePackage(String packageName, Executor executor) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = MappingRegistry.class.getClassLoader();
+        }
+
+        List<Class<?>> beanTypes = new ArrayList<>();
+        for (Class<?> type : ClassPathScanner.findClasses(packageName, classLoader)) {
+            if (isDeclarativeBean(type)) {
+                beanTypes.add(type);
+            }
+        }
+
+        return precompile(beanTypes, executor);
+    }
+
+    /**
+     * Removes all mappings
+     */
+    public void clear() {
+        List<Class<?>> types = new ArrayList<>();
+        synchronized (usage) {
+            for (TypeReference reference : usage.keySet()) {
+                Class<?> type = reference.get();
+                if (type != null) {
+                    types.add(type);
+                }
+            }
+            usage.clear();
+        }
+
+        for (Class<?> type : types) {
+            mappings.remove(type);
+            headerMappings.remove(type);
+        }
+    }
+
+    /**
+     * @return number of bean types with cached mappings
+     */
+    public int size() {
+        synchronized (usage) {
+            expungeCollectedTypes();
+            return usage.size();
+        }
+    }
+
+    /**
+     * @return a snapshot of this registry's statistics
+     */
+    public Statistics getStatistics() {
+        long requests = requestCount.sum();
+        long misses = missCount.sum();
+        return new Statistics(Math.max(requests - misses, 0), misses, evictionCount.sum(), size());
+    }
+
+    private Duration compile(Class<?> beanType) {
+        long start = System.nanoTime();
+        getCells(beanType, StandardCsvContexts.READ);
+        getCells(beanType, StandardCsvContexts.WRITE);
+        getCells(beanType, StandardCsvContexts.VALIDATE);
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private static boolean isDeclarativeBean(Class<?> type) {
+        int modifiers = type.getModifiers();
+        if (type.isInterface() || type.isEnum() || type.isAnonymousClass() || type.isLocalClass() || type.isSynthetic()
+                || Modifier.isAbstract(modifiers)) {
+            return false;
+        }
+
+        try {
+            if (type.isAnnotationPresent(CsvAccessorType.class) || type.isAnnotationPresent(CsvMappingMode.class)) {
+                return true;
+            }
+
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(CsvField.class)) {
+                        return true;
+                    }
+                }
+            }
+        } catch (LinkageError e) {
+            return false;
+        }
+
+        return false;
+    }
+
+    private void markUsed(Class<?> beanType) {
+        synchronized (usage) {
+            expungeCollectedTypes();
+            if (usage.get(new TypeReference(beanType, null)) != null) {
+                return;
+            }
+
+            usage.put(new TypeReference(beanType, collectedTypes), Boolean.TRUE);
+            if (maximumSize > 0 && usage.size() > maximumSize) {
+                Iterator<TypeReference> leastRecentlyUsed = usage.keySet().iterator();
+                Class<?> evicted = leastRecentlyUsed.next().get();
+                leastRecentlyUsed.remove();
+                if (evicted != null) {
+                    mappings.remove(evicted);
+                    headerMappings.remove(evicted);
+                }
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private void expungeCollectedTypes() {
+        for (Object reference = collectedTypes.poll(); reference != null; reference = collectedTypes.poll()) {
+            usage.remove(reference);
+        }
+    }
+
+    /**
+     * Statistics of a {@link MappingRegistry}
+     */
+    public static final class Statistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+
+        Statistics(long hitCount, long missCount, long evictionCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        /**
+         * @return number of requests answered with a cached mapping
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return number of mappings which had to be created
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return number of bean types evicted because of the size bound
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return number of bean types with cached mappings
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return ratio of requests answered with a cached mapping or 1 if there were no requests
+         */
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "MappingRegistry.Statistics [hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+                    + evictionCount + ", size=" + size + "]";
+        }
+    }
+
+    private static final class TypeReference extends WeakReference<Class<?>> {
+
+        private final int hashCode;
+
+        TypeReference(Class<?> type, ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            this.hashCode = System.identityHashCode(type);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TypeReference)) {
+                return false;
+            }
+            Class<?> type = get();
+            return type != null && type == ((TypeReference) obj).get();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.internal.cells.BeanCells;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The mappings used by a single reader/writer. Mappings are taken from a {@link MappingRegistry} and get their own
+ * processor chains, so stateful processors are reset (and release their resources) when the reader/writer is closed.
+ * Not thread-safe.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class MappingSession {
+
+    private final String context;
+    private final Map<Class<?>, BeanCells> cells = new HashMap<>();
+    private final Map<Class<?>, Map<List<String>, BeanCells>> projections = new HashMap<>();
+    private MappingRegistry registry = MappingRegistry.getDefault();
+    private List<String> header;
+
+    MappingSession(String context) {
+        this.context = context;
+    }
+
+    BeanCells getCells(Class<?> beanType) {
+        BeanCells result = cells.get(beanType);
+        if (result == null) {
+            result = (header == null ? registry.getCells(beanType, context)
+                    : registry.getCells(beanType, context, header)).newSession();
+            cells.put(beanType, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param beanType the bean type
+     * @param fieldNames the fields to map
+     * @return cells of the bean type narrowed to the given fields (see {@link BeanCells#project(java.util.Collection)})
+     */
+    BeanCells getCells(Class<?> beanType, List<String> fieldNames) {
+        Map<List<String>, BeanCells> projectionsOfType = projections.computeIfAbsent(beanType, type -> new HashMap<>());
+        BeanCells result = projectionsOfType.get(fieldNames);
+        if (result == null) {
+            result = getCells(beanType).project(fieldNames);
+            projectionsOfType.put(new ArrayList<>(fieldNames), result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param header column names to map fields by (see {@link CsvField#name()}),
+     * null to map them by index
+     * @throws IOException if the resources of the previous mappings couldn't be released
+     */
+    void setHeader(List<String> header) throws IOException {
+        this.header = header == null ? null : Collections.unmodifiableList(new ArrayList<>(header));
+        clear();
+    }
+
+    void setRegistry(MappingRegistry registry) {
+        this.registry = Objects.requireNonNull(registry, "mappingRegistry");
+        try {
+            clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Drops all mappings, releasing the resources of their processors (see {@link BeanCells#close()})
+     *
+     * @throws IOException if a resource couldn't be released, after releasing all others
+     */
+    void clear() throws IOException {
+        IOException failure = null;
+        for (BeanCells sessionCells : cells.values()) {
+            try {
+                sessionCells.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        cells.clear();
+        projections.clear();
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
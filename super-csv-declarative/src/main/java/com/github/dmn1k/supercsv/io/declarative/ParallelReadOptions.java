@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configures how {@link CsvDeclarativeBeanReader#stream(Class, ParallelReadOptions)} processes rows in parallel.
+ * Instances are immutable, the with-methods return modified copies.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class ParallelReadOptions {
+
+    private final int workers;
+    private final boolean ordered;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Executor executor;
+    private final int chunkSize;
+
+    private ParallelReadOptions(int workers, boolean ordered, int batchSize, int queueCapacity, Executor executor,
+            int chunkSize) {
+        this.workers = workers;
+        this.ordered = ordered;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates options for ordered results, batches of 512 rows or 8 MiB and a queue of two batches per worker
+     *
+     * @param workers number of threads processing rows
+     * @return the options
+     * @throws IllegalArgumentException if workers is not positive
+     */
+    public static ParallelReadOptions workers(int workers) {
+        return new ParallelReadOptions(requirePositive(workers, "workers"), true, 512, 2 * workers, null, 8 << 20);
+    }
+
+    /**
+     * @return options with one worker per available processor
+     */
+    public static ParallelReadOptions availableProcessors() {
+        return workers(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param ordered false to get beans in the order their batches were processed instead of row order
+     * @return modified copy
+     */
+    public ParallelReadOptions withOrdered(boolean ordered) {
+        return new ParallelReadOptions(workers, ordered, batchSize, queueCapacity, executor, chunkSize);
+    }
+
+    /**
+     * @param batchSize number of rows handed to a worker at once
+     * @return modified copy
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public ParallelReadOptions withBatchSize(int batchSize) {
+        return new ParallelReadOptions(workers, ordered, requirePositive(batchSize, "batchSize"), queueCapacity, executor,
+                chunkSize);
+    }
+
+    /**
+     * Limits how far tokenizing may run ahead of the consumer
+     *
+     * @param queueCapacity number of batches which may be tokenized but not yet consumed, in addition to those being
+     * processed
+     * @return modified copy
+     * @throws IllegalArgumentException if queueCapacity is not positive
+     */
+    public ParallelReadOptions withQueueCapacity(int queueCapacity) {
+        return new ParallelReadOptions(workers, ordered, batchSize, requirePositive(queueCapacity, "queueCapacity"), executor,
+                chunkSize);
+    }
+
+    /**
+     * @param executor runs the workers instead of threads created per stream. Must be able to run all workers
+     * concurrently.
+     * @return modified copy
+     */
+    public ParallelReadOptions withExecutor(Executor executor) {
+        return new ParallelReadOptions(workers, ordered, batchSize, queueCapacity, executor, chunkSize);
+    }
+
+    /**
+     * Only applies to readers of a {@link java.nio.channels.FileChannel}, which are split into byte ranges instead of
+     * batches of rows (see {@link CsvDeclarativeBeanReader#stream(Class, ParallelReadOptions)}).
+     *
+     * @param chunkSize minimum number of bytes handed to a worker at once. Ranges end at the next record boundary.
+     * @return modified copy
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public ParallelReadOptions withChunkSize(int chunkSize) {
+        return new ParallelReadOptions(workers, ordered, batchSize, queueCapacity, executor,
+                requirePositive(chunkSize, "chunkSize"));
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the executor for the workers or null if threads are created per stream
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    private static int requirePositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " should be positive");
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelReadOptions[workers=" + workers + ", ordered=" + ordered + ", batchSize=" + batchSize
+                + ", queueCapacity=" + queueCapacity + ", chunkSize=" + chunkSize + "]";
+    }
+}
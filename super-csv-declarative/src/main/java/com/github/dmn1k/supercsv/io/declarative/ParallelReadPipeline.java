@@ -0,0 +1,365 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.internal.cells.BeanCells;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * Reads batches of the input in a dedicated thread and maps them in worker threads. Every worker has its own processor
+ * chains; beans with stateful processors are therefore mapped by a single worker. The number of batches which are
+ * tokenized but not yet consumed is bounded, so a slow consumer slows down tokenizing. Failures are rethrown to the
+ * consumer at the position they occurred (after all beans of preceding rows when ordered).
+ * <p>
+ * The reader must not be used otherwise until the pipeline is closed.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class ParallelReadPipeline<T> implements Iterator<T>, AutoCloseable {
+
+    private final Batch<T> poison = new RowBatch<>(Collections.<TokenizedRow>emptyList());
+
+    private final CsvDeclarativeBeanReader reader;
+    private final BatchSource<T> source;
+    private final Class<T> clazz;
+    private final BeanCells readerCells;
+    private final ParallelReadOptions options;
+    private final int workers;
+
+    private final BlockingQueue<Batch<T>> work = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Result<T>> results = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+    private final Thread tokenizer;
+    private final CountDownLatch finished;
+    private volatile boolean closed;
+
+    private final Map<Long, Result<T>> pending = new HashMap<>();
+    private long consumedBatches;
+    private long batchCount = -1;
+    private Iterator<T> current = Collections.emptyIterator();
+    private Throwable failure;
+    private boolean holdsPermit;
+
+    ParallelReadPipeline(CsvDeclarativeBeanReader reader, Class<T> clazz, BeanCells readerCells, ParallelReadOptions options,
+            BatchSource<T> source) {
+        this.reader = reader;
+        this.source = source;
+        this.clazz = clazz;
+        this.readerCells = readerCells;
+        this.options = options;
+        this.workers = readerCells.isStateful() ? 1 : options.getWorkers();
+        this.permits = new Semaphore(options.getQueueCapacity() + workers);
+        this.finished = new CountDownLatch(workers);
+
+        for (int i = 0; i < workers; i++) {
+            if (options.getExecutor() == null) {
+                Thread worker = new Thread(this::work, "csv-reader-worker-" + i);
+                worker.setDaemon(true);
+                worker.start();
+            } else {
+                options.getExecutor().execute(this::work);
+            }
+        }
+
+        this.tokenizer = new Thread(this::produce, "csv-reader-tokenizer");
+        tokenizer.setDaemon(true);
+        tokenizer.start();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (failure != null) {
+                close();
+                throw rethrow(failure);
+            }
+
+            if (closed) {
+                return false;
+            }
+
+            if (holdsPermit) {
+                permits.release();
+                holdsPermit = false;
+            }
+
+            Result<T> result = options.isOrdered() ? nextInOrder() : nextAvailable();
+            if (result == null) {
+                return false;
+            }
+
+            current = result.beans.iterator();
+            failure = result.failure;
+            holdsPermit = result.batch;
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return current.next();
+    }
+
+    /**
+     * Stops tokenizing and processing and waits for the tokenizer and the workers to finish the rows they are
+     * reading, so the reader (and the file the workers read from) can be closed afterwards
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        // wakes up the tokenizer if it waits for the consumer
+        permits.release(options.getQueueCapacity() + workers);
+        try {
+            tokenizer.join();
+            // the tokenizer hands a poison pill to every worker when it stops
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Result<T> nextInOrder() {
+        while (true) {
+            Result<T> result = pending.remove(consumedBatches);
+            if (result != null) {
+                if (result.batch) {
+                    consumedBatches++;
+                }
+                return result.end ? null : result;
+            }
+
+            result = take();
+            pending.put(result.sequence, result);
+        }
+    }
+
+    private Result<T> nextAvailable() {
+        while (batchCount != consumedBatches) {
+            Result<T> result = take();
+            if (result.end) {
+                batchCount = result.sequence;
+            } else {
+                if (result.batch) {
+                    consumedBatches++;
+                }
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    private Result<T> take() {
+        try {
+            return results.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new SuperCsvException("Interrupted while waiting for processed rows");
+        }
+    }
+
+    /**
+     * @param reader the reader to tokenize
+     * @param batchSize rows per batch
+     * @param <T> the bean type
+     * @return source of batches of tokenized rows
+     */
+    static <T> BatchSource<T> rowBatches(CsvDeclarativeBeanReader reader, int batchSize) {
+        return () -> {
+            List<TokenizedRow> rows = reader.readTokenizedRows(batchSize);
+            return rows.isEmpty() ? null : new RowBatch<>(rows);
+        };
+    }
+
+    private void produce() {
+        long sequence = 0;
+        try {
+            while (true) {
+                permits.acquire();
+                if (closed) {
+                    return;
+                }
+
+                Batch<T> batch = source.next();
+                if (batch == null) {
+                    results.add(Result.<T>end(sequence));
+                    return;
+                }
+
+                batch.sequence = sequence++;
+                work.add(batch);
+            }
+        } catch (InterruptedException e) {
+            // not interrupted by the pipeline, only stop
+            results.add(Result.<T>tokenizerFailure(sequence, new SuperCsvException("Tokenizer was interrupted")));
+        } catch (IOException | RuntimeException | Error e) {
+            results.add(Result.<T>tokenizerFailure(sequence, e));
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                work.add(poison);
+            }
+        }
+    }
+
+    private void work() {
+        CsvDeclarativeBeanReader.RowMapper<T> rowMapper = null;
+        try {
+            for (Batch<T> batch = work.take(); batch != poison; batch = work.take()) {
+                if (closed) {
+                    continue;
+                }
+
+                List<T> beans = new ArrayList<>();
+                try {
+                    if (rowMapper == null) {
+                        rowMapper = reader.new RowMapper<>(clazz, readerCells);
+                    }
+                    batch.map(rowMapper, beans);
+                    results.add(Result.beans(batch.sequence, beans));
+                } catch (IOException | RuntimeException | Error e) {
+                    results.add(Result.batchFailure(batch.sequence, beans, e));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (rowMapper != null) {
+                try {
+                    rowMapper.close();
+                } catch (IOException e) {
+                    // nobody may be waiting for results anymore; spilled values are deleted on exit at the latest
+                }
+            }
+            finished.countDown();
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure instanceof IOException) {
+            return new UncheckedIOException((IOException) failure);
+        }
+
+        return (RuntimeException) failure;
+    }
+
+    /**
+     * Produces the batches of the input in order. Only called by the pipeline's reading thread.
+     */
+    interface BatchSource<T> {
+
+        /**
+         * @return the next batch or null at the end of the input
+         * @throws IOException if an I/O error occurred
+         */
+        Batch<T> next() throws IOException;
+    }
+
+    /**
+     * A part of the input which is mapped by a single worker
+     */
+    abstract static class Batch<T> {
+
+        private long sequence;
+
+        /**
+         * Maps all rows of this batch, rows rejected by the reader's error report (if any) are skipped
+         *
+         * @param rowMapper the worker's mapper
+         * @param beans list to add the beans to, also if mapping fails midway
+         * @throws IOException if an I/O error occurred
+         */
+        abstract void map(CsvDeclarativeBeanReader.RowMapper<T> rowMapper, List<T> beans) throws IOException;
+    }
+
+    private static final class RowBatch<T> extends Batch<T> {
+
+        private final List<TokenizedRow> rows;
+
+        RowBatch(List<TokenizedRow> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        void map(CsvDeclarativeBeanReader.RowMapper<T> rowMapper, List<T> beans) {
+            for (TokenizedRow row : rows) {
+                T bean = rowMapper.map(row);
+                if (bean != null) {
+                    beans.add(bean);
+                }
+            }
+        }
+    }
+
+    private static final class Result<T> {
+
+        private final long sequence;
+        private final List<T> beans;
+        private final Throwable failure;
+        // results of batches hold a permit until they are consumed
+        private final boolean batch;
+        private final boolean end;
+
+        private Result(long sequence, List<T> beans, Throwable failure, boolean batch, boolean end) {
+            this.sequence = sequence;
+            this.beans = beans;
+            this.failure = failure;
+            this.batch = batch;
+            this.end = end;
+        }
+
+        static <T> Result<T> beans(long sequence, List<T> beans) {
+            return new Result<>(sequence, beans, null, true, false);
+        }
+
+        static <T> Result<T> batchFailure(long sequence, List<T> beans, Throwable failure) {
+            return new Result<>(sequence, beans, failure, true, false);
+        }
+
+        static <T> Result<T> tokenizerFailure(long sequence, Throwable failure) {
+            return new Result<>(sequence, Collections.<T>emptyList(), failure, false, false);
+        }
+
+        static <T> Result<T> end(long sequence) {
+            return new Result<>(sequence, Collections.<T>emptyList(), null, false, true);
+        }
+    }
+}
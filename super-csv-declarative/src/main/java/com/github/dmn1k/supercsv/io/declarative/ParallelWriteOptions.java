@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configures how {@link CsvDeclarativeBeanWriter#writeAll(Iterable, ParallelWriteOptions)} formats rows in parallel.
+ * Instances are immutable, the with-methods return modified copies.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class ParallelWriteOptions {
+
+    private final int workers;
+    private final int batchSize;
+    private final Executor executor;
+
+    private ParallelWriteOptions(int workers, int batchSize, Executor executor) {
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates options for batches of 512 rows
+     *
+     * @param workers number of threads formatting rows. Up to two batches per worker are formatted ahead of writing.
+     * @return the options
+     * @throws IllegalArgumentException if workers is not positive
+     */
+    public static ParallelWriteOptions workers(int workers) {
+        return new ParallelWriteOptions(requirePositive(workers, "workers"), 512, null);
+    }
+
+    /**
+     * @return options with one worker per available processor
+     */
+    public static ParallelWriteOptions availableProcessors() {
+        return workers(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param batchSize number of rows handed to a worker at once
+     * @return modified copy
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public ParallelWriteOptions withBatchSize(int batchSize) {
+        return new ParallelWriteOptions(workers, requirePositive(batchSize, "batchSize"), executor);
+    }
+
+    /**
+     * @param executor runs the workers instead of threads created per call
+     * @return modified copy
+     */
+    public ParallelWriteOptions withExecutor(Executor executor) {
+        return new ParallelWriteOptions(workers, batchSize, executor);
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the executor for the workers or null if threads are created per call
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    private static int requirePositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " should be positive");
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelWriteOptions[workers=" + workers + ", batchSize=" + batchSize + "]";
+    }
+}
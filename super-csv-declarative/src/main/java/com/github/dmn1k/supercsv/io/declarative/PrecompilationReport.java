@@ -0,0 +1,64 @@
+/*
+ * Copyright 2007 Kasper B. Graversen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Result of {@link MappingRegistry#precompile(Class...)}: the time it took to create the READ-, WRITE- and
+ * VALIDATE-mappings of each bean type.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class PrecompilationReport {
+
+    private final Map<Class<?>, Duration> compileTimes;
+    private final Duration totalTime;
+
+    PrecompilationReport(Map<Class<?>, Duration> compileTimes, Duration totalTime) {
+        this.compileTimes = Collections.unmodifiableMap(compileTimes);
+        this.totalTime = totalTime;
+    }
+
+    /**
+     * @return compile time per bean type in the order the types were passed/found
+     */
+    public Map<Class<?>, Duration> getCompileTimes() {
+        return compileTimes;
+    }
+
+    /**
+     * @return wall-clock time of the whole precompilation (less than the sum of compile times when run in parallel)
+     */
+    public Duration getTotalTime() {
+        return totalTime;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("Precompiled ").append(compileTimes.size()).append(" bean types in ")
+                .append(totalTime.toMillis()).append(" ms");
+        for (Map.Entry<Class<?>, Duration> entry : compileTimes.entrySet()) {
+            result.append(System.lineSeparator()).append("  ").append(entry.getKey().getName()).append(": ")
+                    .append(entry.getValue().toMillis()).append(" ms");
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.util.BitSet;
+import org.supercsv.io.ITokenizer;
+
+/**
+ * A tokenizer which can skip columns nobody is interested in. Skipped columns are still counted, but their contents
+ * aren't collected and they are read as null, so no String is created for them. {@link CsvDeclarativeBeanReader}
+ * sets the projection to the mapped columns of the bean type before reading a row.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public interface ProjectingTokenizer extends ITokenizer {
+
+    /**
+     * Defines the columns to materialize in the following rows
+     *
+     * @param columns indices (0-based) of the columns to read, null to read all columns. The tokenizer must not
+     * modify it.
+     */
+    void setProjection(BitSet columns);
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Finds record boundaries in CSV bytes by tracking only quotes and line endings. Lines and rows are counted the same
+ * way the tokenizer does, so a reader starting behind a boundary can continue the numbering. Requires a charset and
+ * preferences supported by {@link FileChunkSource#supports(java.nio.charset.Charset, CsvPreference)}.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class RecordScanner {
+
+    private final byte quote;
+    private final boolean ignoreEmptyLines;
+
+    private int lines;
+    private int rows;
+    private boolean inQuotes;
+    private boolean recordHasContent;
+    private boolean recordEnded;
+    private boolean pendingCarriageReturn;
+
+    RecordScanner(CsvPreference preferences) {
+        this.quote = (byte) preferences.getQuoteChar();
+        this.ignoreEmptyLines = preferences.isIgnoreEmptyLines();
+    }
+
+    /**
+     * @param b the next byte
+     * @return true if b is a \n which ends a record, i.e. a reader may start directly behind it
+     */
+    boolean scan(byte b) {
+        if (b == '\n') {
+            if (pendingCarriageReturn) {
+                pendingCarriageReturn = false;
+            } else {
+                endLine();
+            }
+            return recordEnded;
+        } else if (b == '\r') {
+            endLine();
+            pendingCarriageReturn = true;
+        } else {
+            if (b == quote) {
+                inQuotes = !inQuotes;
+            }
+            recordHasContent = true;
+            recordEnded = false;
+            pendingCarriageReturn = false;
+        }
+
+        return false;
+    }
+
+    /**
+     * Counts a last line without line terminator
+     */
+    void finish() {
+        if (recordHasContent) {
+            endLine();
+        }
+    }
+
+    /**
+     * @return number of lines ended so far
+     */
+    int getLines() {
+        return lines;
+    }
+
+    /**
+     * @return number of rows ended so far
+     */
+    int getRows() {
+        return rows;
+    }
+
+    private void endLine() {
+        lines++;
+        if (inQuotes) {
+            recordEnded = false;
+            return;
+        }
+
+        if (recordHasContent || !ignoreEmptyLines) {
+            rows++;
+        }
+        recordHasContent = false;
+        recordEnded = true;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.internal.cells.BeanCells;
+import com.github.dmn1k.supercsv.internal.util.CellProcessorExecutor;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.supercsv.encoder.CsvEncoder;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
+
+/**
+ * Processes and encodes batches of beans into text the same way {@link CsvDeclarativeBeanWriter} writes single rows,
+ * so that batches can be formatted by multiple threads. The encoder of the preferences must be thread-safe, which
+ * the encoders of super-csv are.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class RowFormatter {
+
+    private final CsvPreference preference;
+    private final CsvEncoder encoder;
+    private final char delimiter;
+    private final String endOfLineSymbols;
+
+    RowFormatter(CsvPreference preference) {
+        this.preference = preference;
+        this.encoder = preference.getEncoder();
+        this.delimiter = (char) preference.getDelimiterChar();
+        this.endOfLineSymbols = preference.getEndOfLineSymbols();
+    }
+
+    /**
+     * Formats the beans until all are formatted or one fails
+     *
+     * @param beans the beans to format
+     * @param cells the cells of each bean
+     * @param shareCells true to use the processors of the given cells, false to use a session of its own
+     * @param firstLine the line number of the first bean, assuming no bean spans multiple lines
+     * @param firstRow the row number of the first bean
+     * @return text of the formatted rows and the failure, if any
+     */
+    Chunk format(List<Object> beans, List<BeanCells> cells, boolean shareCells, int firstLine, int firstRow) {
+        StringBuilder text = new StringBuilder(beans.size() * 64);
+        CellProcessorExecutor executor = new CellProcessorExecutor();
+        Map<BeanCells, BeanCells> sessions = new IdentityHashMap<>();
+        List<Object> values = new ArrayList<>();
+        List<Object> processed = new ArrayList<>();
+
+        int line = firstLine - 1;
+        int rows = 0;
+        int committed = 0;
+        int committedLine = line;
+        try {
+            for (int i = 0; i < beans.size(); i++) {
+                BeanCells rowCells = shareCells ? cells.get(i) : sessions.computeIfAbsent(cells.get(i), BeanCells::newSession);
+                line++;
+                int row = firstRow + i;
+
+                rowCells.extractValues(beans.get(i), values);
+                executor.execute(processed, values, rowCells.getMappedProcessors(), line, row);
+                line = append(text, processed, line, row);
+
+                rows++;
+                committed = text.length();
+                committedLine = line;
+            }
+        } catch (RuntimeException | Error e) {
+            text.setLength(committed);
+            return new Chunk(text.toString(), rows, committedLine - firstLine + 1 - rows, e);
+        }
+
+        return new Chunk(text.toString(), rows, committedLine - firstLine + 1 - rows, null);
+    }
+
+    private int append(StringBuilder text, List<Object> columns, int line, int row) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException(String.format("columns to write should not be empty on line %d", line));
+        }
+
+        int currentLine = line;
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                text.append(delimiter);
+            }
+
+            Object column = columns.get(i);
+            if (column != null) {
+                CsvContext context = new CsvContext(currentLine, row, i + 1);
+                text.append(encoder.encode(column.toString(), context, preference));
+                currentLine = context.getLineNumber();
+            }
+        }
+        text.append(endOfLineSymbols);
+
+        return currentLine;
+    }
+
+    /**
+     * Formatted rows of a batch
+     */
+    static final class Chunk {
+
+        private final String text;
+        private final int rows;
+        private final int additionalLines;
+        private final Throwable failure;
+
+        Chunk(String text, int rows, int additionalLines, Throwable failure) {
+            this.text = text;
+            this.rows = rows;
+            this.additionalLines = additionalLines;
+            this.failure = failure;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        int getRows() {
+            return rows;
+        }
+
+        /**
+         * @return number of lines in addition to one per row, caused by line breaks in columns
+         */
+        int getAdditionalLines() {
+            return additionalLines;
+        }
+
+        /**
+         * @return the exception which stopped formatting or null
+         */
+        Throwable getFailure() {
+            return failure;
+        }
+    }
+}
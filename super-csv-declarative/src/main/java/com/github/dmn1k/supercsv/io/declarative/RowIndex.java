@@ -0,0 +1,325 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.internal.util.Form;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Byte offsets and line numbers of every n-th record of a CSV file, which allow to start reading at any row without
+ * tokenizing the rows before (see
+ * {@link CsvDeclarativeBeanReader#seek(FileChannel, Charset, CsvPreference, RowIndex, int)}). An index is built by a
+ * single pass over the bytes of the file which only tracks quotes and line endings, so it requires an ASCII-compatible
+ * charset and no comment matcher (like splitting files in
+ * {@link CsvDeclarativeBeanReader#stream(Class, ParallelReadOptions)}).
+ * <p>
+ * An index can be stored in a sidecar file next to the CSV file. It remembers the size and modification time of the
+ * CSV file and is rebuilt by {@link #load(Path, Charset, CsvPreference, int)} if either of them changed.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class RowIndex {
+
+    private static final int MAGIC = 0x43535649; // "CSVI"
+    private static final int VERSION = 1;
+    private static final String SIDECAR_SUFFIX = ".idx";
+    private static final int HEADER_SIZE = 39;
+    private static final int ENTRY_SIZE = 16;
+
+    private final int interval;
+    private final long fileSize;
+    private final long lastModified;
+    private final char quoteChar;
+    private final boolean ignoreEmptyLines;
+    private final int rowCount;
+    private final long[] offsets;
+    private final int[] lines;
+    private final int[] rows;
+
+    private RowIndex(int interval, long fileSize, long lastModified, char quoteChar, boolean ignoreEmptyLines,
+            int rowCount, long[] offsets, int[] lines, int[] rows) {
+        this.interval = interval;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.quoteChar = quoteChar;
+        this.ignoreEmptyLines = ignoreEmptyLines;
+        this.rowCount = rowCount;
+        this.offsets = offsets;
+        this.lines = lines;
+        this.rows = rows;
+    }
+
+    /**
+     * Builds the index of a file in a single pass
+     *
+     * @param file the CSV file
+     * @param charset the file's charset
+     * @param preferences the CSV preferences
+     * @param interval number of rows between two entries
+     * @return the index
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException if interval isn't positive or the charset or preferences don't allow to find
+     * records on bytes
+     */
+    public static RowIndex build(Path file, Charset charset, CsvPreference preferences, int interval) throws IOException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        if (!FileChunkSource.supports(charset, preferences)) {
+            throw new IllegalArgumentException(Form.at("records can't be found on the bytes of {}-encoded files with this quote"
+                    + " character or comment matcher", charset));
+        }
+
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        RecordScanner scanner = new RecordScanner(preferences);
+        Entries entries = new Entries();
+        entries.add(0, 0, 0);
+        long fileSize;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            fileSize = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long position = 0;
+            int nextRows = interval;
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position++;
+                    if (scanner.scan(buffer.get()) && scanner.getRows() >= nextRows) {
+                        entries.add(position, scanner.getLines(), scanner.getRows());
+                        nextRows = scanner.getRows() + interval;
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        scanner.finish();
+
+        return new RowIndex(interval, fileSize, lastModified, preferences.getQuoteChar(), preferences.isIgnoreEmptyLines(),
+                scanner.getRows(), entries.offsets(), entries.lines(), entries.rows());
+    }
+
+    /**
+     * Reads the sidecar file of the given file (see {@link #sidecarOf(Path)}) if it is still valid, otherwise builds the
+     * index and replaces the sidecar file. Sidecar files which can't be read, e.g. because they are truncated, are
+     * replaced as well.
+     *
+     * @param file the CSV file
+     * @param charset the file's charset
+     * @param preferences the CSV preferences
+     * @param interval number of rows between two entries if the index has to be built
+     * @return the index
+     * @throws IOException if an I/O error occurred
+     * @throws IllegalArgumentException see {@link #build(Path, Charset, CsvPreference, int)}
+     */
+    public static RowIndex load(Path file, Charset charset, CsvPreference preferences, int interval) throws IOException {
+        Path sidecar = sidecarOf(file);
+        try {
+            RowIndex index = read(sidecar);
+            if (index.isValidFor(file) && index.quoteChar == preferences.getQuoteChar()
+                    && index.ignoreEmptyLines == preferences.isIgnoreEmptyLines()) {
+                return index;
+            }
+        } catch (IOException | SuperCsvException e) {
+            // missing or corrupt, (re)build it
+        }
+
+        RowIndex index = build(file, charset, preferences, interval);
+        index.write(sidecar);
+        return index;
+    }
+
+    /**
+     * @param file the CSV file
+     * @return the path of the file's sidecar file: the file name with ".idx" appended
+     */
+    public static Path sidecarOf(Path file) {
+        return file.resolveSibling(file.getFileName() + SIDECAR_SUFFIX);
+    }
+
+    /**
+     * Reads an index written by {@link #write(Path)}
+     *
+     * @param sidecar the file to read
+     * @return the index
+     * @throws IOException if an I/O error occurred
+     * @throws SuperCsvException if the file isn't an index or is corrupt
+     */
+    public static RowIndex read(Path sidecar) throws IOException {
+        long length = Files.size(sidecar);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            if (length < HEADER_SIZE || in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new SuperCsvException(Form.at("{} is not a row index", sidecar));
+            }
+
+            int interval = in.readInt();
+            long fileSize = in.readLong();
+            long lastModified = in.readLong();
+            char quoteChar = in.readChar();
+            boolean ignoreEmptyLines = in.readBoolean();
+            int rowCount = in.readInt();
+            int size = in.readInt();
+            if (size < 0 || length != HEADER_SIZE + (long) size * ENTRY_SIZE) {
+                throw new SuperCsvException(Form.at("row index {} is corrupt", sidecar));
+            }
+            long[] offsets = new long[size];
+            int[] lines = new int[size];
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                offsets[i] = in.readLong();
+                lines[i] = in.readInt();
+                rows[i] = in.readInt();
+            }
+
+            return new RowIndex(interval, fileSize, lastModified, quoteChar, ignoreEmptyLines, rowCount, offsets, lines, rows);
+        }
+    }
+
+    /**
+     * Writes this index, replacing the file if it exists. The index is written to a temporary file which is then moved
+     * atomically, so readers never see a partially written file.
+     *
+     * @param sidecar the file to write
+     * @throws IOException if an I/O error occurred
+     */
+    public void write(Path sidecar) throws IOException {
+        Path directory = sidecar.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, sidecar.getFileName().toString(), ".tmp");
+        try {
+            writeTo(temp);
+            Files.move(temp, sidecar, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeTo(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(interval);
+            out.writeLong(fileSize);
+            out.writeLong(lastModified);
+            out.writeChar(quoteChar);
+            out.writeBoolean(ignoreEmptyLines);
+            out.writeInt(rowCount);
+            out.writeInt(offsets.length);
+            for (int i = 0; i < offsets.length; i++) {
+                out.writeLong(offsets[i]);
+                out.writeInt(lines[i]);
+                out.writeInt(rows[i]);
+            }
+        }
+    }
+
+    /**
+     * @param file the CSV file
+     * @return true if the file has still the size and modification time it had when this index was built
+     * @throws IOException if an I/O error occurred
+     */
+    public boolean isValidFor(Path file) throws IOException {
+        return Files.size(file) == fileSize && Files.getLastModifiedTime(file).toMillis() == lastModified;
+    }
+
+    /**
+     * @return number of rows between two entries
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return number of rows of the file
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return size of the file in bytes when this index was built
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * @param row the row number (1-based)
+     * @return the last entry before the given row
+     */
+    int entryBefore(int row) {
+        int entry = Arrays.binarySearch(rows, row - 1);
+        return entry >= 0 ? entry : -entry - 2;
+    }
+
+    long getOffset(int entry) {
+        return offsets[entry];
+    }
+
+    int getLines(int entry) {
+        return lines[entry];
+    }
+
+    int getRows(int entry) {
+        return rows[entry];
+    }
+
+    private static final class Entries {
+
+        private long[] offsets = new long[16];
+        private int[] lines = new int[16];
+        private int[] rows = new int[16];
+        private int size;
+
+        void add(long offset, int linesBefore, int rowsBefore) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lines = Arrays.copyOf(lines, size * 2);
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+
+            offsets[size] = offset;
+            lines[size] = linesBefore;
+            rows[size] = rowsBefore;
+            size++;
+        }
+
+        long[] offsets() {
+            return Arrays.copyOf(offsets, size);
+        }
+
+        int[] lines() {
+            return Arrays.copyOf(lines, size);
+        }
+
+        int[] rows() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
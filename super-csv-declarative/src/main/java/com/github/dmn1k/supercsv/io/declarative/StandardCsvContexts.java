@@ -22,4 +22,5 @@ public final class StandardCsvContexts {
 
     public static final String READ = "read";
     public static final String WRITE = "write";
+    public static final String VALIDATE = "validate";
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+import java.util.List;
+
+/**
+ * A row which was read and split into columns but not processed yet
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+final class TokenizedRow {
+
+    private final List<String> columns;
+    private final int lineNumber;
+    private final int rowNumber;
+
+    TokenizedRow(List<String> columns, int lineNumber, int rowNumber) {
+        this.columns = columns;
+        this.lineNumber = lineNumber;
+        this.rowNumber = rowNumber;
+    }
+
+    List<String> getColumns() {
+        return columns;
+    }
+
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    int getRowNumber() {
+        return rowNumber;
+    }
+}
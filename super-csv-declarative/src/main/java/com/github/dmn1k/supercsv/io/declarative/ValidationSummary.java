@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative;
+
+/**
+ * Result of {@link CsvDeclarativeBeanReader#validate(Class)}: the number of validated and invalid rows and the
+ * violations found.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class ValidationSummary {
+
+    private final long rowCount;
+    private final long invalidRowCount;
+    private final ErrorReport errorReport;
+
+    ValidationSummary(long rowCount, long invalidRowCount, ErrorReport errorReport) {
+        this.rowCount = rowCount;
+        this.invalidRowCount = invalidRowCount;
+        this.errorReport = errorReport;
+    }
+
+    /**
+     * @return true if no row was invalid
+     */
+    public boolean isValid() {
+        return invalidRowCount == 0;
+    }
+
+    /**
+     * @return number of validated rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return number of rows with at least one violation
+     */
+    public long getInvalidRowCount() {
+        return invalidRowCount;
+    }
+
+    /**
+     * @return the report the violations were recorded in
+     */
+    public ErrorReport getErrorReport() {
+        return errorReport;
+    }
+
+    @Override
+    public String toString() {
+        return invalidRowCount + " of " + rowCount + " rows are invalid";
+    }
+}
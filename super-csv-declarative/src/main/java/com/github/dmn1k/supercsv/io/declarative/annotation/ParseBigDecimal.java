@@ -30,7 +30,8 @@ import java.lang.annotation.Target;
  * @since 2.5
  * @author Dominik Schlosser
  */
-@CellProcessorAnnotationDescriptor(provider = ParseBigDecimalCellProcessorProvider.class, contexts = {StandardCsvContexts.READ})
+@CellProcessorAnnotationDescriptor(provider = ParseBigDecimalCellProcessorProvider.class, contexts = {StandardCsvContexts.READ,
+        StandardCsvContexts.VALIDATE})
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface ParseBigDecimal {
@@ -31,7 +31,8 @@ import com.github.dmn1k.supercsv.io.declarative.provider.ParseCharCellProcessorP
  * @since 2.5
  * @author Dominik Schlosser
  */
-@CellProcessorAnnotationDescriptor(provider = ParseCharCellProcessorProvider.class, contexts = {StandardCsvContexts.READ})
+@CellProcessorAnnotationDescriptor(provider = ParseCharCellProcessorProvider.class, contexts = {StandardCsvContexts.READ,
+        StandardCsvContexts.VALIDATE})
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface ParseChar {
@@ -31,7 +31,8 @@ import com.github.dmn1k.supercsv.io.declarative.StandardCsvContexts;
  * @since 2.5
  * @author Dominik Schlosser
  */
-@CellProcessorAnnotationDescriptor(provider = ParseDateCellProcessorProvider.class, contexts = {StandardCsvContexts.READ})
+@CellProcessorAnnotationDescriptor(provider = ParseDateCellProcessorProvider.class, contexts = {StandardCsvContexts.READ,
+        StandardCsvContexts.VALIDATE})
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface ParseDate {
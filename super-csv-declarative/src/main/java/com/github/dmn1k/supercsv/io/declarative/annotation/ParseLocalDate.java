@@ -31,7 +31,8 @@ import com.github.dmn1k.supercsv.io.declarative.provider.ParseLocalDateCellProce
  * @since 3.0.0
  * @author Dominik Schlosser
  */
-@CellProcessorAnnotationDescriptor(provider = ParseLocalDateCellProcessorProvider.class, contexts = {StandardCsvContexts.READ})
+@CellProcessorAnnotationDescriptor(provider = ParseLocalDateCellProcessorProvider.class, contexts = {StandardCsvContexts.READ,
+        StandardCsvContexts.VALIDATE})
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface ParseLocalDate {
@@ -25,7 +25,7 @@ import com.github.dmn1k.supercsv.io.declarative.constraint.provider.DMinMaxCellP
 import com.github.dmn1k.supercsv.io.declarative.CellProcessorAnnotationDescriptor;
 
 /**
- * Annotation for the {@link org.supercsv.cellprocessor.constraint.DMinMax}-cell processor
+ * Annotation for the {@link com.github.dmn1k.supercsv.cellprocessor.constraint.DMinMax}-cell processor
  *
  * @since 2.5
  * @author Dominik Schlosser
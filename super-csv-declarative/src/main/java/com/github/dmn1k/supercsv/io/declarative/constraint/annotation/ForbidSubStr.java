@@ -25,7 +25,7 @@ import com.github.dmn1k.supercsv.io.declarative.ProcessorOrder;
 import com.github.dmn1k.supercsv.io.declarative.constraint.provider.ForbidSubStrCellProcessorProvider;
 
 /**
- * Annotation for the {@link org.supercsv.cellprocessor.constraint.ForbidSubStr}-cell processor
+ * Annotation for the {@link com.github.dmn1k.supercsv.cellprocessor.constraint.ForbidSubStr}-cell processor
  *
  * @since 2.5
  * @author Dominik Schlosser
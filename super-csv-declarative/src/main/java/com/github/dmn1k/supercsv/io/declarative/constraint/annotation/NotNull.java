@@ -25,7 +25,7 @@ import com.github.dmn1k.supercsv.io.declarative.constraint.provider.NotNullCellP
 import com.github.dmn1k.supercsv.io.declarative.CellProcessorAnnotationDescriptor;
 
 /**
- * Annotation for the {@link org.supercsv.cellprocessor.constraint.NotNull}-cell processor
+ * Annotation for the {@link com.github.dmn1k.supercsv.cellprocessor.constraint.NotNull}-cell processor
  *
  * @since 2.5
  * @author Dominik Schlosser
@@ -25,7 +25,7 @@ import com.github.dmn1k.supercsv.io.declarative.CellProcessorAnnotationDescripto
 import com.github.dmn1k.supercsv.io.declarative.constraint.provider.RequireHashCodeCellProcessorProvider;
 
 /**
- * Annotation for the {@link org.supercsv.cellprocessor.constraint.RequireHashCode}-cell processor
+ * Annotation for the {@link com.github.dmn1k.supercsv.cellprocessor.constraint.RequireHashCode}-cell processor
  *
  * @since 2.5
  * @author Dominik Schlosser
@@ -25,15 +25,33 @@ import com.github.dmn1k.supercsv.io.declarative.constraint.provider.UniqueCellPr
 import com.github.dmn1k.supercsv.io.declarative.CellProcessorAnnotationDescriptor;
 
 /**
- * Annotation for the {@link org.supercsv.cellprocessor.constraint.Unique}-cell processor
+ * Annotation for the {@link com.github.dmn1k.supercsv.cellprocessor.constraint.Unique}-cell processor
  *
  * @since 2.5
  * @author Dominik Schlosser
  */
-@CellProcessorAnnotationDescriptor(provider = UniqueCellProcessorProvider.class)
+@CellProcessorAnnotationDescriptor(provider = UniqueCellProcessorProvider.class, stateful = true)
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
 public @interface Unique {
 
+    /**
+     * @return how values are remembered. {@link UniqueStrategy#HASH64} and {@link UniqueStrategy#BLOOM_SPILL} compare
+     * the values' Strings instead of using {@code equals()}, HASH64 also reports values with colliding hashes as
+     * duplicates
+     */
+    UniqueStrategy strategy() default UniqueStrategy.EXACT;
+
+    /**
+     * @return memory limit in bytes for {@link UniqueStrategy#HASH64} and {@link UniqueStrategy#BLOOM_SPILL}
+     */
+    long maxMemory() default 64L * 1024 * 1024;
+
+    /**
+     * @return expected number of distinct values, 0 if unknown. Sizes the table of {@link UniqueStrategy#HASH64} and
+     * the bloom filter of {@link UniqueStrategy#BLOOM_SPILL} (see {@link UniqueStrategy} for the memory needed)
+     */
+    long expectedCount() default 0;
+
     int order() default ProcessorOrder.UNDEFINED;
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative.constraint.annotation;
+
+import com.github.dmn1k.supercsv.io.declarative.StandardCsvContexts;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares fields whose processed values must be unique in combination, e.g.
+ * {@code @UniqueKey({"customerId", "date", "sku"})}. Readers check the key after processing a row and before the bean
+ * is populated; a duplicate is reported as a violation of the row as a whole. Keys of superclasses are checked as
+ * well.
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+@Repeatable(UniqueKey.Container.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface UniqueKey {
+
+    /**
+     * @return names of the fields forming the key
+     */
+    String[] value();
+
+    /**
+     * @return how keys are remembered: {@link UniqueStrategy#HASH64} keeps a 64-bit fingerprint per key,
+     * {@link UniqueStrategy#BLOOM_SPILL} is exact and spills to disk, {@link UniqueStrategy#EXACT} keeps all values
+     */
+    UniqueStrategy strategy() default UniqueStrategy.HASH64;
+
+    /**
+     * @return memory limit in bytes for {@link UniqueStrategy#HASH64} and {@link UniqueStrategy#BLOOM_SPILL}
+     */
+    long maxMemory() default 64L * 1024 * 1024;
+
+    /**
+     * @return expected number of distinct keys, 0 if unknown. Sizes the table of {@link UniqueStrategy#HASH64} and
+     * the bloom filter of {@link UniqueStrategy#BLOOM_SPILL} (see {@link UniqueStrategy} for the memory needed)
+     */
+    long expectedCount() default 0;
+
+    /**
+     * @return contexts in which the key is checked
+     */
+    String[] contexts() default {StandardCsvContexts.READ, StandardCsvContexts.VALIDATE};
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE})
+    @interface Container {
+        UniqueKey[] value();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.io.declarative.constraint.annotation;
+
+/**
+ * How {@link Unique} and {@link UniqueHashCode} remember the values they have seen
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public enum UniqueStrategy {
+    /**
+     * Keeps all values (or hash codes) in a HashSet. Fastest for small files, but memory grows with every distinct
+     * value.
+     */
+    EXACT,
+    /**
+     * Keeps 64-bit hashes of the values' Strings in a primitive set of at most {@code maxMemory} bytes, reading fails
+     * beyond that. A power of two {@code maxMemory} holds {@code 3 * maxMemory / 32} values, i.e. the default of 64 MB
+     * holds 6 million values and 100 million values need 1 GB.
+     * <p>
+     * Unlike {@link #EXACT}, {@link Unique} doesn't compare values with {@code equals()}, but their Strings: values of
+     * different types with the same String (e.g. the Integer and the Long 1) are duplicates. Distinct values with
+     * colliding hashes are reported as duplicates as well, which happens for 100 million values with a probability of
+     * about 0.03%. Exact for {@link UniqueHashCode}, which only keeps the hash codes.
+     */
+    HASH64,
+    /**
+     * Buffers values in memory and spills them to temp files as sorted runs; once spilled, a bloom filter decides
+     * which values need to be looked up on disk. Exact and bounded to {@code maxMemory} bytes, but slower than the
+     * other strategies once spilled. Like {@link #HASH64}, {@link Unique} compares the values' Strings instead of
+     * using {@code equals()}. The in-memory indexes of the runs (16 bytes per 64 values) are taken from the buffer, so
+     * reading fails after about 4 spilled values per byte of the buffer. The filter needs 1.25 to 2.5 bytes per value of {@code expectedCount}, e.g. 128 MB
+     * for 100 million values, and {@code maxMemory} has to exceed it; without {@code expectedCount} it gets half of
+     * {@code maxMemory}, which lets ever more values be looked up on disk beyond {@code maxMemory / 2.5} values.
+     */
+    BLOOM_SPILL;
+}
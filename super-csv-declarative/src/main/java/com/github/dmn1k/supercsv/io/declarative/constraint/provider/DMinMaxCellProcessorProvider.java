@@ -45,7 +45,7 @@ public class DMinMaxCellProcessorProvider implements DeclarativeCellProcessorPro
             @Override
             public CellProcessor create(CellProcessor next) {
                 DMinMax annotation = metadata.getAnnotation();
-                return new org.supercsv.cellprocessor.constraint.DMinMax(annotation.min(), annotation.max(),
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.DMinMax(annotation.min(), annotation.max(),
                         (DoubleCellProcessor) next);
             }
         };
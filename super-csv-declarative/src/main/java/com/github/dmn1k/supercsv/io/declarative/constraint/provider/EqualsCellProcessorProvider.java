@@ -43,7 +43,7 @@ public class EqualsCellProcessorProvider implements DeclarativeCellProcessorProv
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.Equals(next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.Equals(next);
             }
         };
     }
@@ -43,7 +43,7 @@ public class ForbidSubStrCellProcessorProvider implements DeclarativeCellProcess
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.ForbidSubStr(metadata.getAnnotation().forbiddenSubStrings(), next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.ForbidSubStr(metadata.getAnnotation().forbiddenSubStrings(), next);
             }
         };
     }
@@ -45,7 +45,7 @@ public class LMinMaxCellProcessorProvider implements DeclarativeCellProcessorPro
             @Override
             public CellProcessor create(CellProcessor next) {
                 LMinMax annotation = metadata.getAnnotation();
-                return new org.supercsv.cellprocessor.constraint.LMinMax(annotation.min(), annotation.max(),
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.LMinMax(annotation.min(), annotation.max(),
                         (LongCellProcessor) next);
             }
         };
@@ -43,7 +43,7 @@ public class NotNullCellProcessorProvider implements DeclarativeCellProcessorPro
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.NotNull(next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.NotNull(next);
             }
         };
     }
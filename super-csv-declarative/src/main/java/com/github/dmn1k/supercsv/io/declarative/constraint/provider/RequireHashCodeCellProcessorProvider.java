@@ -43,7 +43,7 @@ public class RequireHashCodeCellProcessorProvider implements DeclarativeCellProc
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.RequireHashCode(metadata.getAnnotation().requiredHashCodes(), next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.RequireHashCode(metadata.getAnnotation().requiredHashCodes(), next);
             }
         };
     }
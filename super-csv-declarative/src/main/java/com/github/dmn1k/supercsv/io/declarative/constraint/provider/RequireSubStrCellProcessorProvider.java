@@ -43,7 +43,7 @@ public class RequireSubStrCellProcessorProvider implements DeclarativeCellProces
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.RequireSubStr(metadata.getAnnotation().requiredSubStrings(), next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.RequireSubStr(metadata.getAnnotation().requiredSubStrings(), next);
             }
         };
     }
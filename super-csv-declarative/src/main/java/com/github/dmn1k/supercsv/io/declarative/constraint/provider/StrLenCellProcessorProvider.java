@@ -43,7 +43,7 @@ public class StrLenCellProcessorProvider implements DeclarativeCellProcessorProv
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.Strlen(metadata.getAnnotation().requiredLengths(), next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.Strlen(metadata.getAnnotation().requiredLengths(), next);
             }
         };
     }
@@ -43,7 +43,7 @@ public class StrMinMaxCellProcessorProvider implements DeclarativeCellProcessorP
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.StrMinMax(metadata.getAnnotation().min(), metadata.getAnnotation().max(), next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.StrMinMax(metadata.getAnnotation().min(), metadata.getAnnotation().max(), next);
             }
         };
     }
@@ -43,7 +43,7 @@ public class StrNotNullOrEmptyCellProcessorProvider implements DeclarativeCellPr
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.StrNotNullOrEmpty(next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.StrNotNullOrEmpty(next);
             }
         };
     }
@@ -44,7 +44,7 @@ public class StrRegExCellProcessorProvider implements DeclarativeCellProcessorPr
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.StrRegEx(metadata.getAnnotation().regex(),
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.StrRegEx(metadata.getAnnotation().regex(),
                         (StringCellProcessor) next);
             }
         };
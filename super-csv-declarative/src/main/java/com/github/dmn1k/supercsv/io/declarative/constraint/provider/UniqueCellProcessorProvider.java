@@ -43,7 +43,9 @@ public class UniqueCellProcessorProvider implements DeclarativeCellProcessorProv
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.Unique(next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.Unique(metadata.getAnnotation().strategy(),
+                        metadata.getAnnotation().maxMemory(),
+                        metadata.getAnnotation().expectedCount(), next);
             }
         };
     }
@@ -43,7 +43,9 @@ public class UniqueHashCodeCellProcessorProvider implements DeclarativeCellProce
 
             @Override
             public CellProcessor create(CellProcessor next) {
-                return new org.supercsv.cellprocessor.constraint.UniqueHashCode(next);
+                return new com.github.dmn1k.supercsv.cellprocessor.constraint.UniqueHashCode(metadata.getAnnotation().strategy(),
+                        metadata.getAnnotation().maxMemory(),
+                        metadata.getAnnotation().expectedCount(), next);
             }
         };
     }
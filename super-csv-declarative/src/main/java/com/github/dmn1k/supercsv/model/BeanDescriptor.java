@@ -19,8 +19,11 @@ import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
 import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
 import com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingMode;
 import com.github.dmn1k.supercsv.io.declarative.annotation.CsvMappingModeType;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.UniqueKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Meta-Description of a SuperCSV-bean
@@ -30,29 +33,29 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class BeanDescriptor {
 
-    private static final Map<Class<?>, BeanDescriptor> CACHE = new ConcurrentHashMap<Class<?>, BeanDescriptor>();
+    // ClassValue doesn't prevent bean classes from being unloaded
+    private static final ClassValue<BeanDescriptor> CACHE = new ClassValue<BeanDescriptor>() {
+        @Override
+        protected BeanDescriptor computeValue(Class<?> type) {
+            return new BeanDescriptor(type, getAccessType(type), getMappingMode(type), getUniqueKeys(type));
+        }
+    };
 
     private final Class<?> beanType;
     private final CsvAccessType accessType;
     private final CsvMappingModeType mappingMode;
+    private final List<UniqueKey> uniqueKeys;
 
-    private BeanDescriptor(Class<?> beanType, CsvAccessType accessType, CsvMappingModeType mappingMode) {
+    private BeanDescriptor(Class<?> beanType, CsvAccessType accessType, CsvMappingModeType mappingMode,
+            List<UniqueKey> uniqueKeys) {
         this.beanType = beanType;
         this.accessType = accessType;
         this.mappingMode = mappingMode;
+        this.uniqueKeys = uniqueKeys;
     }
 
     public static BeanDescriptor create(Class<?> clazz) {
-        if (CACHE.containsKey(clazz)) {
-            return CACHE.get(clazz);
-        }
-
-        CsvAccessType accessType = getAccessType(clazz);
-        CsvMappingModeType mappingMode = getMappingMode(clazz);
-
-        BeanDescriptor beanDescriptor = new BeanDescriptor(clazz, accessType, mappingMode);
-        CACHE.put(clazz, beanDescriptor);
-        return beanDescriptor;
+        return CACHE.get(clazz);
     }
 
     public Class<?> getBeanType() {
@@ -67,6 +70,14 @@ public class BeanDescriptor {
         return mappingMode;
     }
 
+    /**
+     * @return the keys declared by {@link UniqueKey} on the class and its superclasses
+     * @since 4.1.0
+     */
+    public List<UniqueKey> getUniqueKeys() {
+        return uniqueKeys;
+    }
+
     private static CsvAccessType getAccessType(Class<?> clazz) {
         CsvAccessorType accessorTypeAnnotation = clazz.getAnnotation(CsvAccessorType.class);
         if (accessorTypeAnnotation != null) {
@@ -84,4 +95,13 @@ public class BeanDescriptor {
 
         return CsvMappingModeType.STRICT;
     }
+
+    private static List<UniqueKey> getUniqueKeys(Class<?> clazz) {
+        List<UniqueKey> keys = new ArrayList<>();
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+            keys.addAll(Arrays.asList(type.getDeclaredAnnotationsByType(UniqueKey.class)));
+        }
+
+        return Collections.unmodifiableList(keys);
+    }
 }
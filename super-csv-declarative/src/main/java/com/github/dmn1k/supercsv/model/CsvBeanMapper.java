@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.model;
+
+import java.util.List;
+
+/**
+ * Compile-time generated mapping of a SuperCSV-bean. Implementations are generated by the
+ * super-csv-declarative-processor into the bean's package and named after {@link #mapperNameFor(Class)}.
+ * CsvDeclarativeBeanReader and -Writer use their accessors automatically instead of reflective ones. Fields and
+ * processors are still resolved reflectively (once per bean type), so a mapper whose fields no longer match the bean
+ * is ignored.
+ *
+ * @param <T> the bean type
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public interface CsvBeanMapper<T> {
+
+    /**
+     * Suffix of generated mapper classes
+     */
+    String MAPPER_SUFFIX = "_CsvMapper";
+
+    /**
+     * @return the mapped bean type
+     */
+    Class<T> getBeanType();
+
+    /**
+     * @return all mapped fields in the order SuperCSV would have extracted them reflectively
+     */
+    List<MappedField<T>> getFields();
+
+    /**
+     * Returns the name of the generated mapper for the given bean type
+     *
+     * @param beanType the bean type
+     * @return fully qualified class name of the generated mapper
+     */
+    static String mapperNameFor(Class<?> beanType) {
+        return beanType.getName().replace('$', '_') + MAPPER_SUFFIX;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.model;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A field described by a {@link CsvBeanMapper}
+ *
+ * @param <T> the bean type
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+public final class MappedField<T> {
+
+    private final Class<?> declaringClass;
+    private final String name;
+    private final Function<T, Object> getter;
+    private final BiConsumer<T, Object> setter;
+
+    /**
+     * @param declaringClass the class declaring the field
+     * @param name the field's name
+     * @param getter reads the field's value or null if it isn't accessible from generated code
+     * @param setter writes the field's value or null if it isn't accessible from generated code
+     */
+    public MappedField(Class<?> declaringClass, String name, Function<T, Object> getter, BiConsumer<T, Object> setter) {
+        this.declaringClass = declaringClass;
+        this.name = name;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public Class<?> getDeclaringClass() {
+        return declaringClass;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Function<T, Object> getGetter() {
+        return getter;
+    }
+
+    public BiConsumer<T, Object> getSetter() {
+        return setter;
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.dmn1k.supercsv.cellprocessor.constraint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.supercsv.cellprocessor.Optional;
+import org.supercsv.cellprocessor.Trim;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+public class FusedStringConstraintsTest {
+
+    private static final List<Object> VALUES = Arrays.asList(null, "", "  ", "abc", " abc ", " xabcx", "abxc",
+            "  forbidden ", "abcdefghij", " ab ", "yes", 42);
+
+    @Test
+    public void behavesLikeChain() {
+        CellProcessor tail = new Optional();
+        List<CellProcessor> chain = new ArrayList<>();
+        chain.add(new RequireSubStr(new String[]{"bc", "x", "yes"}, tail));
+        chain.add(new Strlen(new int[]{3, 4, 6}, chain.get(0)));
+        chain.add(new StrMinMax(2, 5, chain.get(1)));
+        chain.add(new Trim((StrMinMax) chain.get(2)));
+        chain.add(new ForbidSubStr(new String[]{"forbidden", "xa", " a"}, chain.get(3)));
+        chain.add(new StrNotNullOrEmpty(chain.get(4)));
+        chain.add(new NotNull(chain.get(5)));
+
+        CellProcessor fused = FusedStringConstraints.fuse(chain, tail);
+        assertTrue(fused instanceof FusedStringConstraints);
+        CellProcessor unfused = chain.get(chain.size() - 1);
+
+        CsvContext context = new CsvContext(1, 2, 3);
+        for (Object value : VALUES) {
+            assertEquals(String.valueOf(value), outcome(unfused, value, context), outcome(fused, value, context));
+        }
+    }
+
+    @Test
+    public void keepsSingleProcessors() {
+        CellProcessor notNull = new NotNull(new Optional());
+        assertSame(notNull, FusedStringConstraints.fuse(Arrays.asList(notNull), new Optional()));
+    }
+
+    private static String outcome(CellProcessor processor, Object value, CsvContext context) {
+        try {
+            return "value: " + processor.execute(value, context);
+        } catch (SuperCsvCellProcessorException e) {
+            return e.getProcessor().getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.io.declarative.DefaultTypeConverterRegistry;
+import com.github.dmn1k.supercsv.testbeans.TestEnum;
+import java.util.Optional;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvException;
+
+public class CellConverterTest {
+
+    private final DefaultTypeConverterRegistry registry = new DefaultTypeConverterRegistry();
+
+    @Test
+    public void convertsWithResolvedConverter() {
+        CellConverter converter = new CellConverter(int.class);
+
+        assertEquals(42, converter.convert("42", registry));
+        assertEquals(43, converter.convert("43", registry));
+    }
+
+    @Test
+    public void passesAssignableValuesThrough() {
+        CellConverter converter = new CellConverter(long.class);
+
+        assertEquals(1, converter.convert(1, registry));
+    }
+
+    @Test
+    public void convertsEnums() {
+        CellConverter converter = new CellConverter(TestEnum.class);
+
+        assertSame(TestEnum.Bla, converter.convert("Bla", registry));
+        assertSame(TestEnum.Blubb, converter.convert("Blubb", registry));
+    }
+
+    @Test
+    public void cachesNullSeparately() {
+        CellConverter converter = new CellConverter(Optional.class);
+
+        assertEquals(Optional.of("a"), converter.convert("a", registry));
+        assertEquals(Optional.empty(), converter.convert(null, registry));
+        assertEquals(Optional.of("b"), converter.convert("b", registry));
+    }
+
+    @Test
+    public void usesConvertersRegisteredLater() {
+        CellConverter converter = new CellConverter(Long.class);
+        assertEquals(1L, converter.convert("1", registry));
+
+        registry.register(input -> 99L, String.class, Long.class);
+
+        assertEquals(99L, converter.convert("1", registry));
+    }
+
+    @Test(expected = SuperCsvException.class)
+    public void failsIfNoConverterIsRegistered() {
+        new CellConverter(Long.class).convert("1", new com.github.dmn1k.supercsv.internal.typeconversion.TypeConverterRegistry());
+    }
+}
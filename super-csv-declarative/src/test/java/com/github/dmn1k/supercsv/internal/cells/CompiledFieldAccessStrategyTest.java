@@ -0,0 +1,130 @@
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import com.github.dmn1k.supercsv.model.BeanDescriptor;
+import com.github.dmn1k.supercsv.testbeans.BeanWithOptionalFieldAndPropertyAccess;
+import com.github.dmn1k.supercsv.testbeans.ReadAndWriteBeanWithPropertyAccess;
+import java.lang.reflect.Field;
+import java.util.Optional;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvReflectionException;
+
+public class CompiledFieldAccessStrategyTest {
+
+    @Test
+    public void accessesPrimitiveFieldDirectly() throws Exception {
+        FieldBean bean = new FieldBean();
+        FieldAccessStrategy strategy = create(FieldBean.class, "number");
+
+        strategy.setValue(null, bean, 42);
+
+        assertEquals(42, bean.number);
+        assertEquals(42, strategy.getValue(null, bean));
+    }
+
+    @Test
+    public void widensPrimitiveValues() throws Exception {
+        FieldBean bean = new FieldBean();
+        FieldAccessStrategy strategy = create(FieldBean.class, "bigNumber");
+
+        strategy.setValue(null, bean, 42);
+
+        assertEquals(42L, bean.bigNumber);
+    }
+
+    @Test
+    public void writesFinalFieldDirectly() throws Exception {
+        FieldBean bean = new FieldBean();
+        FieldAccessStrategy strategy = create(FieldBean.class, "finalText");
+
+        strategy.setValue(null, bean, "b");
+
+        assertEquals("b", strategy.getValue(null, bean));
+    }
+
+    @Test
+    public void accessesPublicPropertyViaGetterAndSetter() throws Exception {
+        ReadAndWriteBeanWithPropertyAccess bean = new ReadAndWriteBeanWithPropertyAccess();
+        FieldAccessStrategy strategy = create(ReadAndWriteBeanWithPropertyAccess.class, "boolField");
+
+        strategy.setValue(null, bean, true);
+
+        assertTrue(bean.isBoolField());
+        assertEquals(true, strategy.getValue(null, bean));
+    }
+
+    @Test
+    public void accessesPropertyOfNonPublicBean() throws Exception {
+        PropertyBean bean = new PropertyBean();
+        FieldAccessStrategy strategy = create(PropertyBean.class, "text");
+
+        strategy.setValue(null, bean, "a");
+
+        assertEquals("A", strategy.getValue(null, bean));
+    }
+
+    @Test
+    public void unwrapsOptionalValues() throws Exception {
+        BeanWithOptionalFieldAndPropertyAccess bean = new BeanWithOptionalFieldAndPropertyAccess(Optional.of("a"), "b");
+        FieldAccessStrategy strategy = create(BeanWithOptionalFieldAndPropertyAccess.class, "field");
+
+        assertEquals("a", strategy.getValue(null, bean));
+
+        strategy.setValue(null, bean, Optional.empty());
+        assertNull(strategy.getValue(null, bean));
+
+        strategy.setValue(null, bean, null);
+        assertNull(strategy.getValue(null, bean));
+    }
+
+    @Test(expected = SuperCsvReflectionException.class)
+    public void wrapsExceptionsThrownBySetter() throws Exception {
+        create(PropertyBean.class, "text").setValue(null, new PropertyBean(), null);
+    }
+
+    @Test(expected = SuperCsvReflectionException.class)
+    public void failsLazilyForMissingAccessors() throws Exception {
+        FieldAccessStrategy strategy = create(BeanWithoutSetter.class, "text");
+
+        strategy.getValue(null, new BeanWithoutSetter());
+    }
+
+    private static FieldAccessStrategy create(Class<?> beanType, String fieldName) throws NoSuchFieldException {
+        Field field = beanType.getDeclaredField(fieldName);
+        return CompiledFieldAccessStrategy.create(field, BeanDescriptor.create(beanType));
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    private static class FieldBean {
+
+        private int number;
+        private long bigNumber;
+        private final String finalText = "a";
+    }
+
+    static class PropertyBean {
+
+        private String text;
+
+        public String getText() {
+            return text.toUpperCase();
+        }
+
+        public void setText(String text) {
+            this.text = text.toString();
+        }
+    }
+
+    public static class BeanWithoutSetter {
+
+        private String text;
+
+        public String getText() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.dmn1k.supercsv.internal.cells;
+
+import com.github.dmn1k.supercsv.io.declarative.CsvField;
+import com.github.dmn1k.supercsv.io.declarative.StandardCsvContexts;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import com.github.dmn1k.supercsv.model.BeanDescriptor;
+import com.github.dmn1k.supercsv.model.CsvBeanMapper;
+import com.github.dmn1k.supercsv.model.MappedField;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvException;
+
+public class GeneratedMappersTest {
+
+    @Test
+    public void usesAccessorsOfGeneratedMapper() {
+        BeanCells cells = BeanCells.create(BeanDescriptor.create(MappedBean.class), StandardCsvContexts.READ);
+        MappedBean bean = new MappedBean();
+
+        cells.getCell(0).setValue(bean, "value");
+
+        assertEquals("generated value", bean.first);
+    }
+
+    @Test
+    public void ignoresMapperWhoseFieldsDiffer() {
+        BeanCells cells = BeanCells.create(BeanDescriptor.create(OutdatedBean.class), StandardCsvContexts.READ);
+        OutdatedBean bean = new OutdatedBean();
+
+        cells.getCell(0).setValue(bean, "value");
+        cells.getCell(1).setValue(bean, "added");
+
+        assertEquals("value", bean.first);
+        assertEquals("added", bean.second);
+    }
+
+    @Test
+    public void checksStrictMappingWithGeneratedMapper() {
+        try {
+            BeanCells.create(BeanDescriptor.create(StrictBean.class), StandardCsvContexts.READ);
+            fail();
+        } catch (SuperCsvException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("MappingMode.STRICT"));
+        }
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class MappedBean {
+
+        @CsvField
+        private String first;
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class OutdatedBean {
+
+        @CsvField
+        private String first;
+        // added after the mapper was generated
+        @CsvField
+        private String second;
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class StrictBean {
+
+        @CsvField
+        private String mapped;
+        // neither mapped nor transient, but left out by the mapper
+        private String unmapped;
+    }
+
+    static MappedField<Object> prefixingField(Class<?> beanType, String name) {
+        return new MappedField<>(beanType, name, null, (bean, value) -> {
+            try {
+                java.lang.reflect.Field field = beanType.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(bean, "generated " + value);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+class GeneratedMappersTest_MappedBean_CsvMapper implements CsvBeanMapper {
+
+    @Override
+    public Class getBeanType() {
+        return GeneratedMappersTest.MappedBean.class;
+    }
+
+    @Override
+    public List getFields() {
+        return Arrays.asList(GeneratedMappersTest.prefixingField(GeneratedMappersTest.MappedBean.class, "first"));
+    }
+}
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+class GeneratedMappersTest_OutdatedBean_CsvMapper implements CsvBeanMapper {
+
+    @Override
+    public Class getBeanType() {
+        return GeneratedMappersTest.OutdatedBean.class;
+    }
+
+    @Override
+    public List getFields() {
+        return Arrays.asList(GeneratedMappersTest.prefixingField(GeneratedMappersTest.OutdatedBean.class, "first"));
+    }
+}
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+class GeneratedMappersTest_StrictBean_CsvMapper implements CsvBeanMapper {
+
+    @Override
+    public Class getBeanType() {
+        return GeneratedMappersTest.StrictBean.class;
+    }
+
+    @Override
+    public List getFields() {
+        return Arrays.asList(GeneratedMappersTest.prefixingField(GeneratedMappersTest.StrictBean.class, "mapped"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.dmn1k.supercsv.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class LongHashSetTest {
+
+    @Test
+    public void fillsLargestTableToThreeQuarters() {
+        // 1024 slots, doubling would exceed the limit
+        LongHashSet set = new LongHashSet(8 * 1024);
+        for (int i = 0; i < 768; i++) {
+            assertTrue(set.add(i));
+        }
+        assertFalse(set.add(0));
+        assertEquals(768, set.size());
+
+        try {
+            set.add(768);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("769 distinct values exceed the memory limit of 8192 bytes", e.getMessage());
+        }
+    }
+
+    @Test
+    public void presizesTableWithinMemoryLimit() {
+        LongHashSet set = new LongHashSet(8 * 1024, 1000000);
+        for (int i = 0; i < 768; i++) {
+            assertTrue(set.add(Hashes.mix(i)));
+        }
+
+        try {
+            set.add(Hashes.mix(768));
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("769 distinct values exceed the memory limit of 8192 bytes", e.getMessage());
+        }
+    }
+}
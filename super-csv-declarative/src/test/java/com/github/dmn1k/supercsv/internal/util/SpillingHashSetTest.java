@@ -0,0 +1,92 @@
+package com.github.dmn1k.supercsv.internal.util;
+
+import java.io.IOException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class SpillingHashSetTest {
+
+    @Test
+    public void findsDuplicatesInSpilledRuns() throws IOException {
+        try (SpillingHashSet set = new SpillingHashSet(256 * 1024)) {
+            for (int i = 0; i < 100000; i++) {
+                String key = "value " + i;
+                assertTrue(key, set.add(Hashes.hash64(key), key));
+            }
+            assertTrue(set.getRunCount() > 0);
+
+            for (int i = 0; i < 100000; i += 997) {
+                String key = "value " + i;
+                assertFalse(key, set.add(Hashes.hash64(key), key));
+            }
+            assertEquals(100000, set.size());
+        }
+    }
+
+    @Test
+    public void distinguishesKeysWithEqualHashes() throws IOException {
+        try (SpillingHashSet set = new SpillingHashSet(64 * 1024)) {
+            for (int i = 0; i < 20000; i++) {
+                assertTrue(set.add(i % 10, "key " + i));
+            }
+
+            assertFalse(set.add(3, "key 3"));
+            assertTrue(set.add(3, "key 4"));
+            assertFalse(set.add(4, "key 4"));
+        }
+    }
+
+    @Test
+    public void countsIndexesOfRunsTowardsMemoryLimit() throws IOException {
+        try (SpillingHashSet set = new SpillingHashSet(64 * 1024)) {
+            // 16 KB of the 32 KB buffer are left for the indexes, 16 bytes per 64 entries
+            for (int i = 0; i < 100000; i++) {
+                set.add(Hashes.hash64("value " + i), null);
+            }
+            fail("indexes exceed the memory limit");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().endsWith("exceed the memory limit of 65536 bytes"));
+        }
+    }
+
+    @Test
+    public void mergesRunsOfEqualSize() throws IOException {
+        try (SpillingHashSet set = new SpillingHashSet(256 * 1024)) {
+            int maxRuns = 0;
+            for (int i = 0; i < 300000; i++) {
+                String key = "value " + i;
+                assertTrue(key, set.add(Hashes.hash64(key), key));
+                maxRuns = Math.max(maxRuns, set.getRunCount());
+            }
+
+            // at most seven runs per level besides the run that triggers a merge
+            assertTrue(String.valueOf(maxRuns), maxRuns <= 3 * 7 + 1);
+            for (int i = 0; i < 300000; i += 4999) {
+                String key = "value " + i;
+                assertFalse(key, set.add(Hashes.hash64(key), key));
+            }
+            assertEquals(300000, set.size());
+        }
+    }
+
+    @Test
+    public void sizesBloomFilterByExpectedCount() throws IOException {
+        try {
+            // 10 bits per entry need a filter of 2 MB
+            new SpillingHashSet(2 * 1024 * 1024, 1000000).close();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("bloom filter of 2097152 bytes"));
+        }
+
+        try (SpillingHashSet set = new SpillingHashSet(2 * 1024 * 1024 + 64 * 1024, 1000000)) {
+            for (int i = 0; i < 10000; i++) {
+                assertTrue(set.add(Hashes.mix(i), null));
+            }
+            assertFalse(set.add(Hashes.mix(42), null));
+        }
+    }
+}
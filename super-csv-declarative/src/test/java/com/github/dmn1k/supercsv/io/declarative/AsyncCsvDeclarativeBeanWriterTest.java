@@ -0,0 +1,147 @@
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.testbeans.BeanWithSimpleAnnotations;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+public class AsyncCsvDeclarativeBeanWriterTest {
+
+    private static final CsvPreference PREFS = CsvPreference.STANDARD_PREFERENCE;
+    private static final BeanWithSimpleAnnotations JOHN = new BeanWithSimpleAnnotations("John", "Doe", 42, 100.5);
+
+    @Test(timeout = 10000)
+    public void writesRowsOfAllThreadsOnClose() throws Exception {
+        StringWriter out = new StringWriter();
+        AsyncCsvDeclarativeBeanWriter writer = new AsyncCsvDeclarativeBeanWriter(new CsvDeclarativeBeanWriter(out, PREFS),
+                AsyncWriteOptions.capacity(16));
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int row = 0; row < 1000; row++) {
+                        writer.write(JOHN);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.close();
+
+        assertEquals(4000, out.toString().split("\r\n").length);
+        assertTrue(out.toString().startsWith("John,Doe,42,100.5\r\n"));
+    }
+
+    @Test(timeout = 10000)
+    public void dropsOrFailsWhenQueueIsFull() throws IOException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        BlockingWriter out = new BlockingWriter(blocked);
+
+        AsyncCsvDeclarativeBeanWriter dropping = new AsyncCsvDeclarativeBeanWriter(new CsvDeclarativeBeanWriter(out, PREFS),
+                AsyncWriteOptions.capacity(1).withBackpressure(Backpressure.DROP));
+        int written = 0;
+        while (dropping.write(JOHN)) {
+            written++;
+        }
+        assertEquals(1, dropping.getDroppedRows());
+        blocked.countDown();
+        dropping.close();
+        assertEquals(written, out.toString().split("\r\n").length);
+
+        CountDownLatch blockedAgain = new CountDownLatch(1);
+        AsyncCsvDeclarativeBeanWriter failing = new AsyncCsvDeclarativeBeanWriter(
+                new CsvDeclarativeBeanWriter(new BlockingWriter(blockedAgain), PREFS),
+                AsyncWriteOptions.capacity(1).withBackpressure(Backpressure.FAIL));
+        try {
+            while (true) {
+                failing.write(JOHN);
+            }
+        } catch (SuperCsvException e) {
+            assertEquals("queue is full, 1 rows are waiting to be written", e.getMessage());
+        } finally {
+            blockedAgain.countDown();
+            failing.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void closeThrowsDeferredFailure() throws IOException {
+        Writer out = new StringWriter() {
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+                throw new IllegalStateException("disk full");
+            }
+        };
+        AsyncCsvDeclarativeBeanWriter writer = new AsyncCsvDeclarativeBeanWriter(new CsvDeclarativeBeanWriter(out, PREFS),
+                AsyncWriteOptions.capacity(16));
+        assertTrue(writer.write(JOHN));
+        try {
+            writer.close();
+            fail("writing failed");
+        } catch (IllegalStateException e) {
+            assertEquals("disk full", e.getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void doesNotWaitForStoppedBackgroundThread() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        AsyncCsvDeclarativeBeanWriter writer = new AsyncCsvDeclarativeBeanWriter(new CsvDeclarativeBeanWriter(
+                new StringWriter(), PREFS), AsyncWriteOptions.capacity(1).withThreadFactory(runnable -> {
+                    Thread thread = new Thread(runnable);
+                    threads.add(thread);
+                    return thread;
+                }));
+        threads.get(0).interrupt();
+        threads.get(0).join();
+
+        try {
+            writer.flush();
+            fail("background thread was interrupted");
+        } catch (InterruptedIOException e) {
+            assertEquals("background thread was interrupted", e.getMessage());
+        }
+        try {
+            writer.close();
+            fail("background thread was interrupted");
+        } catch (InterruptedIOException e) {
+            assertEquals("background thread was interrupted", e.getMessage());
+        }
+    }
+
+    private static final class BlockingWriter extends StringWriter {
+
+        private final CountDownLatch latch;
+
+        BlockingWriter(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.write(cbuf, off, len);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.testbeans.BeanWithPartialColumnMapping;
+import com.github.dmn1k.supercsv.testbeans.BeanWithSimpleAnnotations;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.supercsv.comment.CommentStartsWith;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.io.ITokenizer;
+import org.supercsv.io.Tokenizer;
+import org.supercsv.prefs.CsvPreference;
+
+public class ByteBufferTokenizerTest {
+
+    private static final String CSV = "first,  second ,third\r\n"
+            + "\r\n"
+            + "\"quoted, \"\"escaped\"\"\",  \"spaced\" ,\r\n"
+            + "# not a comment by default\n"
+            + "\"multi\r\n\r\nline\",ümläut,€\r"
+            + "   ,,\n"
+            + "last,line,without terminator";
+
+    @Test
+    public void tokenizesLikeTokenizer() throws IOException {
+        assertSameTokens(CSV, CsvPreference.STANDARD_PREFERENCE);
+        assertSameTokens(CSV, CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE);
+        assertSameTokens(CSV, new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE)
+                .surroundingSpacesNeedQuotes(true)
+                .ignoreEmptyLines(false)
+                .skipComments(new CommentStartsWith("#"))
+                .build());
+    }
+
+    @Test
+    public void reportsUnexpectedEndOfFile() throws IOException {
+        ITokenizer tokenizer = tokenizer("a,\"unterminated\r\n", CsvPreference.STANDARD_PREFERENCE);
+        try {
+            tokenizer.readColumns(new ArrayList<>());
+            fail("quote is unterminated");
+        } catch (SuperCsvException e) {
+            assertEquals("unexpected end of file while reading quoted column beginning on line 1 and ending on line 1",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void readsBeans() throws IOException {
+        String csv = "John,Doe  ,42,80.5\r\n,Mustermann,23,70\r\n";
+        CsvPreference preferences = CsvPreference.STANDARD_PREFERENCE;
+        try (CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(tokenizer(csv, preferences), preferences)) {
+            assertEquals(new BeanWithSimpleAnnotations("John", "Doe", 42, 80.5), reader.read(BeanWithSimpleAnnotations.class));
+            assertEquals(new BeanWithSimpleAnnotations(null, "Mustermann", 23, 70), reader.read(BeanWithSimpleAnnotations.class));
+            assertNull(reader.read(BeanWithSimpleAnnotations.class));
+        }
+
+        try (CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(tokenizer(csv, preferences),
+                new DefaultTypeConverterRegistry(), preferences)) {
+            assertEquals(new BeanWithSimpleAnnotations("John", "Doe", 42, 80.5), reader.read(BeanWithSimpleAnnotations.class));
+            assertEquals(1, reader.stream(BeanWithSimpleAnnotations.class).count());
+        }
+    }
+
+    @Test
+    public void skipsColumnsOutsideOfProjection() throws IOException {
+        ByteBufferTokenizer tokenizer = (ByteBufferTokenizer) tokenizer("a,\"b,\"\"\", c ,d\n", CsvPreference.STANDARD_PREFERENCE);
+        BitSet projection = new BitSet();
+        projection.set(2);
+        tokenizer.setProjection(projection);
+
+        List<String> columns = new ArrayList<>();
+        tokenizer.readColumns(columns);
+        assertEquals(Arrays.asList(null, null, " c ", null), columns);
+        assertEquals("a,\"b,\"\"\", c ,d", tokenizer.getUntokenizedRow());
+    }
+
+    @Test
+    public void readsOnlyMappedColumns() throws IOException {
+        String csv = "John,Doe  ,42,80.5\r\n";
+        CsvPreference preferences = CsvPreference.STANDARD_PREFERENCE;
+        ByteBufferTokenizer tokenizer = (ByteBufferTokenizer) tokenizer(csv, preferences);
+        try (CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(tokenizer, preferences)) {
+            assertEquals(new BeanWithPartialColumnMapping("Doe", 42), reader.read(BeanWithPartialColumnMapping.class));
+        }
+    }
+
+    private static void assertSameTokens(String csv, CsvPreference preferences) throws IOException {
+        Tokenizer expected = new Tokenizer(new StringReader(csv), preferences);
+        ITokenizer actual = tokenizer(csv, preferences);
+
+        List<String> expectedColumns = new ArrayList<>();
+        List<String> actualColumns = new ArrayList<>();
+        boolean more;
+        do {
+            more = expected.readColumns(expectedColumns);
+            assertEquals(more, actual.readColumns(actualColumns));
+            assertEquals(expectedColumns, actualColumns);
+            assertEquals(expected.getLineNumber(), actual.getLineNumber());
+            if (more) {
+                assertEquals(expected.getUntokenizedRow(), actual.getUntokenizedRow());
+            }
+        } while (more);
+    }
+
+    private static ITokenizer tokenizer(String csv, CsvPreference preferences) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(csv.length() * 3);
+        buffer.put(csv.getBytes(StandardCharsets.UTF_8)).flip();
+        return new ByteBufferTokenizer(buffer, preferences);
+    }
+}
@@ -0,0 +1,216 @@
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.ParseInt;
+import com.github.dmn1k.supercsv.testbeans.TestEnum;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Before;
+import org.junit.Test;
+import org.supercsv.io.CsvListWriter;
+import org.supercsv.io.Tokenizer;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Verifies that the steady-state read/write loops only allocate what the underlying super-csv tokenizer/writer
+ * allocates anyway (plus the bean when reading). Each loop is warmed up and measured several times over many rows;
+ * the cheapest run is compared, so one-off allocations like buffers and mappings don't count per row.
+ */
+public class CsvDeclarativeBeanAllocationTest {
+
+    private static final CsvPreference PREFS = CsvPreference.STANDARD_PREFERENCE;
+    private static final int ROWS = 200000;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 3;
+    // object header + three references, padded
+    private static final long BEAN_SIZE = 32;
+    // bytes per row, less than a boxed Integer/Long or an Object[] per row
+    private static final long TOLERANCE = 16;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private String csv;
+
+    @Before
+    public void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            builder.append("first,second,third\r\n");
+        }
+        csv = builder.toString();
+    }
+
+    @Test
+    public void readingAllocatesOnlyBeanAndCellValues() throws IOException {
+        long tokenizerBytesPerRow = measure(this::tokenize);
+        long readerBytesPerRow = measure(() -> readBeans(AllocationBean.class));
+
+        assertTrue("reader allocated " + readerBytesPerRow + " bytes per row, tokenizer " + tokenizerBytesPerRow,
+                readerBytesPerRow <= tokenizerBytesPerRow + BEAN_SIZE + TOLERANCE);
+    }
+
+    @Test
+    public void convertingValuesAllocatesNothing() throws IOException {
+        csv = csv.replace("first,second,third", "Bla,Blubb,Bla");
+        long tokenizerBytesPerRow = measure(this::tokenize);
+        long readerBytesPerRow = measure(() -> readBeans(EnumBean.class));
+
+        assertTrue("reader allocated " + readerBytesPerRow + " bytes per row, tokenizer " + tokenizerBytesPerRow,
+                readerBytesPerRow <= tokenizerBytesPerRow + BEAN_SIZE + TOLERANCE);
+    }
+
+    @Test
+    public void parsingPrimitivesAllocatesNoBoxes() throws IOException {
+        // values outside of the Integer/Long-caches. Parsing doubles and ParseBool allocate internally anyway.
+        csv = csv.replace("first,second,third", "12345,1234567890123,-98765");
+        long tokenizerBytesPerRow = measure(this::tokenize);
+        long readerBytesPerRow = measure(() -> readBeans(IntegralBean.class));
+
+        assertTrue("reader allocated " + readerBytesPerRow + " bytes per row, tokenizer " + tokenizerBytesPerRow,
+                readerBytesPerRow <= tokenizerBytesPerRow + BEAN_SIZE + TOLERANCE);
+    }
+
+    @Test
+    public void writingAllocatesOnlyCellValues() throws IOException {
+        long listWriterBytesPerRow = measure(this::writeLists);
+        long beanWriterBytesPerRow = measure(this::writeBeans);
+
+        assertTrue("bean writer allocated " + beanWriterBytesPerRow + " bytes per row, list writer " + listWriterBytesPerRow,
+                beanWriterBytesPerRow <= listWriterBytesPerRow + TOLERANCE);
+    }
+
+    /**
+     * @return the fewest bytes per row allocated by the measured runs after warming up
+     */
+    private static long measure(Measurement measurement) throws IOException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            measurement.bytesPerRow();
+        }
+
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            min = Math.min(min, measurement.bytesPerRow());
+        }
+        return min;
+    }
+
+    private long tokenize() throws IOException {
+        List<String> columns = new ArrayList<>();
+        try (Tokenizer tokenizer = new Tokenizer(new StringReader(csv), PREFS)) {
+            long start = allocatedBytes();
+            while (tokenizer.readColumns(columns)) {
+                // just tokenize
+            }
+            return (allocatedBytes() - start) / ROWS;
+        }
+    }
+
+    private long readBeans(Class<?> beanType) throws IOException {
+        try (CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(new StringReader(csv), PREFS)) {
+            reader.setBindingEngine(BindingEngine.ACCESSOR);
+            long start = allocatedBytes();
+            while (reader.read(beanType) != null) {
+                // just read
+            }
+            return (allocatedBytes() - start) / ROWS;
+        }
+    }
+
+    private long writeLists() throws IOException {
+        List<String> row = Arrays.asList("first", "second", "third");
+        try (CsvListWriter writer = new CsvListWriter(new DiscardingWriter(), PREFS)) {
+            long start = allocatedBytes();
+            for (int i = 0; i < ROWS; i++) {
+                writer.write(row);
+                writer.flush();
+            }
+            return (allocatedBytes() - start) / ROWS;
+        }
+    }
+
+    private long writeBeans() throws IOException {
+        AllocationBean bean = new AllocationBean("first", "second", "third");
+        try (CsvDeclarativeBeanWriter writer = new CsvDeclarativeBeanWriter(new DiscardingWriter(), PREFS)) {
+            long start = allocatedBytes();
+            for (int i = 0; i < ROWS; i++) {
+                writer.write(bean);
+            }
+            return (allocatedBytes() - start) / ROWS;
+        }
+    }
+
+    private long allocatedBytes() {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private interface Measurement {
+
+        long bytesPerRow() throws IOException;
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class AllocationBean {
+
+        private String first;
+        private String second;
+        private String third;
+
+        public AllocationBean() {
+        }
+
+        public AllocationBean(String first, String second, String third) {
+            this.first = first;
+            this.second = second;
+            this.third = third;
+        }
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class EnumBean {
+
+        private TestEnum first;
+        private TestEnum second;
+        private TestEnum third;
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class IntegralBean {
+
+        @ParseInt
+        private int first;
+        // converted by convention
+        private long second;
+        private int third;
+    }
+
+    private static final class DiscardingWriter extends Writer {
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            // discard
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
@@ -16,6 +16,17 @@
 package com.github.dmn1k.supercsv.io.declarative;
 
 import com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanReader;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CellProcessorFactoryMethod;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.ParseBool;
+import com.github.dmn1k.supercsv.io.declarative.annotation.ParseDouble;
+import com.github.dmn1k.supercsv.io.declarative.annotation.ParseInt;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.StrMinMax;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.Unique;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.UniqueHashCode;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.UniqueKey;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.UniqueStrategy;
 import com.github.dmn1k.supercsv.testbeans.BeanForDefaultOverridingTest;
 import com.github.dmn1k.supercsv.testbeans.BeanWithCellProcessorFactoryMethod;
 import com.github.dmn1k.supercsv.testbeans.ReadAndWriteBeanWithPropertyAccess;
@@ -24,6 +35,7 @@ import com.github.dmn1k.supercsv.testbeans.BeanWithEnum;
 import com.github.dmn1k.supercsv.testbeans.BeanWithInheritedProperties;
 import com.github.dmn1k.supercsv.testbeans.BeanWithOptionalFieldAndFieldAccess;
 import com.github.dmn1k.supercsv.testbeans.BeanWithOptionalFieldAndPropertyAccess;
+import com.github.dmn1k.supercsv.testbeans.BeanWithNamedColumns;
 import com.github.dmn1k.supercsv.testbeans.BeanWithPartialColumnMapping;
 import com.github.dmn1k.supercsv.testbeans.BeanWithRepeatableAnnotation;
 import com.github.dmn1k.supercsv.testbeans.BeanWithSimpleAnnotations;
@@ -37,21 +49,41 @@ import com.github.dmn1k.supercsv.testbeans.order.BeanWithExplicitlyOrderedFields
 import com.github.dmn1k.supercsv.testbeans.order.BeanWithIllegalExplicitFieldOrder;
 import com.github.dmn1k.supercsv.testbeans.order.BeanWithPartiallyExplicitlyOrderedFields;
 import com.github.dmn1k.supercsv.testbeans.order.StrictBeanWithPartiallyExplicitlyOrderedFields;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.After;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.exception.SuperCsvException;
 import org.supercsv.exception.SuperCsvReflectionException;
 import org.supercsv.io.Tokenizer;
 import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
 
 /**
  * Tests the {@link CsvDeclarativeBeanReader}
@@ -124,6 +156,18 @@ public class CsvDeclarativeBeanReaderTest {
         assertNull(beanReader.read(BeanWithSimpleAnnotations.class));
     }
 
+    @Test
+    public void readSimpleBeanWithAccessorBindingEngine() throws IOException {
+        setupBeanReader(SIMPLE_BEAN_SIMPLE_ANNOTATIONS_CSV);
+        beanReader.setBindingEngine(BindingEngine.ACCESSOR);
+        BeanWithSimpleAnnotations john = new BeanWithSimpleAnnotations(null, "Doe", 42, 100.5);
+        BeanWithSimpleAnnotations max = new BeanWithSimpleAnnotations("Max", "Mustermann", 22, 21.4);
+
+        assertEquals(john, beanReader.read(BeanWithSimpleAnnotations.class));
+        assertEquals(max, beanReader.read(BeanWithSimpleAnnotations.class));
+        assertNull(beanReader.read(BeanWithSimpleAnnotations.class));
+    }
+
     @Test
     public void readBeanWithRepeatableAnnotations() throws IOException {
         setupBeanReader(SIMPLE_BEAN_SIMPLE_ANNOTATIONS_CSV);
@@ -198,6 +242,48 @@ public class CsvDeclarativeBeanReaderTest {
         assertNull(beanReader.read(BeanWithPartialColumnMapping.class));
     }
 
+    @Test
+    public void readProjectionOfBean() throws IOException {
+        setupBeanReader(SIMPLE_BEAN_SIMPLE_ANNOTATIONS_CSV);
+        BeanWithSimpleAnnotations john = new BeanWithSimpleAnnotations(null, "Doe", 0, 100.5);
+        BeanWithSimpleAnnotations max = new BeanWithSimpleAnnotations(null, "Mustermann", 0, 21.4);
+
+        assertEquals(john, beanReader.read(BeanWithSimpleAnnotations.class, "lastName", "weight"));
+        assertEquals(max, beanReader.read(BeanWithSimpleAnnotations.class, "weight", "lastName"));
+        assertNull(beanReader.read(BeanWithSimpleAnnotations.class, "lastName", "weight"));
+    }
+
+    @Test(expected = SuperCsvException.class)
+    public void readProjectionWithUnmappedField() throws IOException {
+        setupBeanReader(SIMPLE_BEAN_SIMPLE_ANNOTATIONS_CSV);
+
+        beanReader.read(BeanWithSimpleAnnotations.class, "lastName", "height");
+    }
+
+    @Test
+    public void readBeanWithColumnsMappedByHeader() throws IOException {
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("Age,Last Name,name\n42,Doe  ,John\n22,Mustermann,Max\n"), PREFS);
+
+        assertEquals(Arrays.asList("Age", "Last Name", "name"), Arrays.asList(beanReader.mapColumnsByHeader()));
+        assertEquals(new BeanWithNamedColumns("John", "Doe", 42), beanReader.read(BeanWithNamedColumns.class));
+        assertEquals(Arrays.asList(new BeanWithNamedColumns("Max", "Mustermann", 22)),
+                beanReader.stream(BeanWithNamedColumns.class).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void readBeanWithUnknownColumnInHeader() throws IOException {
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("Age,Last Name,name,Weight\n42,Doe,John,80\n"), PREFS);
+        beanReader.mapColumnsByHeader();
+
+        try {
+            beanReader.read(BeanWithNamedColumns.class);
+            fail("Weight is not mapped");
+        } catch (SuperCsvException e) {
+            assertEquals("MappingMode.STRICT: Header does not match the bean-fields. Unknown columns: [Weight], missing columns: []",
+                    e.getMessage());
+        }
+    }
+
     @Test(expected = SuperCsvException.class)
     public void readStrictBeanWithPartialFieldMapping() throws IOException {
         setupBeanReader(SIMPLE_BEAN_SIMPLE_ANNOTATIONS_CSV);
@@ -357,6 +443,340 @@ public class CsvDeclarativeBeanReaderTest {
         // expect no exception to be thrown
     }
     
+    @Test
+    public void streamBeans() throws IOException {
+        setupBeanReader(SIMPLE_BEAN_SIMPLE_ANNOTATIONS_CSV);
+        try (Stream<BeanWithSimpleAnnotations> beans = beanReader.stream(BeanWithSimpleAnnotations.class)) {
+            assertEquals(Arrays.asList(new BeanWithSimpleAnnotations(null, "Doe", 42, 100.5), new BeanWithSimpleAnnotations("Max", "Mustermann", 22, 21.4)),
+                    beans.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void streamBeansInParallelKeepsRowOrder() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            csv.append("John,Doe,").append(i).append(",100.5\r\n");
+        }
+        beanReader = new CsvDeclarativeBeanReader(new StringReader(csv.toString()), PREFS);
+
+        try (Stream<BeanWithSimpleAnnotations> beans = beanReader.stream(BeanWithSimpleAnnotations.class)) {
+            List<Integer> ages = beans.parallel().map(BeanWithSimpleAnnotations::getAge).collect(Collectors.toList());
+            assertEquals(IntStream.range(0, 20000).boxed().collect(Collectors.toList()), ages);
+        }
+    }
+
+    @Test
+    public void streamOfFileEstimatesRemainingRows() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            csv.append("John,Doe,").append(i).append(",100.5\r\n");
+        }
+        Path file = Files.createTempFile("estimate", ".csv");
+        try {
+            Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+            beanReader = new CsvDeclarativeBeanReader(FileChannel.open(file), StandardCharsets.UTF_8, PREFS);
+
+            try (Stream<BeanWithSimpleAnnotations> beans = beanReader.stream(BeanWithSimpleAnnotations.class)) {
+                Spliterator<BeanWithSimpleAnnotations> spliterator = beans.spliterator();
+                assertTrue(spliterator.estimateSize() < Long.MAX_VALUE);
+                for (int i = 0; i < 10000; i++) {
+                    assertTrue(spliterator.tryAdvance(bean -> {
+                        // only read
+                    }));
+                }
+
+                long estimate = spliterator.estimateSize();
+                assertTrue(String.valueOf(estimate), estimate > 8000 && estimate < 12000);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = SuperCsvConstraintViolationException.class)
+    public void streamBeansWithStatefulProcessorsInParallel() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            csv.append(i).append("\r\n");
+        }
+        csv.append("0\r\n");
+        beanReader = new CsvDeclarativeBeanReader(new StringReader(csv.toString()), PREFS);
+
+        try (Stream<UniqueHashCodeBean> beans = beanReader.stream(UniqueHashCodeBean.class)) {
+            beans.parallel().forEach(bean -> {
+                // only process
+            });
+        }
+    }
+
+    @Test
+    public void streamBeansInParallelClosesMappersOfSplitBatches() throws IOException {
+        beanReader = new CsvDeclarativeBeanReader(new StringReader(closingCsv()), PREFS);
+        // creates the reader's own processors before counting
+        beanReader.read(ClosingProcessorBean.class);
+        ClosingProcessorBean.CREATED.set(0);
+        ClosingProcessorBean.CLOSED.set(0);
+
+        try (Stream<ClosingProcessorBean> beans = beanReader.stream(ClosingProcessorBean.class)) {
+            assertEquals(19999, beans.parallel().collect(Collectors.toList()).size());
+            // closed as soon as their batches are mapped
+            assertTrue(ClosingProcessorBean.CREATED.get() > 0);
+            assertEquals(ClosingProcessorBean.CREATED.get(), ClosingProcessorBean.CLOSED.get());
+        }
+    }
+
+    @Test
+    public void closingStreamClosesMappersOfUnfinishedBatches() throws IOException {
+        beanReader = new CsvDeclarativeBeanReader(new StringReader(closingCsv()), PREFS);
+        beanReader.read(ClosingProcessorBean.class);
+        ClosingProcessorBean.CREATED.set(0);
+        ClosingProcessorBean.CLOSED.set(0);
+
+        try (Stream<ClosingProcessorBean> beans = beanReader.stream(ClosingProcessorBean.class)) {
+            assertTrue(beans.parallel().anyMatch(bean -> true));
+        }
+
+        // the reader's own processor is closed as well
+        assertTrue(ClosingProcessorBean.CREATED.get() > 0);
+        assertEquals(ClosingProcessorBean.CREATED.get() + 1, ClosingProcessorBean.CLOSED.get());
+    }
+
+    @Test
+    public void readPrimitivesWithoutBoxing() throws IOException {
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("12345,1234567890123,3.25,true\r\n"), PREFS);
+        beanReader.setBindingEngine(BindingEngine.ACCESSOR);
+        PrimitiveBean bean = beanReader.read(PrimitiveBean.class);
+
+        assertEquals("12345,1234567890123,3.25,true", bean.toString());
+    }
+
+    @Test
+    public void primitiveParseErrorsAreReportedByProcessor() throws IOException {
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("12345,1,1.0,true\r\nabc,1,1.0,true\r\n"), PREFS);
+        beanReader.setBindingEngine(BindingEngine.ACCESSOR);
+        beanReader.read(PrimitiveBean.class);
+
+        try {
+            beanReader.read(PrimitiveBean.class);
+            fail("'abc' is not an int");
+        } catch (SuperCsvCellProcessorException e) {
+            assertEquals("'abc' could not be parsed as an Integer", e.getMessage());
+            assertTrue(e.getProcessor() instanceof org.supercsv.cellprocessor.ParseInt);
+            assertEquals(2, e.getCsvContext().getLineNumber());
+            assertEquals(1, e.getCsvContext().getColumnNumber());
+        }
+    }
+
+    @Test
+    public void collectsViolationsInErrorReport() throws IOException {
+        ErrorReport report = new ErrorReport(16);
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("a\r\nb\r\na\r\nc\r\n"), PREFS);
+        beanReader.setErrorReport(report);
+
+        try (Stream<UniqueHashCodeBean> beans = beanReader.stream(UniqueHashCodeBean.class)) {
+            assertEquals(Arrays.asList("a", "b", "c"), beans.map(UniqueHashCodeBean::getContent).collect(Collectors.toList()));
+        }
+        assertEquals(1, report.size());
+        assertEquals(3, report.getRowNumber(0));
+        assertEquals(1, report.getColumnNumber(0));
+        assertEquals(com.github.dmn1k.supercsv.cellprocessor.constraint.UniqueHashCode.class, report.getProcessor(0));
+        assertEquals("row 3 (line 3), column 1 (UniqueHashCode): duplicate value 'a' encountered with hashcode 97",
+                report.describe(0));
+
+        report.clear();
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("1,1,1.0,true\r\nabc,1,1.0,true\r\n2,1,x,true\r\n"
+                + "3,1,1.0,true\r\n"), PREFS);
+        beanReader.setErrorReport(report);
+        assertEquals("1,1,1.0,true", beanReader.read(PrimitiveBean.class).toString());
+        assertEquals("3,1,1.0,true", beanReader.read(PrimitiveBean.class).toString());
+        assertNull(beanReader.read(PrimitiveBean.class));
+
+        assertEquals(2, report.getRejectedRowCount());
+        assertEquals("'abc' could not be parsed as an Integer", report.getReason(0));
+        assertEquals(org.supercsv.cellprocessor.ParseInt.class, report.getProcessor(0));
+        assertEquals(3, report.getLineNumber(1));
+        assertEquals(3, report.getColumnNumber(1));
+    }
+
+    @Test
+    public void uniqueStrategiesFindDuplicates() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            csv.append("value ").append(i).append(',').append(i).append("\r\n");
+        }
+        csv.append("value 42,42\r\nvalue 17,20001\r\n");
+
+        ErrorReport report = new ErrorReport(16);
+        beanReader = new CsvDeclarativeBeanReader(new StringReader(csv.toString()), PREFS);
+        beanReader.setErrorReport(report);
+        try (Stream<MemoryBoundedUniqueBean> beans = beanReader.stream(MemoryBoundedUniqueBean.class)) {
+            assertEquals(20000, beans.count());
+        }
+
+        assertEquals(3, report.size());
+        assertEquals("row 20001 (line 20001), column 1 (Unique): duplicate value 'value 42' encountered", report.describe(0));
+        assertEquals("row 20001 (line 20001), column 2 (UniqueHashCode): duplicate value '42' encountered with hashcode 1662",
+                report.describe(1));
+        assertEquals("row 20002 (line 20002), column 1 (Unique): duplicate value 'value 17' encountered", report.describe(2));
+    }
+
+    @Test
+    public void uniqueKeysAreCheckedOnProcessedValues() throws IOException {
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("John,42,a\r\nJane,42,a\r\nJohn,042,b\r\n"), PREFS);
+        assertNotNull(beanReader.read(UniqueKeyBean.class));
+        assertNotNull(beanReader.read(UniqueKeyBean.class));
+        try {
+            beanReader.read(UniqueKeyBean.class);
+            fail("John is 42 already");
+        } catch (SuperCsvConstraintViolationException e) {
+            assertEquals("duplicate key [John, 42] encountered for unique key [name, age]", e.getMessage());
+            assertEquals(3, e.getCsvContext().getLineNumber());
+        }
+
+        ErrorReport report = new ErrorReport(16);
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("John,42,a\r\nJane,42,a\r\nJane,43,a\r\n"), PREFS);
+        beanReader.setErrorReport(report);
+        try (Stream<UniqueKeyBean> beans = beanReader.stream(UniqueKeyBean.class)) {
+            assertEquals(2, beans.count());
+        }
+        assertEquals("row 3 (line 3), column 0: duplicate key [Jane, a] encountered for unique key [name, code]",
+                report.describe(0));
+    }
+
+    @Test
+    public void validatesWithoutInstantiatingBeans() throws IOException {
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("1,1,1.0,true\r\nabc,1,1.0,true\r\n2,1,x,true\r\n"
+                + "3,1,1.0,true\r\n"), PREFS);
+        ValidationSummary summary = beanReader.validate(PrimitiveBean.class);
+        assertFalse(summary.isValid());
+        assertEquals(4, summary.getRowCount());
+        assertEquals(2, summary.getInvalidRowCount());
+        assertEquals("row 2 (line 2), column 1 (ParseInt): 'abc' could not be parsed as an Integer",
+                summary.getErrorReport().describe(0));
+        assertEquals(3, summary.getErrorReport().getColumnNumber(1));
+
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("John,42,a\r\nJane,42,a\r\nJohn,042,b\r\n"), PREFS);
+        summary = beanReader.validate(UniqueKeyBean.class);
+        assertEquals("1 of 3 rows are invalid", summary.toString());
+        assertEquals("duplicate key [John, 42] encountered for unique key [name, age]",
+                summary.getErrorReport().getReason(0));
+
+        beanReader = new CsvDeclarativeBeanReader(new StringReader("a\r\nb\r\n"), PREFS);
+        assertTrue(beanReader.validate(UninstantiableBean.class).isValid());
+    }
+
+    @Test
+    public void validateFailsOnRowsReadFailsOn() throws IOException {
+        for (ErrorReport report : Arrays.asList(null, new ErrorReport(16))) {
+            beanReader = new CsvDeclarativeBeanReader(new StringReader(",x\r\n"), PREFS);
+            beanReader.setErrorReport(report);
+            try {
+                beanReader.validate(OptionalPrimitiveBean.class);
+                fail("null can't be set on an int field");
+            } catch (SuperCsvReflectionException e) {
+                assertEquals("Cannot set value on field 'a'", e.getMessage());
+            }
+
+            beanReader = new CsvDeclarativeBeanReader(new StringReader(",x\r\n"), PREFS);
+            beanReader.setErrorReport(report);
+            try {
+                beanReader.read(OptionalPrimitiveBean.class);
+                fail("null can't be set on an int field");
+            } catch (SuperCsvReflectionException e) {
+                assertEquals("Cannot set value on field 'a'", e.getMessage());
+            }
+        }
+    }
+
+    @UniqueKey({"name", "age"})
+    @UniqueKey(value = {"name", "code"}, strategy = UniqueStrategy.BLOOM_SPILL, maxMemory = 64 * 1024)
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class UniqueKeyBean {
+
+        private String name;
+        @ParseInt
+        private int age;
+        private String code;
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class MemoryBoundedUniqueBean {
+
+        @Unique(strategy = UniqueStrategy.BLOOM_SPILL, maxMemory = 64 * 1024)
+        private String name;
+        @UniqueHashCode(strategy = UniqueStrategy.HASH64)
+        private String id;
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class OptionalPrimitiveBean {
+
+        @com.github.dmn1k.supercsv.io.declarative.annotation.Optional
+        private int a;
+        private String b;
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class UninstantiableBean {
+
+        @StrMinMax(min = 1, max = 1)
+        private String name;
+
+        public UninstantiableBean() {
+            throw new IllegalStateException("beans are not needed for validation");
+        }
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class PrimitiveBean {
+
+        @ParseInt
+        private int first;
+        private long second;
+        @ParseDouble
+        private double third;
+        @ParseBool
+        private boolean fourth;
+
+        @Override
+        public String toString() {
+            return first + "," + second + "," + third + "," + fourth;
+        }
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class ClosingProcessorBean {
+
+        static final AtomicInteger CREATED = new AtomicInteger();
+        static final AtomicInteger CLOSED = new AtomicInteger();
+
+        @CellProcessorFactoryMethod(methodName = "createProcessor")
+        private String value;
+
+        public static CellProcessor createProcessor(CellProcessor next) {
+            CREATED.incrementAndGet();
+            return new ClosingProcessor(next);
+        }
+    }
+
+    private static final class ClosingProcessor extends CellProcessorAdaptor implements StringCellProcessor, Closeable {
+
+        ClosingProcessor(CellProcessor next) {
+            super(next);
+        }
+
+        @Override
+        public <T> T execute(Object value, CsvContext context) {
+            return next.execute(value, context);
+        }
+
+        @Override
+        public void close() {
+            ClosingProcessorBean.CLOSED.incrementAndGet();
+        }
+    }
+
     public static class IllegalAccessBean {
 
         public IllegalAccessBean() throws IllegalAccessException {
@@ -365,6 +785,14 @@ public class CsvDeclarativeBeanReaderTest {
 
     }
 
+    private static String closingCsv() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            csv.append("value").append(i).append("\r\n");
+        }
+        return csv.toString();
+    }
+
     private void setupBeanReader(String inputFileName) {
         beanReader = new CsvDeclarativeBeanReader(new InputStreamReader(
                 CsvDeclarativeBeanReaderTest.class.getResourceAsStream(inputFileName)), PREFS);
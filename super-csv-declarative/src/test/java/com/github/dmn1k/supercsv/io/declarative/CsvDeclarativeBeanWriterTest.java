@@ -17,6 +17,7 @@ package com.github.dmn1k.supercsv.io.declarative;
 
 import com.github.dmn1k.supercsv.io.declarative.CsvDeclarativeBeanWriter;
 import com.github.dmn1k.supercsv.testbeans.BeanForWriteTypeConversion;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 
@@ -24,6 +25,7 @@ import com.github.dmn1k.supercsv.testbeans.BeanWithSimpleAnnotations;
 import com.github.dmn1k.supercsv.testbeans.BeanWithoutAnnotations;
 import org.junit.After;
 import org.junit.Test;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
 import org.supercsv.prefs.CsvPreference;
 import com.github.dmn1k.supercsv.testbeans.ReadAndWriteBeanWithPropertyAccess;
 import com.github.dmn1k.supercsv.testbeans.BeanWithChainedAnnotations;
@@ -33,8 +35,22 @@ import com.github.dmn1k.supercsv.testbeans.BeanWithOptionalFieldAndFieldAccess;
 import com.github.dmn1k.supercsv.testbeans.BeanWithOptionalFieldAndPropertyAccess;
 import com.github.dmn1k.supercsv.testbeans.BeanWithPartialColumnMapping;
 import com.github.dmn1k.supercsv.testbeans.TestEnum;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import com.github.dmn1k.supercsv.io.declarative.constraint.annotation.NotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * @since 2.5
@@ -161,6 +177,124 @@ public class CsvDeclarativeBeanWriterTest {
         assertEquals("Blubb\r\n", result.toString());
     }
 
+    @Test
+    public void writeAllFlushesAccordingToPolicy() throws IOException {
+        FlushCountingWriter flushCountingWriter = new FlushCountingWriter();
+        beanWriter = new CsvDeclarativeBeanWriter(flushCountingWriter, PREFS);
+        beanWriter.setFlushPolicy(FlushPolicy.everyRows(2));
+        BeanWithoutAnnotations john = new BeanWithoutAnnotations("John", "Doe", 42, 100.5);
+
+        beanWriter.writeAll(Arrays.asList(john, john, john, john, john));
+
+        assertEquals(2, flushCountingWriter.flushes);
+        assertEquals(4, flushCountingWriter.toString().split("\r\n").length);
+    }
+
+    @Test
+    public void writeAllFromStreamFlushesOnClose() throws IOException {
+        FlushCountingWriter flushCountingWriter = new FlushCountingWriter();
+        beanWriter = new CsvDeclarativeBeanWriter(flushCountingWriter, PREFS);
+        beanWriter.setFlushPolicy(FlushPolicy.onClose());
+
+        beanWriter.writeAll(Stream.of(new BeanWithoutAnnotations("John", "Doe", 42, 100.5), new BeanWithEnum(TestEnum.Blubb)));
+        assertEquals("", flushCountingWriter.toString());
+
+        beanWriter.close();
+        assertEquals("John,Doe,42,100.5\r\nBlubb\r\n", flushCountingWriter.toString());
+    }
+
+    @Test(timeout = 10000)
+    public void writeAllInParallelWritesSameRowsAsSequentially() throws IOException {
+        List<NoteBean> beans = notes(10000);
+        beanWriter.writeAll(beans);
+
+        StringWriter parallelResult = new StringWriter();
+        try (CsvDeclarativeBeanWriter parallelWriter = new CsvDeclarativeBeanWriter(parallelResult, PREFS)) {
+            parallelWriter.writeAll(beans.stream(), ParallelWriteOptions.workers(4).withBatchSize(100));
+            parallelWriter.flush();
+            beanWriter.flush();
+
+            assertEquals(result.toString(), parallelResult.toString());
+            assertEquals(beanWriter.getLineNumber(), parallelWriter.getLineNumber());
+            assertEquals(beanWriter.getRowNumber(), parallelWriter.getRowNumber());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void writeAllInParallelReportsSameLineAndRowNumbersAsSequentially() throws IOException {
+        List<NoteBean> beans = notes(10000);
+        beans.set(7000, new NoteBean(null, 7000));
+
+        SuperCsvConstraintViolationException expected = null;
+        try {
+            beanWriter.writeAll(beans);
+        } catch (SuperCsvConstraintViolationException e) {
+            expected = e;
+        }
+
+        StringWriter parallelResult = new StringWriter();
+        try (CsvDeclarativeBeanWriter parallelWriter = new CsvDeclarativeBeanWriter(parallelResult, PREFS)) {
+            parallelWriter.writeAll(beans, ParallelWriteOptions.workers(4).withBatchSize(100));
+            fail("bean 7000 has no text");
+        } catch (SuperCsvConstraintViolationException e) {
+            beanWriter.flush();
+            assertEquals(result.toString(), parallelResult.toString());
+            assertEquals(expected.getCsvContext().getLineNumber(), e.getCsvContext().getLineNumber());
+            assertEquals(expected.getCsvContext().getRowNumber(), e.getCsvContext().getRowNumber());
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void writeGzipInParallelMembers() throws IOException {
+        List<BeanWithSimpleAnnotations> beans = Collections.nCopies(200000, new BeanWithSimpleAnnotations("John", "Doe", 42, 100.5));
+        beanWriter.writeAll(beans);
+        beanWriter.flush();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (CsvDeclarativeBeanWriter gzipWriter = CsvDeclarativeBeanWriter.gzip(compressed, StandardCharsets.UTF_8, PREFS, 4)) {
+            gzipWriter.setFlushPolicy(FlushPolicy.onClose());
+            gzipWriter.writeAll(beans);
+        }
+
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                decompressed.write(buffer, 0, read);
+            }
+        }
+        assertEquals(result.toString(), new String(decompressed.toByteArray(), StandardCharsets.UTF_8));
+
+        try (CsvDeclarativeBeanReader reader = CsvDeclarativeBeanReader.gzip(new ByteArrayInputStream(compressed.toByteArray()),
+                StandardCharsets.UTF_8, PREFS)) {
+            assertEquals(beans.size(), reader.stream(BeanWithSimpleAnnotations.class).filter(beans.get(0)::equals).count());
+        }
+
+        // like a pipe or socket: short reads and nothing available
+        InputStream trickling = new FilterInputStream(new ByteArrayInputStream(compressed.toByteArray())) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 16));
+            }
+
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+        try (CsvDeclarativeBeanReader reader = CsvDeclarativeBeanReader.gzip(trickling, StandardCharsets.UTF_8, PREFS)) {
+            assertEquals(beans.size(), reader.stream(BeanWithSimpleAnnotations.class).count());
+        }
+    }
+
+    private static List<NoteBean> notes(int count) {
+        List<NoteBean> notes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            notes.add(new NoteBean(i % 7 == 0 ? "multi\nline, \"quoted\"" : "plain", i));
+        }
+        return notes;
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void writeWithNullBeanClass() throws IOException {
         beanWriter.write(null);
@@ -177,4 +311,27 @@ public class CsvDeclarativeBeanWriterTest {
     public void writerConstructorWithNullPreferences() {
         new CsvDeclarativeBeanWriter(new StringWriter(), null);
     }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class NoteBean {
+
+        @NotNull
+        private String text;
+        private int number;
+
+        public NoteBean(String text, int number) {
+            this.text = text;
+            this.number = number;
+        }
+    }
+
+    private static final class FlushCountingWriter extends StringWriter {
+
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
 }
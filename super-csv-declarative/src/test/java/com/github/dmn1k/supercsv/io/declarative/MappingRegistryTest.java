@@ -0,0 +1,178 @@
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.internal.cells.BeanCells;
+import com.github.dmn1k.supercsv.testbeans.BeanWithNamedColumns;
+import com.github.dmn1k.supercsv.testbeans.BeanWithSimpleAnnotations;
+import com.github.dmn1k.supercsv.testbeans.BeanWithoutAnnotations;
+import com.github.dmn1k.supercsv.testbeans.UniqueHashCodeBean;
+import com.github.dmn1k.supercsv.testbeans.order.BeanWithExplicitlyOrderedFields;
+import com.github.dmn1k.supercsv.testbeans.order.BeanWithIllegalExplicitFieldOrder;
+import com.github.dmn1k.supercsv.testbeans.order.StrictBeanWithPartiallyExplicitlyOrderedFields;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+public class MappingRegistryTest {
+
+    private final MappingRegistry registry = new MappingRegistry();
+
+    @Test
+    public void keepsMappingsWhenReaderIsClosed() throws IOException {
+        readUniqueBean("same\r\n");
+        readUniqueBean("same\r\n");
+
+        MappingRegistry.Statistics statistics = registry.getStatistics();
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getSize());
+    }
+
+    @Test(expected = SuperCsvConstraintViolationException.class)
+    public void statefulProcessorsAreScopedToReader() throws IOException {
+        readUniqueBean("same\r\nsame\r\n");
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedTypes() {
+        MappingRegistry boundedRegistry = new MappingRegistry(1);
+
+        BeanCells cells = boundedRegistry.getCells(BeanWithoutAnnotations.class, StandardCsvContexts.READ);
+        assertSame(cells, boundedRegistry.getCells(BeanWithoutAnnotations.class, StandardCsvContexts.READ));
+
+        boundedRegistry.getCells(BeanWithSimpleAnnotations.class, StandardCsvContexts.READ);
+        assertNotSame(cells, boundedRegistry.getCells(BeanWithoutAnnotations.class, StandardCsvContexts.READ));
+
+        MappingRegistry.Statistics statistics = boundedRegistry.getStatistics();
+        assertEquals(1, statistics.getSize());
+        assertEquals(2, statistics.getEvictionCount());
+        assertEquals(3, statistics.getMissCount());
+    }
+
+    @Test
+    public void cachesMappingsPerHeader() {
+        List<String> header = Arrays.asList("Age", "Last Name", "name");
+        List<String> reordered = Arrays.asList("name", "Last Name", "Age");
+
+        BeanCells cells = registry.getCells(BeanWithNamedColumns.class, StandardCsvContexts.READ, header);
+        BeanCells reorderedCells = registry.getCells(BeanWithNamedColumns.class, StandardCsvContexts.READ, reordered);
+        for (int i = 0; i < 3; i++) {
+            assertSame(cells, registry.getCells(BeanWithNamedColumns.class, StandardCsvContexts.READ, new ArrayList<>(header)));
+            assertSame(reorderedCells, registry.getCells(BeanWithNamedColumns.class, StandardCsvContexts.READ, reordered));
+        }
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedHeaders() {
+        List<String> header = Arrays.asList("Age", "Last Name", "name");
+        BeanCells cells = registry.getCells(BeanWithNamedColumns.class, StandardCsvContexts.READ, header);
+
+        // permutations of the header, more than are cached
+        List<List<String>> headers = new ArrayList<>();
+        for (String first : header) {
+            for (String second : header) {
+                for (String third : header) {
+                    if (!first.equals(second) && !first.equals(third) && !second.equals(third)) {
+                        headers.add(Arrays.asList(first, second, third));
+                    }
+                }
+            }
+        }
+        for (List<String> other : headers.subList(1, headers.size())) {
+            registry.getCells(BeanWithNamedColumns.class, StandardCsvContexts.WRITE, other);
+            registry.getCells(BeanWithNamedColumns.class, StandardCsvContexts.VALIDATE, other);
+        }
+
+        assertNotSame(cells, registry.getCells(BeanWithNamedColumns.class, StandardCsvContexts.READ, header));
+    }
+
+    @Test
+    public void clearRemovesAllMappings() {
+        BeanCells cells = registry.getCells(BeanWithoutAnnotations.class, StandardCsvContexts.READ);
+        registry.clear();
+
+        assertEquals(0, registry.size());
+        assertNotSame(cells, registry.getCells(BeanWithoutAnnotations.class, StandardCsvContexts.READ));
+    }
+
+    @Test
+    public void createsMappingOnlyOnceForConcurrentRequests() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<BeanCells>> requests = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                requests.add(() -> registry.getCells(BeanWithSimpleAnnotations.class, StandardCsvContexts.WRITE));
+            }
+
+            List<Future<BeanCells>> results = executor.invokeAll(requests);
+            for (Future<BeanCells> result : results) {
+                assertSame(results.get(0).get(), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, registry.getStatistics().getMissCount());
+        assertEquals(63, registry.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void precompilesMappingsOfAllContexts() {
+        PrecompilationReport report = registry.precompile(BeanWithoutAnnotations.class, BeanWithSimpleAnnotations.class);
+
+        assertEquals(Arrays.asList(BeanWithoutAnnotations.class, BeanWithSimpleAnnotations.class),
+                new ArrayList<>(report.getCompileTimes().keySet()));
+        assertEquals(6, registry.getStatistics().getMissCount());
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void reportsAllInvalidMappingsWhenPrecompiling() {
+        try {
+            registry.precompile(StrictBeanWithPartiallyExplicitlyOrderedFields.class, BeanWithIllegalExplicitFieldOrder.class, BeanWithoutAnnotations.class);
+            fail("precompiling invalid mappings should fail");
+        } catch (SuperCsvException e) {
+            assertTrue(e.getMessage().contains(StrictBeanWithPartiallyExplicitlyOrderedFields.class.getName()));
+            assertTrue(e.getMessage().contains(BeanWithIllegalExplicitFieldOrder.class.getName()));
+            assertEquals(2, e.getSuppressed().length);
+        }
+
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void precompilesScannedPackageInParallel() {
+        try {
+            registry.precompilePackage(BeanWithExplicitlyOrderedFields.class.getPackage().getName(), ForkJoinPool.commonPool());
+            fail("package contains invalid mappings");
+        } catch (SuperCsvException e) {
+            assertEquals(2, e.getSuppressed().length);
+        }
+
+        assertEquals(3, registry.size());
+    }
+
+    private void readUniqueBean(String csv) throws IOException {
+        try (CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(new StringReader(csv), CsvPreference.STANDARD_PREFERENCE)) {
+            reader.setMappingRegistry(registry);
+            while (reader.read(UniqueHashCodeBean.class) != null) {
+                // read all
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.ParseInt;
+import com.github.dmn1k.supercsv.testbeans.BeanWithSimpleAnnotations;
+import com.github.dmn1k.supercsv.testbeans.UniqueHashCodeBean;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.exception.SuperCsvConstraintViolationException;
+import org.supercsv.prefs.CsvPreference;
+
+public class ParallelReadPipelineTest {
+
+    private static final int ROWS = 10000;
+    private static final ParallelReadOptions OPTIONS = ParallelReadOptions.workers(4).withBatchSize(100);
+
+    @Test(timeout = 10000)
+    public void keepsRowOrder() throws IOException {
+        try (Stream<BeanWithSimpleAnnotations> beans = reader(csv(ROWS)).stream(BeanWithSimpleAnnotations.class, OPTIONS)) {
+            assertEquals(range(ROWS), beans.map(BeanWithSimpleAnnotations::getAge).collect(Collectors.toList()));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void readsAllRowsUnordered() throws IOException {
+        try (Stream<BeanWithSimpleAnnotations> beans = reader(csv(ROWS)).stream(BeanWithSimpleAnnotations.class, OPTIONS.withOrdered(false))) {
+            List<Integer> ages = beans.map(BeanWithSimpleAnnotations::getAge).collect(Collectors.toList());
+            Collections.sort(ages);
+            assertEquals(range(ROWS), ages);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void rethrowsFailureAfterPrecedingRows() throws IOException {
+        String csv = csv(ROWS).replace("\r\nJohn,Doe,5000,", "\r\nJohn,Doe,invalid,");
+        List<Integer> ages = new ArrayList<>();
+        try (Stream<BeanWithSimpleAnnotations> beans = reader(csv).stream(BeanWithSimpleAnnotations.class, OPTIONS)) {
+            Iterator<BeanWithSimpleAnnotations> iterator = beans.iterator();
+            while (iterator.hasNext()) {
+                ages.add(iterator.next().getAge());
+            }
+            fail("row 5001 is invalid");
+        } catch (NumberFormatException e) {
+            assertEquals(range(5000), ages);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void stopsWhenClosedEarly() throws IOException {
+        try (Stream<BeanWithSimpleAnnotations> beans = reader(csv(ROWS)).stream(BeanWithSimpleAnnotations.class,
+                OPTIONS.withQueueCapacity(1))) {
+            assertEquals(10, beans.limit(10).count());
+        }
+    }
+
+    @Test(timeout = 10000, expected = SuperCsvConstraintViolationException.class)
+    public void processesStatefulBeansInSingleWorker() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(i).append("\r\n");
+        }
+        csv.append("0\r\n");
+
+        try (Stream<UniqueHashCodeBean> beans = reader(csv.toString()).stream(UniqueHashCodeBean.class, OPTIONS)) {
+            beans.forEach(bean -> {
+                // only process
+            });
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void splitsFileAtRecordBoundaries() throws IOException {
+        Path file = file(quotedCsv(ROWS));
+        try {
+            List<String> expected = new ArrayList<>();
+            try (CsvDeclarativeBeanReader reader = fileReader(file)) {
+                for (QuotedBean bean = reader.read(QuotedBean.class); bean != null; bean = reader.read(QuotedBean.class)) {
+                    expected.add(bean.toString());
+                }
+            }
+
+            try (Stream<QuotedBean> beans = fileReader(file).stream(QuotedBean.class, OPTIONS.withChunkSize(64))) {
+                assertEquals(expected, beans.map(QuotedBean::toString).collect(Collectors.toList()));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void reportsAbsoluteLineAndRowNumbersOfSplitFile() throws IOException {
+        Path file = file(quotedCsv(ROWS).replace(",5000\r\n", ",invalid\r\n"));
+        try {
+            SuperCsvCellProcessorException expected = null;
+            try (CsvDeclarativeBeanReader reader = fileReader(file)) {
+                while (reader.read(QuotedBean.class) != null) {
+                    // skip valid rows
+                }
+            } catch (SuperCsvCellProcessorException e) {
+                expected = e;
+            }
+
+            try (Stream<QuotedBean> beans = fileReader(file).stream(QuotedBean.class, OPTIONS.withChunkSize(64))) {
+                beans.forEach(bean -> {
+                    // only process
+                });
+                fail("row with number 5000 is invalid");
+            } catch (SuperCsvCellProcessorException e) {
+                assertEquals(expected.getCsvContext().getLineNumber(), e.getCsvContext().getLineNumber());
+                assertEquals(expected.getCsvContext().getRowNumber(), e.getCsvContext().getRowNumber());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void splitsFileBehindHeader() throws IOException {
+        Path file = file("text,number\r\n" + quotedCsv(ROWS).replace(",5000\r\n", ",invalid\r\n"));
+        try {
+            List<String> expected = new ArrayList<>();
+            SuperCsvCellProcessorException expectedFailure = null;
+            try (CsvDeclarativeBeanReader reader = fileReader(file)) {
+                reader.mapColumnsByHeader();
+                for (QuotedBean bean = reader.read(QuotedBean.class); bean != null; bean = reader.read(QuotedBean.class)) {
+                    expected.add(bean.toString());
+                }
+            } catch (SuperCsvCellProcessorException e) {
+                expectedFailure = e;
+            }
+
+            CsvDeclarativeBeanReader reader = fileReader(file);
+            reader.mapColumnsByHeader();
+            List<String> actual = new ArrayList<>();
+            try (Stream<QuotedBean> beans = reader.stream(QuotedBean.class, OPTIONS.withChunkSize(64))) {
+                beans.forEach(bean -> actual.add(bean.toString()));
+                fail("row with number 5000 is invalid");
+            } catch (SuperCsvCellProcessorException e) {
+                // split by the workers, the reader itself didn't read past the header
+                assertEquals(1, reader.getLineNumber());
+                assertEquals(expected, actual);
+                assertEquals(expectedFailure.getCsvContext().getLineNumber(), e.getCsvContext().getLineNumber());
+                assertEquals(expectedFailure.getCsvContext().getRowNumber(), e.getCsvContext().getRowNumber());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static CsvDeclarativeBeanReader fileReader(Path file) throws IOException {
+        return new CsvDeclarativeBeanReader(FileChannel.open(file), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE);
+    }
+
+    private static Path file(String csv) throws IOException {
+        Path file = Files.createTempFile("parallel", ".csv");
+        Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String quotedCsv(int rows) {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            if (i % 11 == 0) {
+                csv.append("\r\n");
+            }
+            csv.append(i % 7 == 0 ? "\"multi\r\nline, \"\"quoted\"\"\nä\"" : "plain ü").append(',').append(i).append("\r\n");
+        }
+        return csv.toString();
+    }
+
+    private static CsvDeclarativeBeanReader reader(String csv) {
+        return new CsvDeclarativeBeanReader(new StringReader(csv), CsvPreference.STANDARD_PREFERENCE);
+    }
+
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            csv.append("John,Doe,").append(i).append(",100.5\r\n");
+        }
+        return csv.toString();
+    }
+
+    private static List<Integer> range(int end) {
+        return IntStream.range(0, end).boxed().collect(Collectors.toList());
+    }
+
+    @CsvAccessorType(CsvAccessType.FIELD)
+    public static class QuotedBean {
+
+        private String text;
+        @ParseInt
+        private int number;
+
+        @Override
+        public String toString() {
+            return text + "|" + number;
+        }
+    }
+}
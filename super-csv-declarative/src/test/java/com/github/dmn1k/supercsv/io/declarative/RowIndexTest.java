@@ -0,0 +1,109 @@
+package com.github.dmn1k.supercsv.io.declarative;
+
+import com.github.dmn1k.supercsv.io.declarative.ParallelReadPipelineTest.QuotedBean;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+public class RowIndexTest {
+
+    private static final CsvPreference PREFS = CsvPreference.STANDARD_PREFERENCE;
+
+    @Test
+    public void seeksToEveryRow() throws IOException {
+        Path file = file(csv(100));
+        try {
+            List<String> expected = new ArrayList<>();
+            try (CsvDeclarativeBeanReader reader = new CsvDeclarativeBeanReader(FileChannel.open(file), StandardCharsets.UTF_8, PREFS)) {
+                for (QuotedBean bean = reader.read(QuotedBean.class); bean != null; bean = reader.read(QuotedBean.class)) {
+                    expected.add(bean + "@" + reader.getLineNumber() + "/" + reader.getRowNumber());
+                }
+            }
+
+            RowIndex index = RowIndex.build(file, StandardCharsets.UTF_8, PREFS, 7);
+            assertEquals(100, index.getRowCount());
+            for (int row = 1; row <= 100; row++) {
+                try (CsvDeclarativeBeanReader reader = CsvDeclarativeBeanReader.seek(FileChannel.open(file), StandardCharsets.UTF_8,
+                        PREFS, index, row)) {
+                    QuotedBean bean = reader.read(QuotedBean.class);
+                    assertEquals(expected.get(row - 1), bean + "@" + reader.getLineNumber() + "/" + reader.getRowNumber());
+                }
+            }
+
+            try (CsvDeclarativeBeanReader reader = CsvDeclarativeBeanReader.seek(file, StandardCharsets.UTF_8, PREFS, index, 101)) {
+                assertNull(reader.read(QuotedBean.class));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void rebuildsSidecarIfFileChanged() throws IOException {
+        Path file = file(csv(10));
+        Path sidecar = RowIndex.sidecarOf(file);
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            assertEquals(10, RowIndex.load(file, StandardCharsets.UTF_8, PREFS, 4).getRowCount());
+            assertEquals(10, RowIndex.read(sidecar).getRowCount());
+
+            Files.write(file, csv(20).getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, modified);
+            assertEquals(20, RowIndex.load(file, StandardCharsets.UTF_8, PREFS, 4).getRowCount());
+
+            Files.write(file, csv(20).replace("plain", "other").getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 1000));
+            RowIndex index = RowIndex.load(file, StandardCharsets.UTF_8, PREFS, 4);
+            assertEquals(20, index.getRowCount());
+            assertEquals(index.getFileSize(), RowIndex.read(sidecar).getFileSize());
+            assertEquals(true, index.isValidFor(file));
+
+            byte[] written = Files.readAllBytes(sidecar);
+            Files.write(sidecar, Arrays.copyOf(written, written.length - 5));
+            assertEquals(20, RowIndex.load(file, StandardCharsets.UTF_8, PREFS, 4).getRowCount());
+            assertArrayEquals(written, Files.readAllBytes(sidecar));
+
+            Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2000));
+            try {
+                CsvDeclarativeBeanReader.seek(file, StandardCharsets.UTF_8, PREFS, index, 1);
+                fail("file was modified");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().startsWith("index is stale"));
+            }
+        } finally {
+            Files.delete(file);
+            Files.deleteIfExists(sidecar);
+        }
+    }
+
+    private static Path file(String csv) throws IOException {
+        Path file = Files.createTempFile("indexed", ".csv");
+        Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            if (i % 11 == 0) {
+                csv.append("\r\n");
+            }
+            csv.append(i % 3 == 0 ? "\"multi\r\nline, \"\"quoted\"\"\nä\"" : "plain ü").append(',').append(i)
+                    .append(i % 5 == 0 ? "\r" : "\n");
+        }
+        return csv.toString();
+    }
+}
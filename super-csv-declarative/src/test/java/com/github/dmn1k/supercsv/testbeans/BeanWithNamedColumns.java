@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Dominik Schlosser.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.dmn1k.supercsv.testbeans;
+
+import com.github.dmn1k.supercsv.io.declarative.CsvField;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.CsvAccessorType;
+import com.github.dmn1k.supercsv.io.declarative.annotation.Trim;
+import java.util.Objects;
+
+/**
+ * Test class for mapping columns by name
+ *
+ * @since 4.1.0
+ * @author Dominik Schlosser
+ */
+@CsvAccessorType(CsvAccessType.FIELD)
+public class BeanWithNamedColumns {
+
+    @CsvField
+    private String name;
+
+    @Trim
+    @CsvField(name = "Last Name")
+    private String lastName;
+
+    @CsvField(name = "Age")
+    private int age;
+
+    public BeanWithNamedColumns() {
+    }
+
+    public BeanWithNamedColumns(String name, String lastName, int age) {
+        this.name = name;
+        this.lastName = lastName;
+        this.age = age;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, lastName, age);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final BeanWithNamedColumns other = (BeanWithNamedColumns) obj;
+        return age == other.age && Objects.equals(name, other.name) && Objects.equals(lastName, other.lastName);
+    }
+
+    @Override
+    public String toString() {
+        return "BeanWithNamedColumns{" + "name=" + name + ", lastName=" + lastName + ", age=" + age + '}';
+    }
+}